@@ -0,0 +1,20 @@
+package dev.fumaz.infuse.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a constructor parameter as supplied by the caller of a factory method instead of by the injector.
+ * When a factory method has several parameters of the same type, the value is used to tell them apart.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Assisted {
+
+    String value() default "";
+
+}
@@ -0,0 +1,33 @@
+package dev.fumaz.infuse.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a field or constructor parameter as injected with a value of the bound {@link dev.fumaz.infuse.config.Configuration},
+ * converted to the type of the field or parameter.
+ */
+@Target({ElementType.FIELD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Config {
+
+    /**
+     * The value of {@link #defaultValue()} when there is no default value.
+     */
+    String NONE = "\u0000";
+
+    /**
+     * @return the key of the value
+     */
+    String value();
+
+    /**
+     * @return the value used when the key is missing
+     */
+    String defaultValue() default NONE;
+
+}
@@ -0,0 +1,20 @@
+package dev.fumaz.infuse.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Contributes the annotated class to the sets of the given types when its package is scanned.
+ * Every contributed class of a type is provided in a {@code Set} of that type.
+ */
+@Target({ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Contributes {
+
+    Class<?>[] value();
+
+}
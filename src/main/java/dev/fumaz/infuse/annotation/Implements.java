@@ -0,0 +1,20 @@
+package dev.fumaz.infuse.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Binds the interfaces or superclasses to the annotated class when its package is scanned.
+ * If the class is also a {@link Singleton}, they are bound to the same singleton.
+ */
+@Target({ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Implements {
+
+    Class<?>[] value();
+
+}
@@ -12,11 +12,18 @@ import java.util.Objects;
  */
 public class Binding<T> {
 
+    private final @NotNull TypeLiteral<T> typeLiteral;
     private final @NotNull Class<T> type;
     private final @NotNull Provider<T> provider;
 
     public Binding(@NotNull Class<T> type, @NotNull Provider<T> provider) {
-        this.type = type;
+        this(TypeLiteral.get(type), provider);
+    }
+
+    @SuppressWarnings("unchecked")
+    public Binding(@NotNull TypeLiteral<T> typeLiteral, @NotNull Provider<T> provider) {
+        this.typeLiteral = typeLiteral;
+        this.type = (Class<T>) typeLiteral.getRawType();
         this.provider = provider;
     }
 
@@ -24,10 +31,21 @@ public class Binding<T> {
         return type;
     }
 
+    public @NotNull TypeLiteral<T> getTypeLiteral() {
+        return typeLiteral;
+    }
+
     public @NotNull Provider<T> getProvider() {
         return provider;
     }
 
+    /**
+     * @return whether this binding targets a specific generic type, such as {@code Cache<String, User>}
+     */
+    public boolean isGeneric() {
+        return typeLiteral.isGeneric();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -39,6 +57,11 @@ public class Binding<T> {
         }
 
         Binding<?> binding = (Binding<?>) o;
+
+        if (isGeneric() || binding.isGeneric()) {
+            return typeLiteral.equals(binding.typeLiteral);
+        }
+
         return type.isAssignableFrom(binding.type) || binding.type.isAssignableFrom(type);
     }
 
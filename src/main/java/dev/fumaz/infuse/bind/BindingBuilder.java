@@ -14,12 +14,16 @@ import java.util.Set;
  */
 public class BindingBuilder<T> {
 
-    private final @NotNull Class<T> type;
+    private final @NotNull TypeLiteral<T> type;
     private final @NotNull Collection<Binding<?>> bindings;
 
     private @Nullable Provider<T> provider;
 
     public BindingBuilder(@NotNull Class<T> type, @NotNull Collection<Binding<?>> bindings) {
+        this(TypeLiteral.get(type), bindings);
+    }
+
+    public BindingBuilder(@NotNull TypeLiteral<T> type, @NotNull Collection<Binding<?>> bindings) {
         this.type = type;
         this.bindings = bindings;
     }
@@ -31,13 +35,28 @@ public class BindingBuilder<T> {
     }
 
     public Binding<T> toSingleton() {
-        this.provider = Provider.singleton(type);
+        this.provider = Provider.singleton(getRawType());
 
         return build();
     }
 
     public Binding<T> toEagerSingleton() {
-        this.provider = Provider.eagerSingleton(type);
+        this.provider = Provider.eagerSingleton(getRawType());
+
+        return build();
+    }
+
+    public Binding<T> toPooled(int maxSize) {
+        this.provider = Provider.pooled(getRawType(), maxSize);
+
+        return build();
+    }
+
+    /**
+     * Binds a factory interface to an implementation generated by the injector, see {@link dev.fumaz.infuse.provider.FactoryProvider}.
+     */
+    public Binding<T> toFactory() {
+        this.provider = Provider.factory(getRawType());
 
         return build();
     }
@@ -65,4 +84,9 @@ public class BindingBuilder<T> {
         return binding;
     }
 
+    @SuppressWarnings("unchecked")
+    private @NotNull Class<T> getRawType() {
+        return (Class<T>) type.getRawType();
+    }
+
 }
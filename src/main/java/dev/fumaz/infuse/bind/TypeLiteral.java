@@ -0,0 +1,124 @@
+package dev.fumaz.infuse.bind;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.Objects;
+
+/**
+ * A {@link TypeLiteral} represents a fully generic type, such as {@code Cache<String, User>}.
+ * <p>
+ * Since generic type arguments are erased at runtime, a literal is captured by creating an anonymous subclass:
+ * <pre>{@code
+ * bind(new TypeLiteral<Cache<String, User>>() {}).toInstance(userCache);
+ * }</pre>
+ *
+ * @param <T> the type of the class
+ */
+public class TypeLiteral<T> {
+
+    private final @NotNull Type type;
+    private final @NotNull Class<? super T> rawType;
+    private final int hashCode;
+
+    @SuppressWarnings("unchecked")
+    protected TypeLiteral() {
+        Type superclass = getClass().getGenericSuperclass();
+
+        if (!(superclass instanceof ParameterizedType)) {
+            throw new IllegalStateException("TypeLiteral must be created with a type argument");
+        }
+
+        this.type = ((ParameterizedType) superclass).getActualTypeArguments()[0];
+        this.rawType = (Class<? super T>) getRawType(type);
+        this.hashCode = type.hashCode();
+    }
+
+    @SuppressWarnings("unchecked")
+    private TypeLiteral(@NotNull Type type) {
+        this.type = type;
+        this.rawType = (Class<? super T>) getRawType(type);
+        this.hashCode = type.hashCode();
+    }
+
+    public static @NotNull TypeLiteral<?> get(@NotNull Type type) {
+        return new TypeLiteral<>(type);
+    }
+
+    public static <T> @NotNull TypeLiteral<T> get(@NotNull Class<T> type) {
+        return new TypeLiteral<>(type);
+    }
+
+    public @NotNull Type getType() {
+        return type;
+    }
+
+    public @NotNull Class<? super T> getRawType() {
+        return rawType;
+    }
+
+    /**
+     * @return whether this literal carries generic information that its raw type does not
+     */
+    public boolean isGeneric() {
+        return !(type instanceof Class);
+    }
+
+    private static @NotNull Class<?> getRawType(@NotNull Type type) {
+        if (type instanceof Class<?>) {
+            return (Class<?>) type;
+        }
+
+        if (type instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+        }
+
+        if (type instanceof GenericArrayType) {
+            Class<?> component = getRawType(((GenericArrayType) type).getGenericComponentType());
+
+            return Array.newInstance(component, 0).getClass();
+        }
+
+        if (type instanceof WildcardType) {
+            return getRawType(((WildcardType) type).getUpperBounds()[0]);
+        }
+
+        if (type instanceof TypeVariable<?>) {
+            Type[] bounds = ((TypeVariable<?>) type).getBounds();
+
+            return bounds.length == 0 ? Object.class : getRawType(bounds[0]);
+        }
+
+        throw new IllegalArgumentException("Unsupported type " + type);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (!(o instanceof TypeLiteral)) {
+            return false;
+        }
+
+        TypeLiteral<?> that = (TypeLiteral<?>) o;
+        return hashCode == that.hashCode && Objects.equals(type, that.type);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return type.getTypeName();
+    }
+
+}
@@ -0,0 +1,95 @@
+package dev.fumaz.infuse.bind;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Creates generic {@link Type}s at runtime, equal to the ones the compiler records for fields and parameters.
+ */
+public final class Types {
+
+    private Types() {
+        throw new UnsupportedOperationException("This class cannot be instantiated");
+    }
+
+    public static @NotNull ParameterizedType newParameterizedType(@NotNull Class<?> rawType, @NotNull Type... arguments) {
+        if (rawType.getTypeParameters().length != arguments.length) {
+            throw new IllegalArgumentException(rawType.getName() + " takes " + rawType.getTypeParameters().length + " type arguments");
+        }
+
+        return new ParameterizedTypeImpl(rawType.getDeclaringClass(), rawType, arguments.clone());
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> @NotNull TypeLiteral<Set<T>> setOf(@NotNull Class<T> type) {
+        return (TypeLiteral<Set<T>>) TypeLiteral.get(newParameterizedType(Set.class, type));
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> @NotNull TypeLiteral<List<T>> listOf(@NotNull Class<T> type) {
+        return (TypeLiteral<List<T>>) TypeLiteral.get(newParameterizedType(List.class, type));
+    }
+
+    /**
+     * Follows the equality and hash code contract of the JDK implementation, so both can be used interchangeably.
+     */
+    private static class ParameterizedTypeImpl implements ParameterizedType {
+
+        private final @Nullable Type ownerType;
+        private final @NotNull Class<?> rawType;
+        private final @NotNull Type[] arguments;
+
+        private ParameterizedTypeImpl(@Nullable Type ownerType, @NotNull Class<?> rawType, @NotNull Type[] arguments) {
+            this.ownerType = ownerType;
+            this.rawType = rawType;
+            this.arguments = arguments;
+        }
+
+        @Override
+        public Type[] getActualTypeArguments() {
+            return arguments.clone();
+        }
+
+        @Override
+        public Type getRawType() {
+            return rawType;
+        }
+
+        @Override
+        public Type getOwnerType() {
+            return ownerType;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof ParameterizedType)) {
+                return false;
+            }
+
+            ParameterizedType that = (ParameterizedType) o;
+
+            return rawType.equals(that.getRawType()) && Objects.equals(ownerType, that.getOwnerType())
+                    && Arrays.equals(arguments, that.getActualTypeArguments());
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(arguments) ^ Objects.hashCode(ownerType) ^ rawType.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return rawType.getName() + Arrays.stream(arguments).map(Type::getTypeName).collect(Collectors.joining(", ", "<", ">"));
+        }
+
+    }
+
+}
@@ -0,0 +1,41 @@
+package dev.fumaz.infuse.concurrent;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the threads used by Infuse.
+ * <p>
+ * This is the Java 8 implementation; the multi-release jar replaces it on Java 21 with one based on virtual threads.
+ */
+public final class Threads {
+
+    private Threads() {
+        throw new UnsupportedOperationException("This class cannot be instantiated");
+    }
+
+    public static long currentThreadId() {
+        return Thread.currentThread().getId();
+    }
+
+    /**
+     * Creates an executor running each task on a daemon thread, reusing idle threads.
+     *
+     * @param name the prefix of the thread names
+     * @return the executor
+     */
+    public static @NotNull ExecutorService newExecutor(@NotNull String name) {
+        AtomicInteger count = new AtomicInteger();
+
+        return Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, name + "-" + count.getAndIncrement());
+            thread.setDaemon(true);
+
+            return thread;
+        });
+    }
+
+}
@@ -0,0 +1,68 @@
+package dev.fumaz.infuse.config;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * A {@link ConfigSource} supplies raw configuration values by key.
+ */
+@FunctionalInterface
+public interface ConfigSource {
+
+    @Nullable String get(@NotNull String key);
+
+    /**
+     * @return a source which looks the key up in this source, then in the other source if it is missing
+     */
+    default @NotNull ConfigSource orElse(@NotNull ConfigSource other) {
+        return key -> {
+            String value = get(key);
+
+            return value != null ? value : other.get(key);
+        };
+    }
+
+    static @NotNull ConfigSource of(@NotNull Map<String, String> values) {
+        return values::get;
+    }
+
+    static @NotNull ConfigSource of(@NotNull Properties properties) {
+        return properties::getProperty;
+    }
+
+    /**
+     * Reads a properties file once, when the source is created.
+     *
+     * @param file the properties file
+     * @return the source
+     */
+    static @NotNull ConfigSource file(@NotNull Path file) {
+        Properties properties = new Properties();
+
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read configuration file " + file, e);
+        }
+
+        return of(properties);
+    }
+
+    static @NotNull ConfigSource system() {
+        return System::getProperty;
+    }
+
+    static @NotNull ConfigSource environment() {
+        return System::getenv;
+    }
+
+}
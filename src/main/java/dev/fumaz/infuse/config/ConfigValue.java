@@ -0,0 +1,36 @@
+package dev.fumaz.infuse.config;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Type;
+
+/**
+ * A {@link ConfigValue} is a configuration value already converted to the type of the injection point it was resolved for.
+ *
+ * @param <T> the type of the value
+ */
+public class ConfigValue<T> {
+
+    private final @NotNull String key;
+    private final @NotNull Type type;
+    private final T value;
+
+    ConfigValue(@NotNull String key, @NotNull Type type, T value) {
+        this.key = key;
+        this.type = type;
+        this.value = value;
+    }
+
+    public @NotNull String getKey() {
+        return key;
+    }
+
+    public @NotNull Type getType() {
+        return type;
+    }
+
+    public T get() {
+        return value;
+    }
+
+}
@@ -0,0 +1,83 @@
+package dev.fumaz.infuse.config;
+
+import dev.fumaz.infuse.annotation.Config;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link Configuration} converts the values of a {@link ConfigSource} for {@link Config} injection points.
+ * Each key is converted once per type, so injecting it again only reads the converted value.
+ */
+public class Configuration {
+
+    private final @NotNull ConfigSource source;
+    private final @NotNull ConverterRegistry converters;
+    private final @NotNull Map<Type, Map<String, ConfigValue<?>>> values = new ConcurrentHashMap<>();
+
+    public Configuration(@NotNull ConfigSource source) {
+        this(source, new ConverterRegistry());
+    }
+
+    public Configuration(@NotNull ConfigSource source, @NotNull ConverterRegistry converters) {
+        this.source = source;
+        this.converters = converters;
+    }
+
+    public @NotNull ConfigSource getSource() {
+        return source;
+    }
+
+    public @NotNull ConverterRegistry getConverters() {
+        return converters;
+    }
+
+    /**
+     * Resolves the value of a {@link Config} injection point of the given type.
+     *
+     * @param config the annotation of the injection point
+     * @param type   the type of the injection point
+     * @return the converted value
+     * @throws IllegalStateException if the key is missing and has no default value, or its value cannot be converted
+     */
+    public @NotNull ConfigValue<?> resolve(@NotNull Config config, @NotNull Type type) {
+        String defaultValue = Config.NONE.equals(config.defaultValue()) ? null : config.defaultValue();
+
+        return get(config.value(), type, defaultValue);
+    }
+
+    public @NotNull ConfigValue<?> get(@NotNull String key, @NotNull Type type, @Nullable String defaultValue) {
+        Map<String, ConfigValue<?>> values = this.values.computeIfAbsent(type, t -> new ConcurrentHashMap<>());
+        ConfigValue<?> value = values.get(key);
+
+        if (value == null) {
+            String raw = source.get(key);
+
+            if (raw == null) {
+                if (defaultValue == null) {
+                    throw new IllegalStateException("Missing configuration value " + key);
+                }
+
+                // Defaults can differ between injection points, so they are not cached
+                return convert(key, type, defaultValue);
+            }
+
+            value = convert(key, type, raw);
+            values.putIfAbsent(key, value);
+        }
+
+        return value;
+    }
+
+    private @NotNull ConfigValue<?> convert(@NotNull String key, @NotNull Type type, @NotNull String raw) {
+        try {
+            return new ConfigValue<>(key, type, converters.get(type).convert(raw));
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("Invalid configuration value " + key + " for " + type.getTypeName(), e);
+        }
+    }
+
+}
@@ -0,0 +1,15 @@
+package dev.fumaz.infuse.config;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A {@link Converter} parses a raw configuration value into a typed value.
+ *
+ * @param <T> the type of the value
+ */
+@FunctionalInterface
+public interface Converter<T> {
+
+    T convert(@NotNull String value);
+
+}
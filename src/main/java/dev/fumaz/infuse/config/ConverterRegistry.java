@@ -0,0 +1,198 @@
+package dev.fumaz.infuse.config;
+
+import dev.fumaz.infuse.bind.TypeLiteral;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link ConverterRegistry} resolves the {@link Converter} of a type once and caches it.
+ * <p>
+ * Strings, primitives and their wrappers, {@link Duration}s, enums, and lists and sets of those,
+ * written as comma-separated values, are supported out of the box. Surrounding whitespace is ignored,
+ * except by strings and characters, whose whitespace is part of the value.
+ */
+public class ConverterRegistry {
+
+    private final @NotNull Map<Type, Converter<?>> converters = new ConcurrentHashMap<>();
+
+    public ConverterRegistry() {
+        register(String.class, value -> value);
+        register(Boolean.class, ConverterRegistry::parseBoolean);
+        register(Byte.class, trimmed(Byte::valueOf));
+        register(Short.class, trimmed(Short::valueOf));
+        register(Integer.class, trimmed(Integer::valueOf));
+        register(Long.class, trimmed(Long::valueOf));
+        register(Float.class, trimmed(Float::valueOf));
+        register(Double.class, trimmed(Double::valueOf));
+        register(Character.class, ConverterRegistry::parseCharacter);
+        register(Duration.class, ConverterRegistry::parseDuration);
+
+        converters.put(boolean.class, converters.get(Boolean.class));
+        converters.put(byte.class, converters.get(Byte.class));
+        converters.put(short.class, converters.get(Short.class));
+        converters.put(int.class, converters.get(Integer.class));
+        converters.put(long.class, converters.get(Long.class));
+        converters.put(float.class, converters.get(Float.class));
+        converters.put(double.class, converters.get(Double.class));
+        converters.put(char.class, converters.get(Character.class));
+    }
+
+    public <T> @NotNull ConverterRegistry register(@NotNull Class<T> type, @NotNull Converter<? extends T> converter) {
+        converters.put(type, converter);
+
+        return this;
+    }
+
+    public <T> @NotNull ConverterRegistry register(@NotNull TypeLiteral<T> type, @NotNull Converter<? extends T> converter) {
+        converters.put(type.getType(), converter);
+
+        return this;
+    }
+
+    /**
+     * @return the converter of the type
+     * @throws IllegalArgumentException if the type cannot be converted to
+     */
+    public @NotNull Converter<?> get(@NotNull Type type) {
+        Converter<?> converter = converters.get(type);
+
+        if (converter != null) {
+            return converter;
+        }
+
+        converter = create(type);
+        Converter<?> previous = converters.putIfAbsent(type, converter);
+
+        return previous != null ? previous : converter;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private @NotNull Converter<?> create(@NotNull Type type) {
+        if (type instanceof Class<?> && ((Class<?>) type).isEnum()) {
+            Class<? extends Enum> enumType = (Class<? extends Enum>) type;
+
+            Enum<?>[] constants = enumType.getEnumConstants();
+
+            return value -> {
+                String name = value.trim();
+
+                for (Enum<?> constant : constants) {
+                    if (constant.name().equals(name)) {
+                        return constant;
+                    }
+                }
+
+                return Enum.valueOf(enumType, name.toUpperCase(Locale.ROOT));
+            };
+        }
+
+        if (type instanceof ParameterizedType) {
+            ParameterizedType parameterized = (ParameterizedType) type;
+            Type raw = parameterized.getRawType();
+            Converter<?> element = get(parameterized.getActualTypeArguments()[0]);
+
+            if (raw == List.class || raw == Collection.class) {
+                return value -> Collections.unmodifiableList(split(value, element, new ArrayList<>()));
+            }
+
+            if (raw == Set.class) {
+                return value -> Collections.unmodifiableSet(split(value, element, new LinkedHashSet<>()));
+            }
+        }
+
+        throw new IllegalArgumentException("No converter registered for " + type.getTypeName());
+    }
+
+    private static <T> @NotNull Converter<T> trimmed(@NotNull Converter<T> converter) {
+        return value -> converter.convert(value.trim());
+    }
+
+    private static <C extends Collection<Object>> @NotNull C split(@NotNull String value, @NotNull Converter<?> element, @NotNull C collection) {
+        if (value.trim().isEmpty()) {
+            return collection;
+        }
+
+        for (String part : value.split(",")) {
+            collection.add(element.convert(part.trim()));
+        }
+
+        return collection;
+    }
+
+    private static @NotNull Boolean parseBoolean(@NotNull String value) {
+        switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "true":
+            case "yes":
+            case "on":
+                return true;
+            case "false":
+            case "no":
+            case "off":
+                return false;
+            default:
+                throw new IllegalArgumentException("Invalid boolean " + value);
+        }
+    }
+
+    private static @NotNull Character parseCharacter(@NotNull String value) {
+        if (value.length() != 1) {
+            throw new IllegalArgumentException("Invalid character " + value);
+        }
+
+        return value.charAt(0);
+    }
+
+    /**
+     * Parses either an ISO-8601 duration such as {@code PT30S}, a number followed by a unit among
+     * {@code ns}, {@code us}, {@code ms}, {@code s}, {@code m}, {@code h} and {@code d}, or a number of milliseconds.
+     */
+    private static @NotNull Duration parseDuration(@NotNull String value) {
+        String trimmed = value.trim().toLowerCase(Locale.ROOT);
+
+        if (trimmed.startsWith("p") || trimmed.startsWith("-p")) {
+            return Duration.parse(trimmed.toUpperCase(Locale.ROOT));
+        }
+
+        int unit = trimmed.length();
+
+        while (unit > 0 && !Character.isDigit(trimmed.charAt(unit - 1))) {
+            unit--;
+        }
+
+        long amount = Long.parseLong(trimmed.substring(0, unit).trim());
+
+        switch (trimmed.substring(unit).trim()) {
+            case "ns":
+                return Duration.ofNanos(amount);
+            case "us":
+                return Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(amount));
+            case "":
+            case "ms":
+                return Duration.ofMillis(amount);
+            case "s":
+                return Duration.ofSeconds(amount);
+            case "m":
+                return Duration.ofMinutes(amount);
+            case "h":
+                return Duration.ofHours(amount);
+            case "d":
+                return Duration.ofDays(amount);
+            default:
+                throw new IllegalArgumentException("Invalid duration " + value);
+        }
+    }
+
+}
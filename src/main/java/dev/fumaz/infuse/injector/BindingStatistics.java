@@ -0,0 +1,46 @@
+package dev.fumaz.infuse.injector;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@link BindingStatistics} count how a single binding of an {@link InfuseInjector} is provided.
+ */
+public class BindingStatistics {
+
+    private final LongAdder provisions = new LongAdder();
+    private final LongAdder singletonHits = new LongAdder();
+    private final LongAdder singletonConstructions = new LongAdder();
+
+    void recordProvision(boolean singleton, boolean hit) {
+        provisions.increment();
+
+        if (singleton) {
+            (hit ? singletonHits : singletonConstructions).increment();
+        }
+    }
+
+    public long getProvisions() {
+        return provisions.sum();
+    }
+
+    /**
+     * @return the number of provisions which returned an already created singleton
+     */
+    public long getSingletonHits() {
+        return singletonHits.sum();
+    }
+
+    /**
+     * @return the number of provisions which had to create the singleton
+     */
+    public long getSingletonConstructions() {
+        return singletonConstructions.sum();
+    }
+
+    void reset() {
+        provisions.reset();
+        singletonHits.reset();
+        singletonConstructions.reset();
+    }
+
+}
@@ -0,0 +1,86 @@
+package dev.fumaz.infuse.injector;
+
+import dev.fumaz.infuse.annotation.Config;
+import dev.fumaz.infuse.annotation.Inject;
+import dev.fumaz.infuse.bind.TypeLiteral;
+import dev.fumaz.infuse.config.ConfigValue;
+import dev.fumaz.infuse.context.Context;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.annotation.ElementType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.Type;
+
+/**
+ * A {@link ConstructorPlan} is a resolved constructor along with which of its parameters are injected
+ * and which are provided by the caller, so repeated constructions skip the constructor search and
+ * the per-parameter reflection.
+ *
+ * @param <T> the type of the class
+ */
+class ConstructorPlan<T> {
+
+    private final @NotNull Constructor<T> constructor;
+    private final @NotNull Constructor<? extends T> instantiator;
+    private final @NotNull Object[] types;
+    private final @NotNull Context<?>[] contexts;
+
+    /**
+     * @param instantiator the constructor actually invoked, either the constructor itself or its mirror in an intercepted subclass
+     */
+    ConstructorPlan(@NotNull InfuseInjector injector, @NotNull Constructor<T> constructor, int provided, @NotNull Constructor<? extends T> instantiator) {
+        this.constructor = constructor;
+        this.instantiator = instantiator;
+        this.types = new Object[constructor.getParameterCount()];
+        this.contexts = new Context<?>[types.length];
+
+        constructor.setAccessible(true);
+        instantiator.setAccessible(true);
+
+        Parameter[] parameters = constructor.getParameters();
+
+        for (int i = 0; i < parameters.length; i++) {
+            Config config = parameters[i].getAnnotation(Config.class);
+
+            if (provided != 0 && provided > i && !parameters[i].isAnnotationPresent(Inject.class) && config == null) {
+                continue;
+            }
+
+            Type type = parameters[i].getParameterizedType();
+
+            if (config != null) {
+                types[i] = injector.getConfigValue(config, type);
+                continue;
+            }
+
+            types[i] = type instanceof Class<?> ? type : TypeLiteral.get(type);
+            contexts[i] = new Context<>(constructor.getDeclaringClass(), injector, injector, ElementType.CONSTRUCTOR, parameters[i].getName(), parameters[i].getAnnotations());
+        }
+    }
+
+    @NotNull Constructor<T> getConstructor() {
+        return constructor;
+    }
+
+    @NotNull T newInstance(@NotNull Object[] arguments) throws ReflectiveOperationException {
+        return instantiator.newInstance(arguments);
+    }
+
+    /**
+     * @return the type of an injected parameter, either a {@link Class} or a {@link TypeLiteral},
+     * the {@link ConfigValue} of a configuration parameter, or null if the parameter is provided
+     */
+    Object getType(int index) {
+        return types[index];
+    }
+
+    Context<?> getContext(int index) {
+        return contexts[index];
+    }
+
+    int getParameterCount() {
+        return types.length;
+    }
+
+}
@@ -0,0 +1,28 @@
+package dev.fumaz.infuse.injector;
+
+import dev.fumaz.infuse.context.Context;
+import dev.fumaz.infuse.provider.Provider;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An {@link ImplicitProvider} is the {@link Provider} of a just-in-time binding, which constructs an unbound type
+ * through the constructor resolved when the binding was created.
+ *
+ * @param <T> the type of the class
+ */
+class ImplicitProvider<T> implements Provider<T> {
+
+    private final @NotNull InfuseInjector injector;
+    private final @NotNull ConstructorPlan<T> plan;
+
+    ImplicitProvider(@NotNull InfuseInjector injector, @NotNull ConstructorPlan<T> plan) {
+        this.injector = injector;
+        this.plan = plan;
+    }
+
+    @Override
+    public @NotNull T provide(Context<?> context) {
+        return injector.construct(plan);
+    }
+
+}
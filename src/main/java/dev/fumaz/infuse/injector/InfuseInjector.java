@@ -1,46 +1,269 @@
 package dev.fumaz.infuse.injector;
 
+import dev.fumaz.infuse.annotation.Config;
 import dev.fumaz.infuse.annotation.Inject;
 import dev.fumaz.infuse.annotation.PostConstruct;
 import dev.fumaz.infuse.annotation.PostInject;
 import dev.fumaz.infuse.annotation.PreDestroy;
+import dev.fumaz.infuse.annotation.Singleton;
 import dev.fumaz.infuse.bind.Binding;
+import dev.fumaz.infuse.bind.TypeLiteral;
+import dev.fumaz.infuse.config.ConfigValue;
+import dev.fumaz.infuse.config.Configuration;
 import dev.fumaz.infuse.context.Context;
+import dev.fumaz.infuse.intercept.InterceptorBinding;
+import dev.fumaz.infuse.intercept.SubclassGenerator;
+import dev.fumaz.infuse.module.InfuseModule;
 import dev.fumaz.infuse.module.Module;
 import dev.fumaz.infuse.provider.InstanceProvider;
 import dev.fumaz.infuse.provider.Provider;
 import dev.fumaz.infuse.provider.SingletonProvider;
+import dev.fumaz.infuse.reflection.ConstructorCache;
+import dev.fumaz.infuse.reflection.ScanSession;
+import dev.fumaz.infuse.snapshot.StartupRecorder;
+import dev.fumaz.infuse.snapshot.StartupSnapshot;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
 import java.lang.annotation.Annotation;
 import java.lang.annotation.ElementType;
+import java.lang.management.ManagementFactory;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
 public class InfuseInjector implements Injector {
 
+    private static final Logger LOGGER = Logger.getLogger(InfuseInjector.class.getName());
+    private static final int CONSTRUCTOR_CACHE_SIZE = 4096;
+
     private final @Nullable Injector parent;
-    private final @NotNull List<Module> modules;
-    private final @NotNull Map<Class<?>, Object> cache;
+    private final @NotNull Set<InfuseInjector> children;
+    /**
+     * Every module this injector configured, including uninstalled ones, so they are never configured twice.
+     */
+    private final @NotNull Set<Module> configured;
+    private volatile @NotNull List<Module> modules;
+    private volatile @NotNull List<Binding<?>> bindings;
+    private volatile @NotNull List<InterceptorBinding> interceptors;
+    private final @NotNull Map<Class<?>, Optional<Class<?>>> interceptedClasses;
+    private final @NotNull Map<Constructor<?>, Constructor<?>> instantiators;
+    private final @NotNull ThreadLocal<Map<Class<?>, Object>> resolving;
+    private final @NotNull Map<Class<?>, InfuseMembersInjector<?>> membersInjectors;
+    private final @NotNull Map<Type, Optional<Binding<?>>> genericBindings;
+    private final @NotNull Map<Class<?>, Optional<Binding<?>>> bindingLookups;
+    private final @NotNull Map<Class<?>, Optional<Binding<?>>> implicitBindings;
+    private final @NotNull ConstructorCache<ConstructorPlan<?>> constructors;
+    private final @NotNull Map<SingletonProvider<?>, Set<Type>> dependencies;
+    private final @NotNull ThreadLocal<Deque<SingletonProvider<?>>> constructing;
+    private volatile @Nullable StartupRecorder recorder;
+    private final @NotNull InjectorStatistics statistics;
+    private volatile @Nullable Configuration configuration;
+    private volatile int revision;
+    private final @Nullable ObjectName mbean;
+    private final @Nullable Executor lifecycleExecutor;
+    private final @Nullable Executor configurationExecutor;
 
     public InfuseInjector(@Nullable Injector parent, @NotNull List<Module> modules) {
+        this(parent, modules, new InjectorBuilder());
+    }
+
+    InfuseInjector(@Nullable Injector parent, @NotNull List<Module> modules, @NotNull InjectorBuilder builder) {
         this.parent = parent;
-        this.modules = modules;
-        this.cache = new HashMap<>();
+        this.children = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+        this.modules = Collections.unmodifiableList(deduplicate(parent, modules));
+        this.configured = Collections.newSetFromMap(new IdentityHashMap<>());
+        this.configured.addAll(this.modules);
+        this.resolving = ThreadLocal.withInitial(HashMap::new);
+        this.membersInjectors = new ConcurrentHashMap<>();
+        this.genericBindings = new ConcurrentHashMap<>();
+        this.bindingLookups = new ConcurrentHashMap<>();
+        this.implicitBindings = new ConcurrentHashMap<>();
+        this.interceptedClasses = new ConcurrentHashMap<>();
+        this.instantiators = new ConcurrentHashMap<>();
+        this.constructors = new ConstructorCache<>(CONSTRUCTOR_CACHE_SIZE);
+        this.dependencies = new ConcurrentHashMap<>();
+        this.constructing = ThreadLocal.withInitial(ArrayDeque::new);
+        this.statistics = new InjectorStatistics(this);
+        this.lifecycleExecutor = builder.getLifecycleExecutor() == null && parent instanceof InfuseInjector
+                ? ((InfuseInjector) parent).lifecycleExecutor
+                : builder.getLifecycleExecutor();
+        this.configurationExecutor = builder.getConfigurationExecutor() == null && parent instanceof InfuseInjector
+                ? ((InfuseInjector) parent).configurationExecutor
+                : builder.getConfigurationExecutor();
+
+        try (ScanSession session = ScanSession.open()) {
+            configure(this.modules, session);
+        }
+        this.bindings = buildBindings();
+        this.interceptors = buildInterceptors();
+
+        if (parent instanceof InfuseInjector) {
+            ((InfuseInjector) parent).children.add(this);
+        }
+
+        Path snapshotFile = builder.getSnapshot();
+        StartupSnapshot snapshot = null;
+
+        if (snapshotFile != null) {
+            String fingerprint = StartupSnapshot.fingerprint(this.modules);
+            snapshot = StartupSnapshot.read(snapshotFile);
+
+            if (snapshot != null && snapshot.getFingerprint().equals(fingerprint)) {
+                replayConstructors(snapshot);
+            } else {
+                snapshot = null;
+                recorder = new StartupRecorder(fingerprint);
+            }
+        }
+
+        initialize(getOwnBindings());
+
+        if (snapshot != null) {
+            replaySingletons(snapshot);
+        }
+
+        if (snapshotFile != null && recorder != null) {
+            scheduleSnapshot(snapshotFile, builder.getSnapshotWindow());
+        }
+
+        this.mbean = builder.getMBean() == null ? null : registerMBean(builder.getMBean());
+    }
+
+    /**
+     * Drops the modules which are listed earlier, either as the same instance or as another instance of the same
+     * stateless module class, and the very instances already installed in the parent injector.
+     * Another instance of a module installed in the parent is kept, so the child owns its own bindings and singletons.
+     */
+    private static @NotNull List<Module> deduplicate(@Nullable Injector parent, @NotNull List<Module> modules) {
+        Set<Module> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<Class<?>> stateless = new HashSet<>();
+        List<Module> deduplicated = new ArrayList<>();
+
+        if (parent != null) {
+            seen.addAll(parent.getModules());
+        }
 
-        modules.forEach(Module::configure);
+        for (Module module : modules) {
+            if (!seen.add(module)) {
+                continue;
+            }
+
+            if (isStateless(module.getClass()) && !stateless.add(module.getClass())) {
+                continue;
+            }
+
+            deduplicated.add(module);
+        }
+
+        return deduplicated;
+    }
+
+    /**
+     * @return whether the module is an {@link InfuseModule} declaring no instance fields of its own,
+     * so every instance of its class configures the same bindings
+     */
+    private static boolean isStateless(@NotNull Class<?> type) {
+        if (!InfuseModule.class.isAssignableFrom(type)) {
+            return false;
+        }
 
-        getOwnBindings().forEach(binding -> {
+        for (Class<?> current = type; current != InfuseModule.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Configures the modules, concurrently if there is a configuration executor.
+     * Each module binds into its own list, and the lists are merged in module order by {@link #buildBindings()},
+     * so the resulting bindings are the same either way.
+     */
+    private void configure(@NotNull List<Module> modules, @NotNull ScanSession session) {
+        Executor executor = configurationExecutor;
+
+        if (executor == null || modules.size() < 2) {
+            modules.forEach(Module::configure);
+            return;
+        }
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>(modules.size());
+
+        for (Module module : modules) {
+            futures.add(CompletableFuture.runAsync(session.wrap(module::configure), executor));
+        }
+
+        RuntimeException failure = null;
+
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                futures.get(i).join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() == null ? e : e.getCause();
+                RuntimeException exception = cause instanceof RuntimeException
+                        ? (RuntimeException) cause
+                        : new RuntimeException("Failed to configure " + modules.get(i).getClass().getName(), cause);
+
+                if (failure == null) {
+                    failure = exception;
+                } else {
+                    failure.addSuppressed(exception);
+                }
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Eagerly creates the singletons among the given bindings, injects them along with the bound instances,
+     * then calls their {@link PostInject} methods.
+     */
+    private void initialize(@NotNull List<Binding<?>> bindings) {
+        bindings.forEach(binding -> {
             if (!(binding.getProvider() instanceof SingletonProvider<?>)) {
                 return;
             }
@@ -51,16 +274,19 @@ public class InfuseInjector implements Injector {
                 return;
             }
 
+            constructing.get().push(provider);
+
             try {
                 provider.provideWithoutInjecting(new Context<>(getClass(), this, this, ElementType.FIELD, "eager", new Annotation[0]));
             } catch (Exception e) {
-                System.err.println("Failed to eagerly initialize " + binding.getType().getName());
-                throw e;
+                throw ResolutionException.wrap(e, "eagerly initializing " + binding.getType().getName());
+            } finally {
+                constructing.get().pop();
             }
         });
 
 
-        getOwnBindings().forEach(binding -> {
+        bindings.forEach(binding -> {
             if (!(binding.getProvider() instanceof SingletonProvider<?>)) {
                 return;
             }
@@ -71,15 +297,18 @@ public class InfuseInjector implements Injector {
                 return;
             }
 
+            constructing.get().push(provider);
+
             try {
                 injectVariables(provider.provideWithoutInjecting(new Context<>(getClass(), this, this, ElementType.FIELD, "eager", new Annotation[0])));
             } catch (Exception e) {
-                System.err.println("Failed to eagerly inject variables in " + binding.getType().getName());
-                throw e;
+                throw ResolutionException.wrap(e, "injecting the eager singleton " + binding.getType().getName());
+            } finally {
+                constructing.get().pop();
             }
         });
 
-        getOwnBindings().forEach(binding -> {
+        bindings.forEach(binding -> {
             if (!(binding.getProvider() instanceof InstanceProvider<?>)) {
                 return;
             }
@@ -95,14 +324,13 @@ public class InfuseInjector implements Injector {
 
                 injectVariables(object);
             } catch (Exception e) {
-                System.err.println("Failed to eagerly initialize " + binding.getType().getName());
-                throw e;
+                throw ResolutionException.wrap(e, "injecting the instance bound to " + binding.getType().getName());
             }
         });
 
         List<ObjectWithMethod> methods = new ArrayList<>();
 
-        getOwnBindings().forEach(binding -> {
+        bindings.forEach(binding -> {
             if (!(binding.getProvider() instanceof SingletonProvider<?>)) {
                 return;
             }
@@ -114,11 +342,12 @@ public class InfuseInjector implements Injector {
             }
 
             Object object = provider.provideWithoutInjecting(new Context<>(getClass(), this, this, ElementType.FIELD, "eager", new Annotation[0]));
-            getMethodsAnnotatedWith(object.getClass(), PostInject.class)
-                    .forEach(method -> methods.add(new ObjectWithMethod(object, method)));
+            for (Method method : getMembersInjector(object.getClass()).getPostInjectMethods()) {
+                methods.add(new ObjectWithMethod(object, method));
+            }
         });
 
-        getOwnBindings().forEach(binding -> {
+        bindings.forEach(binding -> {
             if (!(binding.getProvider() instanceof InstanceProvider<?>)) {
                 return;
             }
@@ -130,166 +359,778 @@ public class InfuseInjector implements Injector {
                 return;
             }
 
-            getMethodsAnnotatedWith(object.getClass(), PostInject.class)
-                    .forEach(method -> methods.add(new ObjectWithMethod(object, method)));
+            for (Method method : getMembersInjector(object.getClass()).getPostInjectMethods()) {
+                methods.add(new ObjectWithMethod(object, method));
+            }
         });
 
-        methods.stream()
-                .sorted(Comparator.comparing(method -> method.getMethod().getAnnotation(PostInject.class).priority()))
-                .forEach(method -> {
-                    try {
-                        injectMethod(method.getObject(), method.getMethod());
-                    } catch (Exception e) {
-                        System.err.println("Failed to eagerly inject method " + method.getMethod().getName() + " in " + method.getObject().getClass().getName());
-                        throw e;
-                    }
-                });
+        if (lifecycleExecutor != null) {
+            invokeConcurrently(methods, method -> method.getAnnotation(PostInject.class).priority(), PostInject.class, true);
+            return;
+        }
+
+        long start = System.nanoTime();
+
+        try {
+            methods.stream()
+                    .sorted(Comparator.comparing(method -> method.getMethod().getAnnotation(PostInject.class).priority()))
+                    .forEach(method -> {
+                        try {
+                            injectMethod(method.getObject(), method.getMethod());
+                        } catch (Exception e) {
+                            throw ResolutionException.wrap(e.getCause() == null ? e : e.getCause(), "calling the @PostInject method " + method.getMethod().getName() + " of " + method.getObject().getClass().getName());
+                        }
+                    });
+        } finally {
+            statistics.recordLifecycle(System.nanoTime() - start);
+        }
     }
 
     public void inject(@NotNull Object object) {
-        injectVariables(object);
-        postInject(object);
+        InfuseMembersInjector<?> membersInjector = getMembersInjector(object.getClass());
+
+        membersInjector.injectFields(object);
+        membersInjector.postInject(object);
+    }
+
+    @Override
+    public <T> @NotNull MembersInjector<T> membersInjector(@NotNull Class<T> type) {
+        return getMembersInjector(type);
+    }
+
+    @Override
+    public void injectAll(@NotNull Collection<?> objects) {
+        groupByClass(objects).forEach((type, group) -> {
+            InfuseMembersInjector<?> membersInjector = getMembersInjector(type);
+
+            for (Object object : group) {
+                membersInjector.injectFields(object);
+                membersInjector.postInject(object);
+            }
+        });
+    }
+
+    @Override
+    public void injectAll(@NotNull Collection<?> objects, @NotNull ForkJoinPool pool) {
+        pool.submit(() -> groupByClass(objects).forEach((type, group) -> {
+            InfuseMembersInjector<?> membersInjector = getMembersInjector(type);
+
+            group.parallelStream().forEach(object -> {
+                membersInjector.injectFields(object);
+                membersInjector.postInject(object);
+            });
+        })).join();
+    }
+
+    private static @NotNull Map<Class<?>, List<Object>> groupByClass(@NotNull Collection<?> objects) {
+        Map<Class<?>, List<Object>> groups = new LinkedHashMap<>();
+
+        for (Object object : objects) {
+            groups.computeIfAbsent(object.getClass(), type -> new ArrayList<>()).add(object);
+        }
+
+        return groups;
+    }
+
+    private <T> @NotNull InfuseMembersInjector<T> getMembersInjector(@NotNull Class<T> type) {
+        InfuseMembersInjector<?> membersInjector = membersInjectors.get(type);
+
+        if (membersInjector == null) {
+            membersInjector = membersInjectors.computeIfAbsent(type, key -> new InfuseMembersInjector<>(this, key));
+        }
+
+        return (InfuseMembersInjector<T>) membersInjector;
     }
 
     @Override
     public <T> T provide(@NotNull Class<T> type, @NotNull Context<?> context) {
+        Map<Class<?>, Object> cache = resolving.get();
+
+        try {
+            cache.put(context.getObject().getClass(), context.getObject());
+
+            if (cache.containsKey(type)) {
+                return (T) cache.get(type);
+            }
+
+            recordDependency(type);
+            Binding<T> binding = getBindingOrNull(type);
+
+            if (binding == null) {
+                binding = getImplicitBindingOrNull(type);
+            }
+
+            if (binding != null) {
+                return provide(binding, context);
+            }
+
+            if (isOptional(context)) {
+                return null;
+            }
+
+            return construct(type);
+        } catch (Exception e) {
+            throw ResolutionException.wrap(e, "providing " + type.getName() + " for " + describe(context));
+        } finally {
+            cache.remove(context.getObject().getClass());
+        }
+    }
+
+    @Override
+    public <T> @Nullable T provide(@NotNull Class<T> type, @NotNull Object calling) {
+        Map<Class<?>, Object> cache = resolving.get();
+
+        try {
+            cache.put(calling.getClass(), calling);
+
+            if (cache.containsKey(type)) {
+                return (T) cache.get(type);
+            }
+
+            recordDependency(type);
+            Binding<T> binding = getBindingOrNull(type);
+
+            if (binding == null) {
+                binding = getImplicitBindingOrNull(type);
+            }
+
+            if (binding != null) {
+                boolean singleton = enterSingleton(binding.getProvider());
+                boolean hit = singleton && ((SingletonProvider<?>) binding.getProvider()).isInitialized();
+                T t;
+
+                try {
+                    t = binding.getProvider().provide(this, calling);
+                } finally {
+                    exitSingleton(singleton);
+                }
+
+                statistics.recordProvision(binding, singleton, hit);
+
+                return t;
+            }
+
+            return construct(type);
+        } catch (Exception e) {
+            throw ResolutionException.wrap(e, "providing " + type.getName() + " for " + calling.getClass().getName());
+        } finally {
+            cache.remove(calling.getClass());
+        }
+    }
+
+    @Override
+    public <T> @Nullable T provide(@NotNull TypeLiteral<T> type, @NotNull Context<?> context) {
+        Binding<T> binding = getGenericBindingOrNull(type);
+
+        if (binding == null) {
+            return provide(getRawType(type), context);
+        }
+
+        Map<Class<?>, Object> cache = resolving.get();
+
         try {
             cache.put(context.getObject().getClass(), context.getObject());
+            recordDependency(type.getType());
+
+            T t = provide(binding, context);
+            cache.remove(context.getObject().getClass());
+
+            return t;
+        } catch (Exception e) {
+            cache.remove(context.getObject().getClass());
+            throw ResolutionException.wrap(e, "providing " + type + " for " + describe(context));
+        }
+    }
+
+    /**
+     * @return whether the injection point is annotated with {@code @Inject(optional = true)}
+     */
+    private static boolean isOptional(@NotNull Context<?> context) {
+        Annotation[] annotations = context.getAnnotations();
+
+        if (annotations == null) {
+            return false;
+        }
+
+        for (Annotation annotation : annotations) {
+            if (annotation instanceof Inject && ((Inject) annotation).optional()) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static @NotNull String describe(@NotNull Context<?> context) {
+        switch (context.getElement()) {
+            case FIELD:
+                return "field " + context.getName() + " of " + context.getType().getName();
+            case CONSTRUCTOR:
+                return "constructor parameter " + context.getName() + " of " + context.getType().getName();
+            default:
+                return context.getName() + " of " + context.getType().getName();
+        }
+    }
+
+    @Override
+    public <T> T construct(@NotNull Class<T> type, @NotNull Object... args) {
+        ConstructorPlan<T> plan = getConstructorPlan(type, args);
+
+        if (plan == null) {
+            throw new ResolutionException("No suitable constructor found for " + type.getName());
+        }
+
+        return construct(plan, args);
+    }
+
+    <T> T construct(@NotNull ConstructorPlan<T> plan, @NotNull Object... args) {
+        try {
+            T t = newInstance(plan, getConstructorArguments(plan, args));
+
+            postConstruct(t);
+            inject(t);
+
+            return t;
+        } catch (Exception e) {
+            throw ResolutionException.wrap(e, "constructing " + plan.getConstructor().getDeclaringClass().getName());
+        }
+    }
+
+    /**
+     * Creates an instance through an already resolved constructor and arguments,
+     * then calls its {@link PostConstruct} methods and injects it like {@link #construct(Class, Object...)}.
+     *
+     * @param constructor the constructor
+     * @param arguments   the arguments of the constructor
+     * @return the instance
+     */
+    public <T> T construct(@NotNull Constructor<T> constructor, @NotNull Object[] arguments) {
+        Constructor<? extends T> instantiator = getInstantiator(constructor);
+
+        if (!instantiator.isAccessible()) {
+            instantiator.setAccessible(true);
+        }
+
+        try {
+            long start = System.nanoTime();
+            T t = instantiator.newInstance(arguments);
+            statistics.recordConstruction(System.nanoTime() - start);
+
+            postConstruct(t);
+            inject(t);
+
+            return t;
+        } catch (Exception e) {
+            throw ResolutionException.wrap(e, "constructing " + constructor.getDeclaringClass().getName());
+        }
+    }
+
+    public <T> T constructWithoutInjecting(@NotNull Class<T> type, @NotNull Object... args) {
+        ConstructorPlan<T> plan = getConstructorPlan(type, args);
+
+        if (plan == null) {
+            throw new ResolutionException("No injectable constructor found for " + type.getName());
+        }
+
+        try {
+            T t = newInstance(plan, getConstructorArguments(plan, args));
+
+            postConstruct(t);
+
+            return t;
+        } catch (Exception e) {
+            throw ResolutionException.wrap(e, "constructing " + type.getName());
+        }
+    }
+
+    @Override
+    public void warmup(@NotNull WarmupOptions options) {
+        List<Binding<?>> bindings = getBindings();
+        List<Class<?>> types = new ArrayList<>(InjectorGraph.of(bindings).getTypes());
+
+        run(types, this::warmup, options.getExecutor());
+
+        if (options.isSingletons()) {
+            List<Binding<?>> singletons = new ArrayList<>();
+
+            for (Binding<?> binding : bindings) {
+                if (binding.getProvider() instanceof SingletonProvider<?> && !((SingletonProvider<?>) binding.getProvider()).isEager()) {
+                    singletons.add(binding);
+                }
+            }
+
+            run(singletons, binding -> provide(binding, new Context<>(getClass(), this, this, ElementType.FIELD, "warmup", new Annotation[0])), options.getExecutor());
+        }
+
+        if (options.getConstructions() > 0) {
+            List<Class<?>> unbound = new ArrayList<>();
+
+            for (Class<?> type : types) {
+                if (getBindingOrNull(type) == null && isImplicitlyConstructed(type)) {
+                    unbound.add(type);
+                }
+            }
+
+            run(unbound, type -> {
+                try {
+                    for (int i = 0; i < options.getConstructions(); i++) {
+                        preDestroy(construct(type));
+                    }
+                } catch (RuntimeException e) {
+                    LOGGER.log(Level.WARNING, "Failed to construct " + type.getName() + " during the warmup", e);
+                }
+            }, options.getExecutor());
+        }
+    }
+
+    /**
+     * Resolves the members injector, the constructor and the generic bindings of a type.
+     * Types which cannot be resolved are skipped, so they fail when they are actually requested, as they would without a warmup.
+     */
+    private void warmup(@NotNull Class<?> type) {
+        if (!isConstructible(type)) {
+            return;
+        }
+
+        try {
+            for (Object fieldType : getMembersInjector(type).getFieldTypes()) {
+                if (fieldType instanceof TypeLiteral<?>) {
+                    getGenericBindingOrNull((TypeLiteral<?>) fieldType);
+                }
+            }
+
+            ConstructorPlan<?> plan = getConstructorPlan(type);
+
+            if (plan == null) {
+                return;
+            }
+
+            if (getBindingOrNull(type) == null) {
+                getImplicitBindingOrNull(type);
+            }
+
+            for (int i = 0; i < plan.getParameterCount(); i++) {
+                if (plan.getType(i) instanceof TypeLiteral<?>) {
+                    getGenericBindingOrNull((TypeLiteral<?>) plan.getType(i));
+                }
+            }
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.FINE, "Skipped the warmup of " + type.getName(), e);
+        }
+    }
+
+    /**
+     * @return whether requesting the type constructs a new instance every time, rather than sharing a singleton
+     */
+    private boolean isImplicitlyConstructed(@NotNull Class<?> type) {
+        try {
+            Binding<?> binding = getImplicitBindingOrNull(type);
+
+            return binding != null && binding.getProvider() instanceof ImplicitProvider<?>;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static boolean isConstructible(@NotNull Class<?> type) {
+        return !type.isInterface() && !type.isPrimitive() && !type.isArray() && !type.isEnum()
+                && !Modifier.isAbstract(type.getModifiers()) && !InjectorGraph.isPlatformType(type);
+    }
+
+    /**
+     * Runs a task for every element, on the executor if there is one, and waits for all of them to complete.
+     */
+    private static <E> void run(@NotNull List<E> elements, @NotNull Consumer<E> task, @Nullable Executor executor) {
+        if (executor == null) {
+            elements.forEach(task);
+            return;
+        }
+
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[elements.size()];
+
+        for (int i = 0; i < futures.length; i++) {
+            E element = elements.get(i);
+            futures[i] = CompletableFuture.runAsync(() -> task.accept(element), executor);
+        }
+
+        try {
+            CompletableFuture.allOf(futures).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw e;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        try {
+            if (lifecycleExecutor == null) {
+                long start = System.nanoTime();
+
+                try {
+                    getBindings().forEach(binding -> {
+                        Object object = binding.getProvider().provide(new Context<>(binding.getType(), this, this, ElementType.FIELD, "field", new Annotation[0]));
+
+                        if (object != null) {
+                            preDestroy(object);
+                        }
+                    });
+
+                    getImplicitSingletons().forEach(this::preDestroy);
+                } finally {
+                    statistics.recordLifecycle(System.nanoTime() - start);
+                }
+            } else {
+                List<ObjectWithMethod> methods = new ArrayList<>();
+
+                getBindings().forEach(binding -> {
+                    Object object = binding.getProvider().provide(new Context<>(binding.getType(), this, this, ElementType.FIELD, "field", new Annotation[0]));
+
+                    if (object == null) {
+                        return;
+                    }
+
+                    for (Method method : getMembersInjector(object.getClass()).getPreDestroyMethods()) {
+                        methods.add(new ObjectWithMethod(object, method));
+                    }
+                });
+
+                for (Object object : getImplicitSingletons()) {
+                    for (Method method : getMembersInjector(object.getClass()).getPreDestroyMethods()) {
+                        methods.add(new ObjectWithMethod(object, method));
+                    }
+                }
+
+                invokeConcurrently(methods, method -> method.getAnnotation(PreDestroy.class).priority(), PreDestroy.class, false);
+            }
+        } finally {
+            if (mbean != null) {
+                try {
+                    ManagementFactory.getPlatformMBeanServer().unregisterMBean(mbean);
+                } catch (JMException ignored) {
+                }
+            }
+        }
+    }
+
+    /**
+     * Calls the lifecycle methods level by level, in order of priority. The methods of a level run concurrently
+     * on the lifecycle executor, and the next level only starts once all of them have returned.
+     *
+     * @param stopOnFailure whether to skip the remaining levels once a level has failed
+     * @throws RuntimeException with every failure suppressed, if any method failed
+     */
+    private void invokeConcurrently(@NotNull List<ObjectWithMethod> methods, @NotNull ToIntFunction<Method> priority, @NotNull Class<? extends Annotation> annotation, boolean stopOnFailure) {
+        Executor executor = lifecycleExecutor;
+        Map<Integer, List<ObjectWithMethod>> levels = new TreeMap<>();
+        List<Throwable> failures = new ArrayList<>();
+
+        for (ObjectWithMethod method : methods) {
+            levels.computeIfAbsent(priority.applyAsInt(method.getMethod()), level -> new ArrayList<>()).add(method);
+        }
+
+        for (List<ObjectWithMethod> level : levels.values()) {
+            long start = System.nanoTime();
+
+            if (level.size() == 1) {
+                addFailure(failures, level.get(0), invokeLifecycle(level.get(0)));
+            } else {
+                List<CompletableFuture<Throwable>> futures = new ArrayList<>(level.size());
+
+                for (ObjectWithMethod method : level) {
+                    futures.add(CompletableFuture.supplyAsync(() -> invokeLifecycle(method), executor));
+                }
+
+                for (int i = 0; i < futures.size(); i++) {
+                    addFailure(failures, level.get(i), futures.get(i).join());
+                }
+            }
+
+            statistics.recordLifecycle(System.nanoTime() - start);
+
+            if (stopOnFailure && !failures.isEmpty()) {
+                break;
+            }
+        }
+
+        if (!failures.isEmpty()) {
+            RuntimeException exception = new RuntimeException(failures.size() + " @" + annotation.getSimpleName() + " method(s) failed");
+            failures.forEach(exception::addSuppressed);
+
+            throw exception;
+        }
+    }
+
+    private static @Nullable Throwable invokeLifecycle(@NotNull ObjectWithMethod method) {
+        try {
+            method.getMethod().invoke(method.getObject());
+            return null;
+        } catch (InvocationTargetException e) {
+            return e.getCause();
+        } catch (Throwable e) {
+            return e;
+        }
+    }
+
+    private static void addFailure(@NotNull List<Throwable> failures, @NotNull ObjectWithMethod method, @Nullable Throwable failure) {
+        if (failure != null) {
+            failures.add(new RuntimeException("Failed to call " + method.getMethod().getName() + " in " + method.getObject().getClass().getName(), failure));
+        }
+    }
+
+    public @NotNull InjectorStatistics getStatistics() {
+        return statistics;
+    }
+
+    int getChildCount() {
+        return children.size();
+    }
+
+    private @NotNull ObjectName registerMBean(@NotNull String name) {
+        try {
+            ObjectName objectName = new ObjectName("dev.fumaz.infuse:type=Injector,name=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(statistics, objectName);
+
+            return objectName;
+        } catch (InstanceAlreadyExistsException e) {
+            throw new IllegalStateException("An injector MBean named " + name + " is already registered", e);
+        } catch (JMException e) {
+            throw new RuntimeException("Failed to register the injector MBean " + name, e);
+        }
+    }
+
+    @Override
+    public <T> @Nullable Provider<T> getProvider(@NotNull Class<T> type) {
+        return getBindingOrThrow(type).getProvider();
+    }
+
+    @Override
+    public <T> @Nullable Provider<T> getProvider(@NotNull TypeLiteral<T> type) {
+        Binding<T> binding = getGenericBindingOrNull(type);
+
+        if (binding != null) {
+            return binding.getProvider();
+        }
+
+        return getProvider(getRawType(type));
+    }
+
+    @Override
+    public @Nullable Injector getParent() {
+        return parent;
+    }
+
+    @Override
+    public @NotNull Injector child(@NotNull List<Module> modules) {
+        return new InfuseInjector(this, modules);
+    }
+
+    /**
+     * Returns the modules of the parent injectors followed by the modules of this injector,
+     * listing a module installed in both only once, where the parent has it.
+     *
+     * @return the modules
+     */
+    @Override
+    public @NotNull List<Module> getModules() {
+        if (parent == null) {
+            return new ArrayList<>(this.modules);
+        }
+
+        List<Module> modules = new ArrayList<>(parent.getModules());
+        Set<Module> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        seen.addAll(modules);
+
+        for (Module module : this.modules) {
+            if (seen.add(module)) {
+                modules.add(module);
+            }
+        }
+
+        return modules;
+    }
+
+    /**
+     * Returns every binding visible to this injector, including the ones of its parents.
+     * <p>
+     * The returned list is an immutable snapshot which is replaced whenever a module is installed or uninstalled,
+     * so reading it never blocks.
+     *
+     * @return the bindings
+     */
+    @Override
+    public @NotNull List<Binding<?>> getBindings() {
+        return bindings;
+    }
+
+    @Override
+    public synchronized void install(@NotNull Module module) {
+        if (modules.contains(module)) {
+            throw new IllegalArgumentException("Module " + module.getClass().getName() + " is already installed");
+        }
 
-            if (cache.containsKey(type)) {
-                return (T) cache.get(type);
+        // A module installed again after being uninstalled keeps its bindings instead of binding them twice
+        if (configured.add(module)) {
+            try (ScanSession session = ScanSession.open()) {
+                configure(Collections.singletonList(module), session);
             }
+        }
 
-            Binding<T> binding = getBindingOrNull(type);
+        List<Module> modules = new ArrayList<>(this.modules);
+        modules.add(module);
+        this.modules = Collections.unmodifiableList(modules);
 
-            if (binding != null) {
-                T t = binding.getProvider().provide(context);
-                cache.remove(context.getObject().getClass());
+        refresh(getTypes(module.getBindings()));
+        initialize(module.getBindings());
+    }
 
-                return t;
-            }
+    @Override
+    public synchronized void uninstall(@NotNull Module module) {
+        if (!modules.contains(module)) {
+            throw new IllegalArgumentException("Module " + module.getClass().getName() + " is not installed in this injector");
+        }
 
-            T t = construct(type);
-            cache.remove(context.getObject().getClass());
+        List<Module> modules = new ArrayList<>(this.modules);
+        modules.remove(module);
+        this.modules = Collections.unmodifiableList(modules);
 
-            return t;
-        } catch (Exception e) {
-            System.err.println("Failed to provide " + type.getName());
-            throw e;
-        }
+        refresh(getTypes(module.getBindings()));
     }
 
-    @Override
-    public <T> @Nullable T provide(@NotNull Class<T> type, @NotNull Object calling) {
-        try {
-            cache.put(calling.getClass(), calling);
+    /**
+     * Rebuilds the binding index after the given types were bound, rebound or unbound, destroys the singletons
+     * whose bindings were removed or overridden, then invalidates every singleton that depends on the changed types,
+     * here and in every child injector, each under its own lock.
+     */
+    private synchronized void refresh(@NotNull Set<Type> changed) {
+        List<Binding<?>> previous = this.bindings;
+
+        this.bindings = buildBindings();
+        this.interceptors = buildInterceptors();
+        genericBindings.clear();
+        bindingLookups.clear();
+        interceptedClasses.clear();
+        instantiators.clear();
+        constructors.clear();
+        membersInjectors.clear();
+        configuration = null;
+        revision++;
+
+        implicitBindings.values().removeIf(implicit -> {
+            Binding<?> binding = implicit.orElse(null);
+
+            if (binding == null || !(binding.getProvider() instanceof SingletonProvider<?>)) {
+                return true;
+            }
 
-            if (cache.containsKey(type)) {
-                return (T) cache.get(type);
+            if (getBindingOrNull(binding.getType()) == null) {
+                return false;
             }
 
-            Binding<T> binding = getBindingOrNull(type);
+            if (!isInherited(binding)) {
+                destroySingleton(binding.getProvider());
+            }
 
-            if (binding != null) {
-                T t = binding.getProvider().provide(this, calling);
-                cache.remove(calling.getClass());
+            return true;
+        });
 
-                return t;
+        for (Binding<?> binding : previous) {
+            if (bindings.stream().noneMatch(current -> current.getProvider() == binding.getProvider())) {
+                destroySingleton(binding.getProvider());
             }
+        }
 
-            T t = construct(type);
-            cache.remove(calling.getClass());
+        invalidate(changed);
 
-            return t;
-        } catch (Exception e) {
-            System.err.println("Failed to provide " + type.getName());
-            throw e;
+        List<InfuseInjector> children;
+
+        synchronized (this.children) {
+            children = new ArrayList<>(this.children);
         }
+
+        children.forEach(child -> child.refresh(changed));
     }
 
-    @Override
-    public <T> T construct(@NotNull Class<T> type, @NotNull Object... args) {
-        Constructor<T> constructor = findSuitableConstructor(type, args);
+    /**
+     * Resets every singleton which depends, directly or transitively, on one of the changed types,
+     * calling their {@link PreDestroy} methods. Eager singletons that are still bound are rebuilt right away.
+     */
+    private void invalidate(@NotNull Set<Type> changed) {
+        Set<Type> pending = new HashSet<>(changed);
+        List<SingletonProvider<?>> invalidated = new ArrayList<>();
 
-        if (constructor == null) {
-            throw new RuntimeException("No suitable constructor found for " + type.getName());
-        }
+        while (!pending.isEmpty()) {
+            Set<Type> next = new HashSet<>();
 
-        constructor.setAccessible(true);
+            for (Map.Entry<SingletonProvider<?>, Set<Type>> entry : dependencies.entrySet()) {
+                SingletonProvider<?> provider = entry.getKey();
 
-        try {
-            T t = constructor.newInstance(getConstructorArguments(constructor, args));
+                if (invalidated.contains(provider) || !dependsOnAny(entry.getValue(), pending)) {
+                    continue;
+                }
 
-            postConstruct(t);
-            inject(t);
+                invalidated.add(provider);
+                next.add(provider.getType());
+                destroySingleton(provider);
+            }
 
-            return t;
-        } catch (Exception e) {
-            System.err.println("Failed to construct " + type.getName());
-            e.printStackTrace();
-            throw new RuntimeException(e);
+            pending = next;
         }
-    }
 
-    public <T> T constructWithoutInjecting(@NotNull Class<T> type, @NotNull Object... args) {
-        Constructor<T> constructor = findSuitableConstructor(type, args);
+        List<Binding<?>> rebuilt = new ArrayList<>();
 
-        if (constructor == null) {
-            throw new RuntimeException("No injectable constructor found for " + type.getName());
+        for (Binding<?> binding : bindings) {
+            if (invalidated.contains(binding.getProvider()) && ((SingletonProvider<?>) binding.getProvider()).isEager()) {
+                rebuilt.add(binding);
+            }
         }
 
-        constructor.setAccessible(true);
+        initialize(rebuilt);
+    }
 
-        try {
-            T t = constructor.newInstance(getConstructorArguments(constructor, args));
+    private void destroySingleton(@NotNull Provider<?> provider) {
+        if (!(provider instanceof SingletonProvider<?>)) {
+            return;
+        }
 
-            postConstruct(t);
+        dependencies.remove(provider);
+        Object instance = ((SingletonProvider<?>) provider).reset();
 
-            return t;
-        } catch (Exception e) {
-            System.err.println("Failed to construct without injecting " + type.getName());
-            e.printStackTrace();
-            throw new RuntimeException(e);
+        if (instance != null) {
+            preDestroy(instance);
         }
     }
 
-    @Override
-    public void destroy() {
-        getBindings().forEach(binding -> {
-            preDestroy(binding.getProvider().provide(new Context<>(binding.getType(), this, this, ElementType.FIELD, "field", new Annotation[0])));
-        });
-    }
+    private static boolean dependsOnAny(@NotNull Set<Type> dependencies, @NotNull Set<Type> changed) {
+        for (Type dependency : dependencies) {
+            Class<?> dependencyType = TypeLiteral.get(dependency).getRawType();
 
-    @Override
-    public <T> @Nullable Provider<T> getProvider(@NotNull Class<T> type) {
-        return getBindingOrThrow(type).getProvider();
-    }
+            for (Type type : changed) {
+                Class<?> changedType = TypeLiteral.get(type).getRawType();
 
-    @Override
-    public @Nullable Injector getParent() {
-        return parent;
-    }
+                if (dependencyType.isAssignableFrom(changedType) || changedType.isAssignableFrom(dependencyType)) {
+                    return true;
+                }
+            }
+        }
 
-    @Override
-    public @NotNull Injector child(@NotNull List<Module> modules) {
-        return new InfuseInjector(this, modules);
+        return false;
     }
 
-    @Override
-    public @NotNull List<Module> getModules() {
-        List<Module> modules = new ArrayList<>();
+    private static @NotNull Set<Type> getTypes(@NotNull List<Binding<?>> bindings) {
+        Set<Type> types = new HashSet<>();
 
-        if (parent != null) {
-            modules.addAll(parent.getModules());
+        for (Binding<?> binding : bindings) {
+            types.add(binding.getTypeLiteral().getType());
         }
 
-        modules.addAll(this.modules);
-
-        return modules;
+        return types;
     }
 
-    @Override
-    public @NotNull List<Binding<?>> getBindings() {
+    private @NotNull List<Binding<?>> buildBindings() {
         List<Binding<?>> bindings = new ArrayList<>();
 
         bindings.add(new Binding<>(Injector.class, new InstanceProvider<>(this)));
@@ -302,7 +1143,17 @@ public class InfuseInjector implements Injector {
             }
         }
 
-        return bindings;
+        return Collections.unmodifiableList(bindings);
+    }
+
+    private @NotNull List<InterceptorBinding> buildInterceptors() {
+        List<InterceptorBinding> interceptors = new ArrayList<>();
+
+        for (Module module : getModules()) {
+            interceptors.addAll(module.getInterceptors());
+        }
+
+        return Collections.unmodifiableList(interceptors);
     }
 
     @Override
@@ -326,20 +1177,229 @@ public class InfuseInjector implements Injector {
         return bindings;
     }
 
+    /**
+     * Returns the number of times this injector refreshed its bindings, so that state resolved outside of it, such as
+     * the {@link ConfigValue}s of generated factories, can tell when it must be resolved again.
+     *
+     * @return the current revision
+     */
+    public int getRevision() {
+        return revision;
+    }
+
+    /**
+     * Resolves the value of a {@link Config} injection point from the bound {@link Configuration}.
+     *
+     * @param config the annotation of the injection point
+     * @param type   the type of the injection point
+     * @return the converted value
+     */
+    public @NotNull ConfigValue<?> getConfigValue(@NotNull Config config, @NotNull Type type) {
+        Configuration configuration = this.configuration;
+
+        if (configuration == null) {
+            Binding<Configuration> binding = getBindingOrNull(Configuration.class);
+
+            if (binding == null) {
+                throw new IllegalStateException("No Configuration is bound to inject " + config.value());
+            }
+
+            configuration = provide(binding, new Context<>(getClass(), this, this, ElementType.FIELD, "configuration", new Annotation[0]));
+            this.configuration = configuration;
+        }
+
+        return configuration.resolve(config, type);
+    }
+
     public <T> @NotNull Binding<T> getBindingOrThrow(@NotNull Class<T> type) {
-        return (Binding<T>) getBindings().stream()
-                .filter(binding -> binding.getType().isAssignableFrom(type) || type.isAssignableFrom(binding.getType()))
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("No binding found for type " + type));
+        Binding<T> binding = getBindingOrNull(type);
+
+        if (binding == null) {
+            throw new IllegalArgumentException("No binding found for type " + type);
+        }
+
+        return binding;
     }
 
+    /**
+     * Finds the binding registered for the type, or for one of its subtypes or supertypes.
+     * The result, including its absence, is memoized per type until the bindings change.
+     *
+     * @return the binding, or null if the type is not bound
+     */
     public <T> @Nullable Binding<T> getBindingOrNull(@NotNull Class<T> type) {
-        return (Binding<T>) getBindings().stream()
-                .filter(binding -> binding.getType().isAssignableFrom(type) || type.isAssignableFrom(binding.getType()))
-                .findFirst()
+        Optional<Binding<?>> binding = bindingLookups.get(type);
+
+        if (binding == null) {
+            binding = getBindings().stream()
+                    .filter(candidate -> !candidate.isGeneric())
+                    .filter(candidate -> candidate.getType().isAssignableFrom(type) || type.isAssignableFrom(candidate.getType()))
+                    .findFirst();
+
+            bindingLookups.put(type, binding);
+        }
+
+        return (Binding<T>) binding.orElse(null);
+    }
+
+    /**
+     * Finds or creates the just-in-time binding of an unbound concrete type, the first time it is provided.
+     * Types annotated with {@link Singleton} get a lazy singleton, shared with the parent injector,
+     * while every other type is constructed through the constructor resolved here.
+     * The result, including its absence, is memoized per type until the bindings change.
+     *
+     * @return the implicit binding, or null if the type cannot be constructed
+     */
+    <T> @Nullable Binding<T> getImplicitBindingOrNull(@NotNull Class<T> type) {
+        Optional<Binding<?>> binding = implicitBindings.get(type);
+
+        if (binding == null) {
+            binding = Optional.ofNullable(createImplicitBinding(type));
+
+            Optional<Binding<?>> existing = implicitBindings.putIfAbsent(type, binding);
+
+            if (existing != null) {
+                binding = existing;
+            }
+        }
+
+        return (Binding<T>) binding.orElse(null);
+    }
+
+    private <T> @Nullable Binding<T> createImplicitBinding(@NotNull Class<T> type) {
+        if (!isConstructible(type)) {
+            return null;
+        }
+
+        if (type.isAnnotationPresent(Singleton.class)) {
+            if (parent instanceof InfuseInjector) {
+                return ((InfuseInjector) parent).getImplicitBindingOrNull(type);
+            }
+
+            return new Binding<>(type, new SingletonProvider<>(type, false));
+        }
+
+        ConstructorPlan<T> plan = getConstructorPlan(type);
+
+        if (plan == null) {
+            return null;
+        }
+
+        return new Binding<>(type, new ImplicitProvider<>(this, plan));
+    }
+
+    /**
+     * @return whether the calling thread is in the middle of a resolution in this injector,
+     * which is only the case from within the constructors, providers and injected members of the objects it is resolving
+     */
+    public boolean isResolving() {
+        return !resolving.get().isEmpty() || !constructing.get().isEmpty();
+    }
+
+    /**
+     * @return the just-in-time bindings created so far for unbound concrete types
+     */
+    public @NotNull List<Binding<?>> getImplicitBindings() {
+        List<Binding<?>> bindings = new ArrayList<>();
+
+        for (Optional<Binding<?>> binding : implicitBindings.values()) {
+            binding.ifPresent(bindings::add);
+        }
+
+        return bindings;
+    }
+
+    /**
+     * @return whether the implicit binding was created by the parent injector, which is then responsible for its singleton
+     */
+    private boolean isInherited(@NotNull Binding<?> binding) {
+        return parent instanceof InfuseInjector
+                && ((InfuseInjector) parent).implicitBindings.getOrDefault(binding.getType(), Optional.empty()).orElse(null) == binding;
+    }
+
+    private @NotNull List<Object> getImplicitSingletons() {
+        List<Object> singletons = new ArrayList<>();
+
+        for (Binding<?> binding : getImplicitBindings()) {
+            if (!(binding.getProvider() instanceof SingletonProvider<?>)) {
+                continue;
+            }
+
+            SingletonProvider<?> provider = (SingletonProvider<?>) binding.getProvider();
+
+            if (provider.isInitialized() && !isInherited(binding)) {
+                singletons.add(provider.provideWithoutInjecting(new Context<>(getClass(), this, this, ElementType.FIELD, "implicit", new Annotation[0])));
+            }
+        }
+
+        return singletons;
+    }
+
+    /**
+     * Finds the binding registered for exactly the given generic type, such as {@code Cache<String, User>}.
+     * The result is memoized per {@link Type}, so generic resolution only happens once per injection point type.
+     *
+     * @return the generic binding, or null if the type is not generic or has no generic binding
+     */
+    public <T> @Nullable Binding<T> getGenericBindingOrNull(@NotNull TypeLiteral<T> type) {
+        if (!type.isGeneric()) {
+            return null;
+        }
+
+        return (Binding<T>) genericBindings.computeIfAbsent(type.getType(), key -> getBindings().stream()
+                        .filter(binding -> binding.isGeneric() && binding.getTypeLiteral().equals(type))
+                        .findFirst())
                 .orElse(null);
     }
 
+    private <T> T provide(@NotNull Binding<T> binding, @NotNull Context<?> context) {
+        boolean singleton = enterSingleton(binding.getProvider());
+        boolean hit = singleton && ((SingletonProvider<?>) binding.getProvider()).isInitialized();
+        T t;
+
+        try {
+            t = binding.getProvider().provide(context);
+        } finally {
+            exitSingleton(singleton);
+        }
+
+        statistics.recordProvision(binding, singleton, hit);
+
+        return t;
+    }
+
+    /**
+     * Marks a singleton as being constructed on this thread, so the types it requests are recorded as its dependencies.
+     *
+     * @return whether the provider is a singleton, and {@link #exitSingleton(boolean)} must unmark it
+     */
+    private boolean enterSingleton(@NotNull Provider<?> provider) {
+        if (!(provider instanceof SingletonProvider<?>)) {
+            return false;
+        }
+
+        constructing.get().push((SingletonProvider<?>) provider);
+        return true;
+    }
+
+    private void exitSingleton(boolean singleton) {
+        if (singleton) {
+            constructing.get().pop();
+        }
+    }
+
+    private void recordDependency(@NotNull Type type) {
+        SingletonProvider<?> dependent = constructing.get().peek();
+
+        if (dependent != null) {
+            dependencies.computeIfAbsent(dependent, key -> ConcurrentHashMap.newKeySet()).add(type);
+        }
+    }
+
+    private <T> @NotNull Class<T> getRawType(@NotNull TypeLiteral<T> type) {
+        return (Class<T>) type.getRawType();
+    }
+
     private <T> @Nullable Constructor<T> findInjectableConstructor(@NotNull Class<T> type) {
         Constructor<T> injectableConstructor = null;
 
@@ -360,6 +1420,79 @@ public class InfuseInjector implements Injector {
         return injectableConstructor;
     }
 
+    /**
+     * Resolves the constructor to use for the given arguments, memoized by the target type and the argument classes.
+     */
+    private <T> @Nullable ConstructorPlan<T> getConstructorPlan(@NotNull Class<T> type, @NotNull Object... args) {
+        ConstructorPlan<T> plan = (ConstructorPlan<T>) constructors.get(type, args);
+
+        if (plan == null) {
+            Constructor<T> constructor = findSuitableConstructor(type, args);
+
+            if (constructor == null) {
+                return null;
+            }
+
+            plan = newPlan(constructor, args.length);
+            constructors.put(type, args, plan);
+        }
+
+        StartupRecorder recorder = this.recorder;
+
+        if (recorder != null && args.length == 0) {
+            recorder.record(plan.getConstructor());
+        }
+
+        return plan;
+    }
+
+    private <T> T newInstance(@NotNull ConstructorPlan<T> plan, @NotNull Object[] arguments) throws ReflectiveOperationException {
+        long start = System.nanoTime();
+        T t = plan.newInstance(arguments);
+        statistics.recordConstruction(System.nanoTime() - start);
+
+        return t;
+    }
+
+    private <T> @NotNull ConstructorPlan<T> newPlan(@NotNull Constructor<T> constructor, int provided) {
+        return new ConstructorPlan<>(this, constructor, provided, getInstantiator(constructor));
+    }
+
+    /**
+     * Maps a constructor to its mirror in the intercepted subclass of its type, generated once per type,
+     * or returns the constructor itself if none of its methods are intercepted. The mapping is cached until the next refresh.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> @NotNull Constructor<? extends T> getInstantiator(@NotNull Constructor<T> constructor) {
+        List<InterceptorBinding> interceptors = this.interceptors;
+
+        if (interceptors.isEmpty()) {
+            return constructor;
+        }
+
+        Constructor<?> instantiator = instantiators.get(constructor);
+
+        if (instantiator == null) {
+            instantiator = instantiators.computeIfAbsent(constructor, key -> findInstantiator(key, interceptors));
+        }
+
+        return (Constructor<? extends T>) instantiator;
+    }
+
+    private @NotNull Constructor<?> findInstantiator(@NotNull Constructor<?> constructor, @NotNull List<InterceptorBinding> interceptors) {
+        Class<?> intercepted = interceptedClasses.computeIfAbsent(constructor.getDeclaringClass(), type -> Optional.ofNullable(SubclassGenerator.generate(type, interceptors))).orElse(null);
+
+        if (intercepted == null) {
+            return constructor;
+        }
+
+        try {
+            return intercepted.getConstructor(constructor.getParameterTypes());
+        } catch (NoSuchMethodException e) {
+            return constructor;
+        }
+    }
+
     public <T> Constructor<T> findSuitableConstructor(Class<T> clazz, Object... args) {
         Constructor<?>[] constructors = clazz.getDeclaredConstructors();
         Constructor<T> bestMatch = null;
@@ -423,97 +1556,133 @@ public class InfuseInjector implements Injector {
         return distance;
     }
 
-    private @NotNull Object[] getConstructorArguments(@NotNull Constructor<?> constructor, Object... provided) {
-        Object[] args = new Object[constructor.getParameterCount()];
+    private @NotNull Object[] getConstructorArguments(@NotNull ConstructorPlan<?> plan, Object... provided) {
+        Object[] args = new Object[plan.getParameterCount()];
 
         for (int i = 0; i < args.length; i++) {
-            Class<?> type = constructor.getParameterTypes()[i];
-            Annotation[] annotations = constructor.getParameterAnnotations()[i];
+            Object type = plan.getType(i);
 
-            if (provided.length == 0 || provided.length <= i || constructor.getParameters()[i].isAnnotationPresent(Inject.class)) {
-                args[i] = provide(type, new Context<>(constructor.getDeclaringClass(), this, this, ElementType.CONSTRUCTOR, constructor.getParameters()[i].getName(), annotations));
-            } else {
+            if (type == null) {
                 args[i] = provided[i];
+            } else if (type instanceof ConfigValue<?>) {
+                args[i] = ((ConfigValue<?>) type).get();
+            } else if (type instanceof Class<?>) {
+                args[i] = provide((Class<?>) type, plan.getContext(i));
+            } else {
+                args[i] = provide((TypeLiteral<?>) type, plan.getContext(i));
             }
         }
 
         return args;
     }
 
-    private <T> List<Field> getAllFields(Class<T> type) {
-        List<Field> fields = new ArrayList<>(Arrays.asList(type.getDeclaredFields()));
+    private void injectVariables(Object object) {
+        getMembersInjector(object.getClass()).injectFields(object);
+    }
 
-        if (type.getSuperclass() != null) {
-            fields.addAll(getAllFields(type.getSuperclass()));
-        }
+    private void preDestroy(Object object) {
+        getMembersInjector(object.getClass()).preDestroy(object);
+    }
 
-        return fields;
+    private void postInject(Object object) {
+        getMembersInjector(object.getClass()).postInject(object);
     }
 
-    private <T> List<Method> getAllMethods(Class<T> type) {
-        List<Method> methods = new ArrayList<>(Arrays.asList(type.getDeclaredMethods()));
+    private void postConstruct(Object object) {
+        getMembersInjector(object.getClass()).postConstruct(object);
+    }
 
-        if (type.getSuperclass() != null) {
-            methods.addAll(getAllMethods(type.getSuperclass()));
-        }
+    private void injectMethod(Object object, Method method) {
+        method.setAccessible(true);
 
-        return methods;
+        try {
+            method.invoke(object);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
     }
 
-    private void injectVariables(Object object) {
-        List<Binding<?>> bindings = getBindings();
+    private void replayConstructors(@NotNull StartupSnapshot snapshot) {
+        ClassLoader classLoader = getSnapshotClassLoader();
 
-        for (Field field : getAllFields(object.getClass())) {
-            if (field.isAnnotationPresent(Inject.class)) {
-                field.setAccessible(true);
+        for (StartupSnapshot.Entry entry : snapshot.getEntries()) {
+            Constructor<?> constructor = entry.resolve(classLoader);
 
-                try {
-                    field.set(object, provide(field.getType(), new Context<>(object.getClass(), object, this, ElementType.FIELD, field.getName(), field.getAnnotations())));
-                } catch (IllegalAccessException e) {
-                    throw new RuntimeException(e);
-                }
+            if (constructor != null) {
+                constructors.put(constructor.getDeclaringClass(), new Object[0], newPlan(constructor, 0));
             }
         }
     }
 
-    private void preDestroy(Object object) {
-        getMethodsAnnotatedWith(object.getClass(), PreDestroy.class)
-                .stream()
-                .sorted(Comparator.comparing(method -> method.getAnnotation(PreDestroy.class).priority()))
-                .forEach(method -> injectMethod(object, method));
-    }
+    private void replaySingletons(@NotNull StartupSnapshot snapshot) {
+        ClassLoader classLoader = getSnapshotClassLoader();
 
-    private void postInject(Object object) {
-        getMethodsAnnotatedWith(object.getClass(), PostInject.class)
-                .stream()
-                .sorted(Comparator.comparing(method -> method.getAnnotation(PostInject.class).priority()))
-                .forEach(method -> injectMethod(object, method));
-    }
+        for (StartupSnapshot.Entry entry : snapshot.getEntries()) {
+            Class<?> type;
 
-    private void postConstruct(Object object) {
-        getMethodsAnnotatedWith(object.getClass(), PostConstruct.class)
-                .stream()
-                .sorted(Comparator.comparing(method -> method.getAnnotation(PostConstruct.class).priority()))
-                .forEach(method -> injectMethod(object, method));
-    }
+            try {
+                type = Class.forName(entry.getType(), false, classLoader);
+            } catch (ClassNotFoundException | LinkageError e) {
+                continue;
+            }
 
-    private List<Method> getMethodsAnnotatedWith(Class<?> type, Class<? extends Annotation> annotation) {
-        return getAllMethods(type)
-                .stream()
-                .filter(method -> method.isAnnotationPresent(annotation))
-                .collect(Collectors.toList());
+            Binding<?> binding = getBindingOrNull(type);
+
+            if (binding == null || binding.getType() != type || !(binding.getProvider() instanceof SingletonProvider<?>)) {
+                continue;
+            }
+
+            binding.getProvider().provide(new Context<>(type, this, this, ElementType.FIELD, "snapshot", new Annotation[0]));
+        }
     }
 
-    private void injectMethod(Object object, Method method) {
-        method.setAccessible(true);
+    private void scheduleSnapshot(@NotNull Path file, @NotNull Duration window) {
+        if (window.isZero() || window.isNegative()) {
+            saveSnapshot(file);
+            return;
+        }
+
+        Timer timer = new Timer("infuse-snapshot", true);
+        timer.schedule(new TimerTask() {
+            @Override
+            public void run() {
+                try {
+                    saveSnapshot(file);
+                } finally {
+                    timer.cancel();
+                }
+            }
+        }, window.toMillis());
+    }
 
+    /**
+     * Saves the snapshot, logging instead of throwing if it cannot be written, since the snapshot is only a cache.
+     */
+    private void saveSnapshot(@NotNull Path file) {
         try {
-            method.invoke(object);
+            writeSnapshot(file);
         } catch (Exception e) {
-            throw new RuntimeException(e);
+            LOGGER.log(Level.WARNING, "Failed to save startup snapshot to " + file, e);
         }
     }
 
+    private void writeSnapshot(@NotNull Path file) {
+        StartupRecorder recorder = this.recorder;
+
+        if (recorder == null) {
+            return;
+        }
+
+        this.recorder = null;
+        recorder.stop().write(file);
+    }
+
+    private @NotNull ClassLoader getSnapshotClassLoader() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+
+        return classLoader != null ? classLoader : getClass().getClassLoader();
+    }
+
     private static class ObjectWithMethod {
 
         private final Object object;
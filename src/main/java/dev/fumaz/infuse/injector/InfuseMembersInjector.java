@@ -0,0 +1,178 @@
+package dev.fumaz.infuse.injector;
+
+import dev.fumaz.infuse.annotation.Config;
+import dev.fumaz.infuse.annotation.Inject;
+import dev.fumaz.infuse.annotation.PostConstruct;
+import dev.fumaz.infuse.annotation.PostInject;
+import dev.fumaz.infuse.annotation.PreDestroy;
+import dev.fumaz.infuse.bind.TypeLiteral;
+import dev.fumaz.infuse.config.ConfigValue;
+import dev.fumaz.infuse.context.Context;
+import dev.fumaz.infuse.intercept.Intercepted;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.ElementType;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * The {@link MembersInjector} of an {@link InfuseInjector}, which also holds the lifecycle methods of its class.
+ * Fields and methods are looked up, made accessible and sorted once, when the members injector is created.
+ *
+ * @param <T> the type of the class
+ */
+class InfuseMembersInjector<T> implements MembersInjector<T> {
+
+    private final @NotNull InfuseInjector injector;
+    private final @NotNull Class<? super T> type;
+    private final @NotNull Field[] fields;
+    private final @NotNull Object[] fieldTypes;
+    private final @NotNull Annotation[][] fieldAnnotations;
+    private final boolean[] optionalFields;
+    private final @NotNull Method[] postConstructMethods;
+    private final @NotNull Method[] postInjectMethods;
+    private final @NotNull Method[] preDestroyMethods;
+
+    InfuseMembersInjector(@NotNull InfuseInjector injector, @NotNull Class<T> type) {
+        this.injector = injector;
+        this.type = Intercepted.class.isAssignableFrom(type) ? type.getSuperclass() : type;
+
+        List<Field> fields = new ArrayList<>();
+        List<Method> methods = new ArrayList<>();
+
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (field.isAnnotationPresent(Inject.class) || field.isAnnotationPresent(Config.class)) {
+                    field.setAccessible(true);
+                    fields.add(field);
+                }
+            }
+
+            for (Method method : current.getDeclaredMethods()) {
+                methods.add(method);
+            }
+        }
+
+        this.fields = fields.toArray(new Field[0]);
+        this.fieldTypes = new Object[this.fields.length];
+        this.fieldAnnotations = new Annotation[this.fields.length][];
+        this.optionalFields = new boolean[this.fields.length];
+
+        for (int i = 0; i < this.fields.length; i++) {
+            Type genericType = this.fields[i].getGenericType();
+            Config config = this.fields[i].getAnnotation(Config.class);
+
+            if (config != null) {
+                fieldTypes[i] = injector.getConfigValue(config, genericType);
+            } else {
+                fieldTypes[i] = genericType instanceof Class<?> ? genericType : TypeLiteral.get(genericType);
+            }
+
+            fieldAnnotations[i] = this.fields[i].getAnnotations();
+
+            Inject inject = this.fields[i].getAnnotation(Inject.class);
+            optionalFields[i] = inject != null && inject.optional();
+        }
+
+        this.postConstructMethods = getMethods(methods, PostConstruct.class, annotation -> ((PostConstruct) annotation).priority());
+        this.postInjectMethods = getMethods(methods, PostInject.class, annotation -> ((PostInject) annotation).priority());
+        this.preDestroyMethods = getMethods(methods, PreDestroy.class, annotation -> ((PreDestroy) annotation).priority());
+    }
+
+    @Override
+    public void injectMembers(@NotNull T instance) {
+        injectFields(instance);
+        postInject(instance);
+    }
+
+    void injectFields(@NotNull Object instance) {
+        for (int i = 0; i < fields.length; i++) {
+            Context<?> context = new Context<>(type, instance, injector, ElementType.FIELD, fields[i].getName(), fieldAnnotations[i]);
+            Object value;
+
+            if (fieldTypes[i] instanceof ConfigValue<?>) {
+                value = ((ConfigValue<?>) fieldTypes[i]).get();
+            } else if (fieldTypes[i] instanceof Class<?>) {
+                value = injector.provide((Class<?>) fieldTypes[i], context);
+            } else {
+                value = injector.provide((TypeLiteral<?>) fieldTypes[i], context);
+            }
+
+            // an absent optional dependency leaves the field as it was initialized
+            if (value == null && optionalFields[i]) {
+                continue;
+            }
+
+            try {
+                fields[i].set(instance, value);
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    void postConstruct(@NotNull Object instance) {
+        invoke(instance, postConstructMethods);
+    }
+
+    void postInject(@NotNull Object instance) {
+        invoke(instance, postInjectMethods);
+    }
+
+    void preDestroy(@NotNull Object instance) {
+        invoke(instance, preDestroyMethods);
+    }
+
+    /**
+     * @return the type of each injected field, either a {@link Class} or a {@link TypeLiteral}, or the {@link ConfigValue} of a configuration field
+     */
+    @NotNull Object[] getFieldTypes() {
+        return fieldTypes;
+    }
+
+    @NotNull Method[] getPostInjectMethods() {
+        return postInjectMethods;
+    }
+
+    @NotNull Method[] getPreDestroyMethods() {
+        return preDestroyMethods;
+    }
+
+    private void invoke(@NotNull Object instance, @NotNull Method[] methods) {
+        if (methods.length == 0) {
+            return;
+        }
+
+        long start = System.nanoTime();
+
+        try {
+            for (Method method : methods) {
+                try {
+                    method.invoke(instance);
+                } catch (InvocationTargetException e) {
+                    throw ResolutionException.wrap(e, "calling " + method.getName() + " of " + instance.getClass().getName());
+                } catch (IllegalAccessException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        } finally {
+            injector.getStatistics().recordLifecycle(System.nanoTime() - start);
+        }
+    }
+
+    private static @NotNull Method[] getMethods(@NotNull List<Method> methods, @NotNull Class<? extends Annotation> annotation, @NotNull ToIntFunction<Annotation> priority) {
+        return methods.stream()
+                .filter(method -> method.isAnnotationPresent(annotation))
+                .sorted(Comparator.comparingInt(method -> priority.applyAsInt(method.getAnnotation(annotation))))
+                .peek(method -> method.setAccessible(true))
+                .toArray(Method[]::new);
+    }
+
+}
@@ -1,6 +1,7 @@
 package dev.fumaz.infuse.injector;
 
 import dev.fumaz.infuse.bind.Binding;
+import dev.fumaz.infuse.bind.TypeLiteral;
 import dev.fumaz.infuse.context.Context;
 import dev.fumaz.infuse.module.Module;
 import dev.fumaz.infuse.provider.Provider;
@@ -8,7 +9,10 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * An {@link Injector} is responsible for injecting dependencies into objects and providing instances of classes.
@@ -23,16 +27,48 @@ public interface Injector {
         return create(Arrays.asList(modules));
     }
 
+    static @NotNull InjectorBuilder builder() {
+        return new InjectorBuilder();
+    }
+
     void inject(@NotNull Object object);
 
+    /**
+     * Returns a reusable {@link MembersInjector} for a class, with its injection points resolved once.
+     *
+     * @param type the class
+     * @return the members injector
+     */
+    <T> @NotNull MembersInjector<T> membersInjector(@NotNull Class<T> type);
+
+    /**
+     * Injects every object in a collection, resolving the injection points of each distinct class once.
+     *
+     * @param objects the objects
+     */
+    void injectAll(@NotNull Collection<?> objects);
+
+    /**
+     * Injects every object in a collection like {@link #injectAll(Collection)}, spreading the objects of each class
+     * over the given pool.
+     *
+     * @param objects the objects
+     * @param pool    the pool
+     */
+    void injectAll(@NotNull Collection<?> objects, @NotNull ForkJoinPool pool);
+
     <T> @Nullable T provide(@NotNull Class<T> type, @NotNull Context<?> context);
 
     <T> @Nullable T provide(@NotNull Class<T> type, @NotNull Object calling);
 
+    <T> @Nullable T provide(@NotNull TypeLiteral<T> type, @NotNull Context<?> context);
+
     <T> @Nullable T construct(@NotNull Class<T> type, @NotNull Object... args);
 
     <T> @Nullable Provider<T> getProvider(@NotNull Class<T> type);
 
+    <T> @Nullable Provider<T> getProvider(@NotNull TypeLiteral<T> type);
+
     @NotNull List<Module> getModules();
 
     @NotNull List<Binding<?>> getBindings();
@@ -43,6 +79,39 @@ public interface Injector {
 
     @NotNull Injector child(@NotNull List<Module> modules);
 
+    /**
+     * Configures and adds a module to this injector at runtime.
+     * Singletons depending on the types it binds are rebuilt, and its eager singletons are created.
+     * A module this injector already configured, such as one uninstalled earlier, keeps its bindings and is not configured again.
+     *
+     * @param module the module
+     */
+    void install(@NotNull Module module);
+
+    /**
+     * Removes a module previously given to or installed in this injector.
+     * Its singletons and the singletons depending on the types it bound are destroyed.
+     *
+     * @param module the module
+     */
+    void uninstall(@NotNull Module module);
+
+    /**
+     * Resolves ahead of time the constructors, injection points and bindings of every bound type
+     * and every type reachable from them, so the first requests do not pay for it.
+     *
+     * @param options what to construct during the warmup, and where to run it
+     */
+    void warmup(@NotNull WarmupOptions options);
+
+    default void warmup() {
+        warmup(new WarmupOptions());
+    }
+
+    default void warmup(@NotNull Executor executor) {
+        warmup(new WarmupOptions().executor(executor));
+    }
+
     void destroy();
 
     default @NotNull Injector child(@NotNull Module... modules) {
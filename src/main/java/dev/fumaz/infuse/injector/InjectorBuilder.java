@@ -0,0 +1,150 @@
+package dev.fumaz.infuse.injector;
+
+import dev.fumaz.infuse.concurrent.Threads;
+import dev.fumaz.infuse.module.Module;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * An {@link InjectorBuilder} is used to create an {@link Injector} with non-default options.
+ */
+public class InjectorBuilder {
+
+    private final @NotNull List<Module> modules = new ArrayList<>();
+    private @Nullable Injector parent;
+    private @Nullable Path snapshot;
+    private @NotNull Duration snapshotWindow = Duration.ZERO;
+    private @Nullable String mbean;
+    private @Nullable Executor lifecycleExecutor;
+    private @Nullable Executor configurationExecutor;
+
+    public @NotNull InjectorBuilder modules(@NotNull List<Module> modules) {
+        this.modules.addAll(modules);
+
+        return this;
+    }
+
+    public @NotNull InjectorBuilder modules(@NotNull Module... modules) {
+        return modules(Arrays.asList(modules));
+    }
+
+    public @NotNull InjectorBuilder parent(@Nullable Injector parent) {
+        this.parent = parent;
+
+        return this;
+    }
+
+    /**
+     * Enables startup snapshots stored in the given file.
+     * If the file holds a snapshot of the same modules, the recorded singletons are prebuilt in their recorded order
+     * and constructor discovery is skipped for every recorded type. Otherwise, a new snapshot is recorded.
+     *
+     * @param file   the snapshot file
+     * @param window how long after startup lazily created singletons are still recorded
+     * @return this builder
+     */
+    public @NotNull InjectorBuilder snapshot(@NotNull Path file, @NotNull Duration window) {
+        this.snapshot = file;
+        this.snapshotWindow = window;
+
+        return this;
+    }
+
+    public @NotNull InjectorBuilder snapshot(@NotNull Path file) {
+        return snapshot(file, Duration.ZERO);
+    }
+
+    /**
+     * Registers the {@link InjectorStatistics} of the injector as an MBean named
+     * {@code dev.fumaz.infuse:type=Injector,name=<name>} on the platform MBean server, until the injector is destroyed.
+     *
+     * @param name the name of the injector
+     * @return this builder
+     */
+    public @NotNull InjectorBuilder mbean(@NotNull String name) {
+        this.mbean = name;
+
+        return this;
+    }
+
+    /**
+     * Calls the {@link dev.fumaz.infuse.annotation.PostInject} methods run at startup and the
+     * {@link dev.fumaz.infuse.annotation.PreDestroy} methods run by {@link Injector#destroy()} concurrently on the executor
+     * when they share a priority. Priority levels still run in order, each one starting once the previous one is done,
+     * and every failure of a level is reported together. Child injectors use the same executor.
+     *
+     * @param executor the executor, or null to call the methods one at a time
+     * @return this builder
+     */
+    public @NotNull InjectorBuilder lifecycleExecutor(@Nullable Executor executor) {
+        this.lifecycleExecutor = executor;
+
+        return this;
+    }
+
+    /**
+     * Calls lifecycle methods of the same priority concurrently on a new executor, backed by virtual threads where available.
+     *
+     * @return this builder
+     * @see #lifecycleExecutor(Executor)
+     */
+    public @NotNull InjectorBuilder parallelLifecycle() {
+        return lifecycleExecutor(Threads.newExecutor("infuse-lifecycle"));
+    }
+
+    /**
+     * Configures the modules concurrently on the executor, each into its own bindings,
+     * which are then merged in the order the modules were given, exactly as if they had been configured one by one.
+     * Modules must therefore not depend on each other while configuring. Child injectors use the same executor.
+     *
+     * @param executor the executor, or null to configure the modules one at a time
+     * @return this builder
+     */
+    public @NotNull InjectorBuilder configurationExecutor(@Nullable Executor executor) {
+        this.configurationExecutor = executor;
+
+        return this;
+    }
+
+    /**
+     * Configures the modules concurrently on a new executor, backed by virtual threads where available.
+     *
+     * @return this builder
+     * @see #configurationExecutor(Executor)
+     */
+    public @NotNull InjectorBuilder parallelConfiguration() {
+        return configurationExecutor(Threads.newExecutor("infuse-configure"));
+    }
+
+    public @NotNull Injector build() {
+        return new InfuseInjector(parent, new ArrayList<>(modules), this);
+    }
+
+    @Nullable Path getSnapshot() {
+        return snapshot;
+    }
+
+    @NotNull Duration getSnapshotWindow() {
+        return snapshotWindow;
+    }
+
+    @Nullable String getMBean() {
+        return mbean;
+    }
+
+    @Nullable Executor getLifecycleExecutor() {
+        return lifecycleExecutor;
+    }
+
+    @Nullable Executor getConfigurationExecutor() {
+        return configurationExecutor;
+    }
+
+}
@@ -0,0 +1,152 @@
+package dev.fumaz.infuse.injector;
+
+import dev.fumaz.infuse.annotation.Inject;
+import dev.fumaz.infuse.bind.Binding;
+import dev.fumaz.infuse.provider.InstanceProvider;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * An {@link InjectorGraph} is a static view of a set of bindings and every type reachable from them
+ * through {@link Inject} fields and constructors, without constructing anything.
+ * <p>
+ * The graph of an injector also includes the just-in-time bindings it has created so far for unbound types.
+ */
+public class InjectorGraph {
+
+    private final @NotNull List<Binding<?>> bindings;
+    private final @NotNull List<Binding<?>> implicitBindings;
+    private final @NotNull Set<Class<?>> types;
+
+    private InjectorGraph(@NotNull Collection<Binding<?>> bindings, @NotNull Collection<Binding<?>> implicitBindings) {
+        this.bindings = Collections.unmodifiableList(new ArrayList<>(bindings));
+        this.implicitBindings = Collections.unmodifiableList(new ArrayList<>(implicitBindings));
+
+        List<Binding<?>> all = new ArrayList<>(this.bindings);
+        all.addAll(this.implicitBindings);
+
+        this.types = Collections.unmodifiableSet(collectTypes(all));
+    }
+
+    public static @NotNull InjectorGraph of(@NotNull Injector injector) {
+        if (injector instanceof InfuseInjector) {
+            return new InjectorGraph(injector.getBindings(), ((InfuseInjector) injector).getImplicitBindings());
+        }
+
+        return new InjectorGraph(injector.getBindings(), Collections.emptyList());
+    }
+
+    public static @NotNull InjectorGraph of(@NotNull Collection<Binding<?>> bindings) {
+        return new InjectorGraph(bindings, Collections.emptyList());
+    }
+
+    public @NotNull List<Binding<?>> getBindings() {
+        return bindings;
+    }
+
+    /**
+     * @return the just-in-time bindings of unbound concrete types, created the first time each type was provided
+     */
+    public @NotNull List<Binding<?>> getImplicitBindings() {
+        return implicitBindings;
+    }
+
+    /**
+     * @return every bound and reachable type, in discovery order
+     */
+    public @NotNull Set<Class<?>> getTypes() {
+        return types;
+    }
+
+    private static @NotNull Set<Class<?>> collectTypes(@NotNull List<Binding<?>> bindings) {
+        Set<Class<?>> types = new LinkedHashSet<>();
+        Deque<Type> queue = new ArrayDeque<>();
+
+        for (Binding<?> binding : bindings) {
+            queue.add(binding.getTypeLiteral().getType());
+
+            if (binding.getProvider() instanceof InstanceProvider<?>) {
+                Object instance = ((InstanceProvider<?>) binding.getProvider()).getInstance();
+
+                if (instance != null) {
+                    queue.add(instance.getClass());
+                }
+            }
+        }
+
+        while (!queue.isEmpty()) {
+            Type type = queue.poll();
+
+            if (type instanceof ParameterizedType) {
+                queue.add(((ParameterizedType) type).getRawType());
+                Collections.addAll(queue, ((ParameterizedType) type).getActualTypeArguments());
+                continue;
+            }
+
+            if (type instanceof GenericArrayType) {
+                queue.add(((GenericArrayType) type).getGenericComponentType());
+                continue;
+            }
+
+            if (type instanceof WildcardType) {
+                Collections.addAll(queue, ((WildcardType) type).getUpperBounds());
+                continue;
+            }
+
+            if (!(type instanceof Class<?>)) {
+                continue;
+            }
+
+            Class<?> clazz = (Class<?>) type;
+
+            if (clazz.isArray()) {
+                queue.add(clazz.getComponentType());
+                continue;
+            }
+
+            if (clazz.isPrimitive() || !types.add(clazz) || isPlatformType(clazz)) {
+                continue;
+            }
+
+            for (Class<?> current = clazz; current != null && current != Object.class; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    if (field.isAnnotationPresent(Inject.class)) {
+                        queue.add(field.getGenericType());
+                    }
+                }
+            }
+
+            for (Constructor<?> constructor : clazz.getDeclaredConstructors()) {
+                if (constructor.isAnnotationPresent(Inject.class)) {
+                    Collections.addAll(queue, constructor.getGenericParameterTypes());
+                }
+            }
+        }
+
+        return types;
+    }
+
+    /**
+     * @return whether the type belongs to the Java platform, and is therefore never constructed through reflection
+     */
+    public static boolean isPlatformType(@NotNull Class<?> type) {
+        String name = type.getName();
+
+        return name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("jdk.") || name.startsWith("sun.");
+    }
+
+}
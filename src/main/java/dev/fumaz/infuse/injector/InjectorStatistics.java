@@ -0,0 +1,151 @@
+package dev.fumaz.infuse.injector;
+
+import dev.fumaz.infuse.bind.Binding;
+import dev.fumaz.infuse.bind.TypeLiteral;
+import dev.fumaz.infuse.module.InfuseModule;
+import dev.fumaz.infuse.module.Module;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ * The {@link InjectorStatistics} of an {@link InfuseInjector} count its provisions, constructions and lifecycle calls.
+ * Counters are striped {@link LongAdder}s, so recording stays cheap under contention.
+ */
+public class InjectorStatistics implements InjectorStatisticsMXBean {
+
+    private final @NotNull InfuseInjector injector;
+    private final @NotNull Map<TypeLiteral<?>, BindingStatistics> bindings = new ConcurrentHashMap<>();
+    private final LongAdder constructions = new LongAdder();
+    private final LongAdder constructTime = new LongAdder();
+    private final LongAdder lifecycleTime = new LongAdder();
+
+    InjectorStatistics(@NotNull InfuseInjector injector) {
+        this.injector = injector;
+    }
+
+    public @NotNull BindingStatistics getBindingStatistics(@NotNull Binding<?> binding) {
+        BindingStatistics statistics = bindings.get(binding.getTypeLiteral());
+
+        if (statistics == null) {
+            statistics = bindings.computeIfAbsent(binding.getTypeLiteral(), type -> new BindingStatistics());
+        }
+
+        return statistics;
+    }
+
+    void recordProvision(@NotNull Binding<?> binding, boolean singleton, boolean hit) {
+        getBindingStatistics(binding).recordProvision(singleton, hit);
+    }
+
+    void recordConstruction(long nanos) {
+        constructions.increment();
+        constructTime.add(nanos);
+    }
+
+    void recordLifecycle(long nanos) {
+        lifecycleTime.add(nanos);
+    }
+
+    @Override
+    public int getBindingCount() {
+        return injector.getBindings().size();
+    }
+
+    @Override
+    public int getChildCount() {
+        return injector.getChildCount();
+    }
+
+    @Override
+    public long getProvisions() {
+        return sum(BindingStatistics::getProvisions);
+    }
+
+    @Override
+    public long getSingletonHits() {
+        return sum(BindingStatistics::getSingletonHits);
+    }
+
+    @Override
+    public long getSingletonConstructions() {
+        return sum(BindingStatistics::getSingletonConstructions);
+    }
+
+    @Override
+    public long getConstructions() {
+        return constructions.sum();
+    }
+
+    @Override
+    public long getConstructTimeNanos() {
+        return constructTime.sum();
+    }
+
+    @Override
+    public long getLifecycleTimeNanos() {
+        return lifecycleTime.sum();
+    }
+
+    /**
+     * @return the time the modules of the injector spent scanning packages with {@link InfuseModule#bindPackage(ClassLoader, String)}
+     */
+    @Override
+    public long getScanTimeNanos() {
+        long nanos = 0;
+
+        for (Module module : injector.getModules()) {
+            if (module instanceof InfuseModule) {
+                nanos += ((InfuseModule) module).getScanTime().toNanos();
+            }
+        }
+
+        return nanos;
+    }
+
+    @Override
+    public Map<String, Long> getProvisionsByBinding() {
+        return byBinding(BindingStatistics::getProvisions);
+    }
+
+    @Override
+    public Map<String, Long> getSingletonHitsByBinding() {
+        return byBinding(BindingStatistics::getSingletonHits);
+    }
+
+    @Override
+    public Map<String, Long> getSingletonConstructionsByBinding() {
+        return byBinding(BindingStatistics::getSingletonConstructions);
+    }
+
+    @Override
+    public void reset() {
+        bindings.values().forEach(BindingStatistics::reset);
+        constructions.reset();
+        constructTime.reset();
+        lifecycleTime.reset();
+    }
+
+    private long sum(@NotNull ToLongFunction<BindingStatistics> value) {
+        long sum = 0;
+
+        for (BindingStatistics statistics : bindings.values()) {
+            sum += value.applyAsLong(statistics);
+        }
+
+        return sum;
+    }
+
+    private @NotNull Map<String, Long> byBinding(@NotNull ToLongFunction<BindingStatistics> value) {
+        Map<String, Long> values = new TreeMap<>();
+
+        bindings.forEach((type, statistics) -> values.put(type.toString(), value.applyAsLong(statistics)));
+
+        return values;
+    }
+
+}
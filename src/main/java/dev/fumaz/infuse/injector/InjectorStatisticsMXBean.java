@@ -0,0 +1,37 @@
+package dev.fumaz.infuse.injector;
+
+import java.util.Map;
+
+/**
+ * The management interface of the {@link InjectorStatistics} of an {@link InfuseInjector}.
+ * Per-binding values are keyed by the bound type.
+ */
+public interface InjectorStatisticsMXBean {
+
+    int getBindingCount();
+
+    int getChildCount();
+
+    long getProvisions();
+
+    long getSingletonHits();
+
+    long getSingletonConstructions();
+
+    long getConstructions();
+
+    long getConstructTimeNanos();
+
+    long getLifecycleTimeNanos();
+
+    long getScanTimeNanos();
+
+    Map<String, Long> getProvisionsByBinding();
+
+    Map<String, Long> getSingletonHitsByBinding();
+
+    Map<String, Long> getSingletonConstructionsByBinding();
+
+    void reset();
+
+}
@@ -0,0 +1,16 @@
+package dev.fumaz.infuse.injector;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A {@link MembersInjector} injects the fields and calls the post-inject methods of instances of a single class,
+ * with the injection points of that class resolved once up front.
+ *
+ * @param <T> the type of the class
+ */
+@FunctionalInterface
+public interface MembersInjector<T> {
+
+    void injectMembers(@NotNull T instance);
+
+}
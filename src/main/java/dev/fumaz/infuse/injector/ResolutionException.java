@@ -0,0 +1,77 @@
+package dev.fumaz.infuse.injector;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A {@link ResolutionException} is thrown when an {@link Injector} fails to provide or construct an instance.
+ * <p>
+ * It is created once, where the failure happens. Every enclosing resolution then adds itself to its path
+ * instead of logging and wrapping it again, so a failure deep in a graph surfaces as a single exception
+ * describing each step which led to it.
+ */
+public class ResolutionException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final @NotNull List<String> path = new ArrayList<>();
+
+    public ResolutionException(@NotNull String message) {
+        super(message);
+    }
+
+    public ResolutionException(@NotNull String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    /**
+     * Adds an enclosing step to the path of a failure, turning it into a {@link ResolutionException} if it is not one yet.
+     *
+     * @param failure the failure, unwrapped if it was thrown through reflection
+     * @param step    what was being resolved, such as {@code "constructing com.example.Service"}
+     * @return the resolution exception to rethrow
+     */
+    static @NotNull ResolutionException wrap(@NotNull Throwable failure, @NotNull String step) {
+        if (failure instanceof InvocationTargetException && failure.getCause() != null) {
+            failure = failure.getCause();
+        }
+
+        ResolutionException exception = failure instanceof ResolutionException
+                ? (ResolutionException) failure
+                : new ResolutionException(failure.toString(), failure);
+
+        exception.path.add(step);
+
+        return exception;
+    }
+
+    /**
+     * @return the steps which led to the failure, from the innermost to the outermost
+     */
+    public @NotNull List<String> getPath() {
+        return Collections.unmodifiableList(path);
+    }
+
+    /**
+     * @return the cause of the failure, without its path
+     */
+    public @NotNull String getReason() {
+        return super.getMessage();
+    }
+
+    @Override
+    public String getMessage() {
+        StringBuilder message = new StringBuilder(getReason());
+
+        for (String step : path) {
+            message.append(System.lineSeparator()).append("  while ").append(step);
+        }
+
+        return message.toString();
+    }
+
+}
@@ -0,0 +1,82 @@
+package dev.fumaz.infuse.injector;
+
+import dev.fumaz.infuse.concurrent.Threads;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.Executor;
+
+/**
+ * The {@link WarmupOptions} control what {@link Injector#warmup(WarmupOptions)} does beyond resolving metadata.
+ * By default, nothing is constructed and the warmup runs on the calling thread.
+ */
+public class WarmupOptions {
+
+    private @Nullable Executor executor;
+    private boolean singletons;
+    private int constructions;
+
+    /**
+     * Spreads the warmup of each type over the executor. The warmup still returns once every type is warmed up.
+     *
+     * @param executor the executor
+     * @return these options
+     */
+    public @NotNull WarmupOptions executor(@Nullable Executor executor) {
+        this.executor = executor;
+
+        return this;
+    }
+
+    /**
+     * Spreads the warmup over a new executor, backed by virtual threads where available.
+     *
+     * @return these options
+     */
+    public @NotNull WarmupOptions parallel() {
+        return executor(Threads.newExecutor("infuse-warmup"));
+    }
+
+    /**
+     * Creates the lazy singletons up front, as if they had been requested.
+     *
+     * @param singletons whether to create the lazy singletons
+     * @return these options
+     */
+    public @NotNull WarmupOptions singletons(boolean singletons) {
+        this.singletons = singletons;
+
+        return this;
+    }
+
+    /**
+     * Constructs every reachable unbound type the given number of times, destroying the instances right away,
+     * so the construction path is compiled before the first real request.
+     * Singleton types are skipped, and a type failing to construct is logged and skipped.
+     *
+     * @param constructions the number of constructions per type
+     * @return these options
+     */
+    public @NotNull WarmupOptions constructions(int constructions) {
+        if (constructions < 0) {
+            throw new IllegalArgumentException("Constructions must not be negative");
+        }
+
+        this.constructions = constructions;
+
+        return this;
+    }
+
+    @Nullable Executor getExecutor() {
+        return executor;
+    }
+
+    boolean isSingletons() {
+        return singletons;
+    }
+
+    int getConstructions() {
+        return constructions;
+    }
+
+}
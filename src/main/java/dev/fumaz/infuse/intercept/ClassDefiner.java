@@ -0,0 +1,49 @@
+package dev.fumaz.infuse.intercept;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Defines the classes generated by the {@link SubclassGenerator} and the {@link FactoryGenerator}, each in its own class loader
+ * delegating to the loader of the class they extend or implement, so it can be unloaded along with its injector.
+ */
+final class ClassDefiner {
+
+    private ClassDefiner() {
+        throw new UnsupportedOperationException("This class cannot be instantiated");
+    }
+
+    static @NotNull Class<?> define(@NotNull Class<?> host, @NotNull String name, byte[] bytes) {
+        return new GeneratedClassLoader(host.getClassLoader()).define(name, bytes);
+    }
+
+    private static class GeneratedClassLoader extends ClassLoader {
+
+        private GeneratedClassLoader(@Nullable ClassLoader parent) {
+            super(parent);
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (name.equals(Dispatcher.class.getName())) {
+                return Dispatcher.class;
+            }
+
+            if (name.equals(Intercepted.class.getName())) {
+                return Intercepted.class;
+            }
+
+            if (name.equals(FactoryMethod.class.getName())) {
+                return FactoryMethod.class;
+            }
+
+            return super.loadClass(name, resolve);
+        }
+
+        private @NotNull Class<?> define(@NotNull String name, byte[] bytes) {
+            return defineClass(name, bytes, 0, bytes.length, ClassDefiner.class.getProtectionDomain());
+        }
+
+    }
+
+}
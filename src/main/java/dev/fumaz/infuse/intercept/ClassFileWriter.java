@@ -0,0 +1,463 @@
+package dev.fumaz.infuse.intercept;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A minimal class file writer for the straight-line code emitted by the {@link SubclassGenerator} and the {@link FactoryGenerator}.
+ * <p>
+ * Classes are written for Java 8 without stack map frames, which is valid as long as no method branches.
+ */
+class ClassFileWriter {
+
+    static final int ACC_PUBLIC = 0x0001;
+    static final int ACC_STATIC = 0x0008;
+    static final int ACC_SUPER = 0x0020;
+    static final int ACC_SYNTHETIC = 0x1000;
+
+    private final ByteArrayOutputStream constantBytes = new ByteArrayOutputStream();
+    private final DataOutputStream constants = new DataOutputStream(constantBytes);
+    private final Map<String, Integer> constantIndexes = new HashMap<>();
+    private final List<byte[]> fields = new ArrayList<>();
+    private final List<byte[]> methods = new ArrayList<>();
+    private int constantCount = 1;
+
+    private final int thisClass;
+    private final int superClass;
+    private final int[] interfaces;
+
+    ClassFileWriter(@NotNull String name, @NotNull String superName, @NotNull String... interfaceNames) {
+        this.thisClass = classConstant(name);
+        this.superClass = classConstant(superName);
+        this.interfaces = new int[interfaceNames.length];
+
+        for (int i = 0; i < interfaceNames.length; i++) {
+            interfaces[i] = classConstant(interfaceNames[i]);
+        }
+    }
+
+    static @NotNull String internalName(@NotNull Class<?> type) {
+        return type.getName().replace('.', '/');
+    }
+
+    static @NotNull String descriptor(@NotNull Class<?> type) {
+        if (type == void.class) {
+            return "V";
+        }
+
+        if (type.isPrimitive()) {
+            return String.valueOf(primitiveDescriptor(type));
+        }
+
+        if (type.isArray()) {
+            return internalName(type);
+        }
+
+        return "L" + internalName(type) + ";";
+    }
+
+    static @NotNull String descriptor(@NotNull Class<?> returnType, @NotNull Class<?>... parameterTypes) {
+        StringBuilder builder = new StringBuilder("(");
+
+        for (Class<?> parameterType : parameterTypes) {
+            builder.append(descriptor(parameterType));
+        }
+
+        return builder.append(')').append(descriptor(returnType)).toString();
+    }
+
+    private static char primitiveDescriptor(@NotNull Class<?> type) {
+        if (type == boolean.class) {
+            return 'Z';
+        }
+
+        if (type == byte.class) {
+            return 'B';
+        }
+
+        if (type == char.class) {
+            return 'C';
+        }
+
+        if (type == short.class) {
+            return 'S';
+        }
+
+        if (type == int.class) {
+            return 'I';
+        }
+
+        if (type == long.class) {
+            return 'J';
+        }
+
+        if (type == float.class) {
+            return 'F';
+        }
+
+        return 'D';
+    }
+
+    void field(int access, @NotNull String name, @NotNull String descriptor) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        write(() -> {
+            out.writeShort(access);
+            out.writeShort(utf8(name));
+            out.writeShort(utf8(descriptor));
+            out.writeShort(0);
+        });
+
+        fields.add(bytes.toByteArray());
+    }
+
+    @NotNull Code method(int access, @NotNull String name, @NotNull String descriptor) {
+        return new Code(access, name, descriptor);
+    }
+
+    byte[] toByteArray() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        write(() -> {
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(52);
+            out.writeShort(constantCount);
+            constantBytes.writeTo(out);
+            out.writeShort(ACC_PUBLIC | ACC_SUPER | ACC_SYNTHETIC);
+            out.writeShort(thisClass);
+            out.writeShort(superClass);
+            out.writeShort(interfaces.length);
+
+            for (int index : interfaces) {
+                out.writeShort(index);
+            }
+
+            out.writeShort(fields.size());
+
+            for (byte[] field : fields) {
+                out.write(field);
+            }
+
+            out.writeShort(methods.size());
+
+            for (byte[] method : methods) {
+                out.write(method);
+            }
+
+            out.writeShort(0);
+        });
+
+        return bytes.toByteArray();
+    }
+
+    private int utf8(@NotNull String value) {
+        return constant("U" + value, () -> {
+            constants.writeByte(1);
+            constants.writeUTF(value);
+        });
+    }
+
+    private int classConstant(@NotNull String internalName) {
+        int name = utf8(internalName);
+
+        return constant("C" + internalName, () -> {
+            constants.writeByte(7);
+            constants.writeShort(name);
+        });
+    }
+
+    private int integer(int value) {
+        return constant("I" + value, () -> {
+            constants.writeByte(3);
+            constants.writeInt(value);
+        });
+    }
+
+    private int nameAndType(@NotNull String name, @NotNull String descriptor) {
+        int nameIndex = utf8(name);
+        int descriptorIndex = utf8(descriptor);
+
+        return constant("N" + name + " " + descriptor, () -> {
+            constants.writeByte(12);
+            constants.writeShort(nameIndex);
+            constants.writeShort(descriptorIndex);
+        });
+    }
+
+    private int member(int tag, @NotNull String owner, @NotNull String name, @NotNull String descriptor) {
+        int ownerIndex = classConstant(owner);
+        int nameAndTypeIndex = nameAndType(name, descriptor);
+
+        return constant(tag + owner + "." + name + " " + descriptor, () -> {
+            constants.writeByte(tag);
+            constants.writeShort(ownerIndex);
+            constants.writeShort(nameAndTypeIndex);
+        });
+    }
+
+    private int constant(@NotNull String key, @NotNull IOAction action) {
+        Integer index = constantIndexes.get(key);
+
+        if (index != null) {
+            return index;
+        }
+
+        write(action);
+        constantIndexes.put(key, constantCount);
+
+        return constantCount++;
+    }
+
+    private static void write(@NotNull IOAction action) {
+        try {
+            action.run();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface IOAction {
+        void run() throws IOException;
+    }
+
+    /**
+     * The body of a method, tracking the operand stack so its maximum can be written.
+     */
+    class Code {
+
+        private final int access;
+        private final String name;
+        private final String descriptor;
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private int stack;
+        private int maxStack;
+        private int maxLocals;
+
+        private Code(int access, @NotNull String name, @NotNull String descriptor) {
+            this.access = access;
+            this.name = name;
+            this.descriptor = descriptor;
+        }
+
+        @NotNull Code loadThis() {
+            return op(0x2A, 1);
+        }
+
+        /**
+         * Loads a local variable of the given type.
+         *
+         * @return the local index following the variable
+         */
+        int load(@NotNull Class<?> type, int index) {
+            int size = size(type);
+            int opcode;
+
+            if (!type.isPrimitive()) {
+                opcode = 0x19;
+            } else if (type == long.class) {
+                opcode = 0x16;
+            } else if (type == float.class) {
+                opcode = 0x17;
+            } else if (type == double.class) {
+                opcode = 0x18;
+            } else {
+                opcode = 0x15;
+            }
+
+            if (index > 255) {
+                bytes.write(0xC4);
+                bytes.write(opcode);
+                u2(index);
+            } else {
+                bytes.write(opcode);
+                bytes.write(index);
+            }
+
+            push(size);
+            maxLocals = Math.max(maxLocals, index + size);
+
+            return index + size;
+        }
+
+        @NotNull Code pushInt(int value) {
+            if (value >= -1 && value <= 5) {
+                return op(0x03 + value, 1);
+            }
+
+            if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+                bytes.write(0x10);
+                bytes.write(value);
+            } else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+                bytes.write(0x11);
+                u2(value);
+            } else {
+                bytes.write(0x13);
+                u2(integer(value));
+            }
+
+            push(1);
+            return this;
+        }
+
+        @NotNull Code getStatic(@NotNull String owner, @NotNull String name, @NotNull String descriptor) {
+            bytes.write(0xB2);
+            u2(member(9, owner, name, descriptor));
+            push(1);
+
+            return this;
+        }
+
+        @NotNull Code getField(@NotNull String owner, @NotNull String name, @NotNull String descriptor) {
+            bytes.write(0xB4);
+            u2(member(9, owner, name, descriptor));
+
+            return this;
+        }
+
+        @NotNull Code putField(@NotNull String owner, @NotNull String name, @NotNull String descriptor) {
+            bytes.write(0xB5);
+            u2(member(9, owner, name, descriptor));
+            push(-2);
+
+            return this;
+        }
+
+        @NotNull Code invokeVirtual(@NotNull String owner, @NotNull String name, @NotNull Class<?> returnType, @NotNull Class<?>... parameterTypes) {
+            return invoke(0xB6, owner, name, 1, returnType, parameterTypes);
+        }
+
+        @NotNull Code invokeSpecial(@NotNull String owner, @NotNull String name, @NotNull Class<?> returnType, @NotNull Class<?>... parameterTypes) {
+            return invoke(0xB7, owner, name, 1, returnType, parameterTypes);
+        }
+
+        @NotNull Code invokeStatic(@NotNull String owner, @NotNull String name, @NotNull Class<?> returnType, @NotNull Class<?>... parameterTypes) {
+            return invoke(0xB8, owner, name, 0, returnType, parameterTypes);
+        }
+
+        private @NotNull Code invoke(int opcode, @NotNull String owner, @NotNull String name, int receiver, @NotNull Class<?> returnType, @NotNull Class<?>... parameterTypes) {
+            bytes.write(opcode);
+            u2(member(10, owner, name, descriptor(returnType, parameterTypes)));
+
+            int consumed = receiver;
+
+            for (Class<?> parameterType : parameterTypes) {
+                consumed += size(parameterType);
+            }
+
+            stack -= consumed;
+            push(returnType == void.class ? 0 : size(returnType));
+
+            return this;
+        }
+
+        @NotNull Code newObjectArray() {
+            bytes.write(0xBD);
+            u2(classConstant("java/lang/Object"));
+
+            return this;
+        }
+
+        @NotNull Code dup() {
+            return op(0x59, 1);
+        }
+
+        @NotNull Code pop() {
+            return op(0x57, -1);
+        }
+
+        @NotNull Code arrayLoad() {
+            return op(0x32, -1);
+        }
+
+        @NotNull Code arrayStore() {
+            return op(0x53, -3);
+        }
+
+        @NotNull Code checkCast(@NotNull Class<?> type) {
+            bytes.write(0xC0);
+            u2(classConstant(internalName(type)));
+
+            return this;
+        }
+
+        void returnValue(@NotNull Class<?> type) {
+            if (type == void.class) {
+                op(0xB1, 0);
+            } else if (!type.isPrimitive()) {
+                op(0xB0, -1);
+            } else if (type == long.class) {
+                op(0xAD, -2);
+            } else if (type == float.class) {
+                op(0xAE, -1);
+            } else if (type == double.class) {
+                op(0xAF, -2);
+            } else {
+                op(0xAC, -1);
+            }
+
+            ByteArrayOutputStream method = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(method);
+            byte[] code = bytes.toByteArray();
+
+            write(() -> {
+                out.writeShort(access);
+                out.writeShort(utf8(name));
+                out.writeShort(utf8(descriptor));
+                out.writeShort(1);
+                out.writeShort(utf8("Code"));
+                out.writeInt(12 + code.length);
+                out.writeShort(maxStack);
+                out.writeShort(maxLocals);
+                out.writeInt(code.length);
+                out.write(code);
+                out.writeShort(0);
+                out.writeShort(0);
+            });
+
+            methods.add(method.toByteArray());
+        }
+
+        /**
+         * Declares the locals taken by the receiver and parameters, even if some are never loaded.
+         */
+        @NotNull Code locals(int locals) {
+            maxLocals = Math.max(maxLocals, locals);
+            return this;
+        }
+
+        private @NotNull Code op(int opcode, int delta) {
+            bytes.write(opcode);
+            push(delta);
+
+            return this;
+        }
+
+        private void push(int delta) {
+            stack += delta;
+            maxStack = Math.max(maxStack, stack);
+        }
+
+        private void u2(int value) {
+            bytes.write((value >>> 8) & 0xFF);
+            bytes.write(value & 0xFF);
+        }
+
+    }
+
+    static int size(@NotNull Class<?> type) {
+        return type == long.class || type == double.class ? 2 : 1;
+    }
+
+}
@@ -0,0 +1,80 @@
+package dev.fumaz.infuse.intercept;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Method;
+
+/**
+ * A {@link Dispatcher} routes the overridden methods of a generated subclass through their interceptor chains.
+ * <p>
+ * It is only meant to be called by generated code.
+ */
+public final class Dispatcher {
+
+    private final @NotNull Chain[] chains;
+
+    Dispatcher(@NotNull Chain[] chains) {
+        this.chains = chains;
+    }
+
+    public Object invoke(@NotNull Object self, int index, @NotNull Object[] arguments) throws Throwable {
+        Chain chain = chains[index];
+
+        return new Invocation(chain, self, arguments).proceed();
+    }
+
+    static class Chain {
+
+        private final @NotNull Method method;
+        private final @NotNull MethodInterceptor[] interceptors;
+        private final @NotNull MethodHandle target;
+
+        Chain(@NotNull Method method, @NotNull MethodInterceptor[] interceptors, @NotNull MethodHandle target) {
+            this.method = method;
+            this.interceptors = interceptors;
+            this.target = target;
+        }
+
+    }
+
+    private static class Invocation implements MethodInvocation {
+
+        private final @NotNull Chain chain;
+        private final @NotNull Object self;
+        private final @NotNull Object[] arguments;
+        private int index;
+
+        private Invocation(@NotNull Chain chain, @NotNull Object self, @NotNull Object[] arguments) {
+            this.chain = chain;
+            this.self = self;
+            this.arguments = arguments;
+        }
+
+        @Override
+        public @NotNull Object getThis() {
+            return self;
+        }
+
+        @Override
+        public @NotNull Method getMethod() {
+            return chain.method;
+        }
+
+        @Override
+        public @NotNull Object[] getArguments() {
+            return arguments;
+        }
+
+        @Override
+        public Object proceed() throws Throwable {
+            if (index < chain.interceptors.length) {
+                return chain.interceptors[index++].intercept(this);
+            }
+
+            return chain.target.invokeExact(self, arguments);
+        }
+
+    }
+
+}
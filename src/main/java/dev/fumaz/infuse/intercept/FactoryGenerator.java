@@ -0,0 +1,102 @@
+package dev.fumaz.infuse.intercept;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The {@link FactoryGenerator} generates the implementations of factory interfaces.
+ * <p>
+ * Every factory method of the generated class allocates the arguments of its product's constructor, stores its own
+ * arguments where they belong and hands them to its {@link FactoryMethod}, without any reflective dispatch.
+ * Default methods are left to their own implementation, and {@code equals}, {@code hashCode} and {@code toString}
+ * are those of {@link Object}.
+ */
+public final class FactoryGenerator {
+
+    private static final String METHODS_FIELD = "infuse$methods";
+    private static final AtomicInteger COUNTER = new AtomicInteger();
+
+    private FactoryGenerator() {
+        throw new UnsupportedOperationException("This class cannot be instantiated");
+    }
+
+    /**
+     * Generates an implementation of a public factory interface, whose only constructor takes a {@code FactoryMethod[]}.
+     *
+     * @param factoryType the factory interface
+     * @param methods     the methods to implement, several of which may share a slot when they only differ by return type
+     * @param slots       the index of the {@link FactoryMethod} each method calls
+     * @param layouts     for every slot, the index of the method argument each constructor parameter receives, or -1 if it is injected
+     * @return the generated class
+     */
+    public static <F> @NotNull Class<? extends F> generate(@NotNull Class<F> factoryType, @NotNull List<Method> methods, int[] slots, int[][] layouts) {
+        String name = factoryType.getName() + "$$InfuseFactory$$" + COUNTER.incrementAndGet();
+
+        if (name.startsWith("java.")) {
+            name = "infuse." + name;
+        }
+
+        byte[] bytes = write(name, factoryType, methods, slots, layouts);
+
+        return ClassDefiner.define(factoryType, name, bytes).asSubclass(factoryType);
+    }
+
+    private static byte[] write(@NotNull String name, @NotNull Class<?> factoryType, @NotNull List<Method> methods, int[] slots, int[][] layouts) {
+        String internalName = name.replace('.', '/');
+        String methodName = ClassFileWriter.internalName(FactoryMethod.class);
+        String methodsDescriptor = ClassFileWriter.descriptor(FactoryMethod[].class);
+        ClassFileWriter writer = new ClassFileWriter(internalName, "java/lang/Object", ClassFileWriter.internalName(factoryType));
+
+        writer.field(ClassFileWriter.ACC_SYNTHETIC, METHODS_FIELD, methodsDescriptor);
+
+        ClassFileWriter.Code constructor = writer.method(ClassFileWriter.ACC_PUBLIC, "<init>", ClassFileWriter.descriptor(void.class, FactoryMethod[].class));
+        constructor.loadThis().invokeSpecial("java/lang/Object", "<init>", void.class);
+        constructor.loadThis().load(FactoryMethod[].class, 1);
+        constructor.putField(internalName, METHODS_FIELD, methodsDescriptor).returnValue(void.class);
+
+        for (int i = 0; i < methods.size(); i++) {
+            Method method = methods.get(i);
+            Class<?>[] parameterTypes = method.getParameterTypes();
+            int[] layout = layouts[slots[i]];
+            int[] locals = new int[parameterTypes.length];
+            int local = 1;
+
+            for (int j = 0; j < parameterTypes.length; j++) {
+                locals[j] = local;
+                local += ClassFileWriter.size(parameterTypes[j]);
+            }
+
+            ClassFileWriter.Code code = writer.method(ClassFileWriter.ACC_PUBLIC, method.getName(), ClassFileWriter.descriptor(method.getReturnType(), parameterTypes));
+
+            code.loadThis()
+                    .getField(internalName, METHODS_FIELD, methodsDescriptor)
+                    .pushInt(slots[i])
+                    .arrayLoad()
+                    .pushInt(layout.length)
+                    .newObjectArray();
+
+            for (int j = 0; j < layout.length; j++) {
+                if (layout[j] == -1) {
+                    continue;
+                }
+
+                Class<?> parameterType = parameterTypes[layout[j]];
+                code.dup().pushInt(j);
+                code.load(parameterType, locals[layout[j]]);
+                SubclassGenerator.box(code, parameterType);
+                code.arrayStore();
+            }
+
+            code.locals(local)
+                    .invokeVirtual(methodName, "construct", Object.class, Object[].class)
+                    .checkCast(method.getReturnType())
+                    .returnValue(method.getReturnType());
+        }
+
+        return writer.toByteArray();
+    }
+
+}
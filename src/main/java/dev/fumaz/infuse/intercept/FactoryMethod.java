@@ -0,0 +1,21 @@
+package dev.fumaz.infuse.intercept;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A {@link FactoryMethod} constructs the product of one method of a factory generated by the {@link FactoryGenerator}.
+ * <p>
+ * It is only meant to be called by generated code.
+ */
+public abstract class FactoryMethod {
+
+    /**
+     * Constructs the product from the arguments of its constructor, where the generated method has already
+     * filled in its own arguments and left the injected parameters null.
+     *
+     * @param arguments the arguments of the constructor
+     * @return the product
+     */
+    public abstract Object construct(@NotNull Object[] arguments);
+
+}
@@ -0,0 +1,7 @@
+package dev.fumaz.infuse.intercept;
+
+/**
+ * Marks a class generated by the injector to intercept the methods of its superclass.
+ */
+public interface Intercepted {
+}
@@ -0,0 +1,37 @@
+package dev.fumaz.infuse.intercept;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An {@link InterceptorBinding} binds interceptors to the methods selected by a pair of matchers.
+ */
+public class InterceptorBinding {
+
+    private final @NotNull Matcher<? super Class<?>> classMatcher;
+    private final @NotNull Matcher<? super Method> methodMatcher;
+    private final @NotNull List<MethodInterceptor> interceptors;
+
+    public InterceptorBinding(@NotNull Matcher<? super Class<?>> classMatcher, @NotNull Matcher<? super Method> methodMatcher, @NotNull MethodInterceptor... interceptors) {
+        this.classMatcher = classMatcher;
+        this.methodMatcher = methodMatcher;
+        this.interceptors = Collections.unmodifiableList(Arrays.asList(interceptors.clone()));
+    }
+
+    public @NotNull Matcher<? super Class<?>> getClassMatcher() {
+        return classMatcher;
+    }
+
+    public @NotNull Matcher<? super Method> getMethodMatcher() {
+        return methodMatcher;
+    }
+
+    public @NotNull List<MethodInterceptor> getInterceptors() {
+        return interceptors;
+    }
+
+}
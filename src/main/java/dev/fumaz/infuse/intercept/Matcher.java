@@ -0,0 +1,27 @@
+package dev.fumaz.infuse.intercept;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A {@link Matcher} selects the classes or methods an interceptor is bound to.
+ *
+ * @param <T> the type of the matched element
+ */
+@FunctionalInterface
+public interface Matcher<T> {
+
+    boolean matches(@NotNull T t);
+
+    default @NotNull Matcher<T> and(@NotNull Matcher<? super T> other) {
+        return t -> matches(t) && other.matches(t);
+    }
+
+    default @NotNull Matcher<T> or(@NotNull Matcher<? super T> other) {
+        return t -> matches(t) || other.matches(t);
+    }
+
+    default @NotNull Matcher<T> not() {
+        return t -> !matches(t);
+    }
+
+}
@@ -0,0 +1,42 @@
+package dev.fumaz.infuse.intercept;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Method;
+
+/**
+ * Common {@link Matcher}s.
+ */
+public final class Matchers {
+
+    private Matchers() {
+        throw new UnsupportedOperationException("This class cannot be instantiated");
+    }
+
+    public static <T> @NotNull Matcher<T> any() {
+        return t -> true;
+    }
+
+    public static <T extends AnnotatedElement> @NotNull Matcher<T> annotatedWith(@NotNull Class<? extends Annotation> annotation) {
+        return element -> element.isAnnotationPresent(annotation);
+    }
+
+    public static @NotNull Matcher<Class<?>> subclassesOf(@NotNull Class<?> type) {
+        return type::isAssignableFrom;
+    }
+
+    public static @NotNull Matcher<Class<?>> inPackage(@NotNull String name) {
+        return type -> type.getPackage() != null && type.getPackage().getName().equals(name);
+    }
+
+    public static @NotNull Matcher<Method> named(@NotNull String name) {
+        return method -> method.getName().equals(name);
+    }
+
+    public static @NotNull Matcher<Method> returns(@NotNull Class<?> type) {
+        return method -> type.isAssignableFrom(method.getReturnType());
+    }
+
+}
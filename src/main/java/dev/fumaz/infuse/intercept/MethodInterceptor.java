@@ -0,0 +1,14 @@
+package dev.fumaz.infuse.intercept;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A {@link MethodInterceptor} wraps calls to the methods it is bound to.
+ * It decides whether, and with which arguments, the call proceeds to the next interceptor and finally to the method.
+ */
+@FunctionalInterface
+public interface MethodInterceptor {
+
+    Object intercept(@NotNull MethodInvocation invocation) throws Throwable;
+
+}
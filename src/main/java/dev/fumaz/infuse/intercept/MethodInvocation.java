@@ -0,0 +1,28 @@
+package dev.fumaz.infuse.intercept;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Method;
+
+/**
+ * A {@link MethodInvocation} is an intercepted method call.
+ */
+public interface MethodInvocation {
+
+    @NotNull Object getThis();
+
+    @NotNull Method getMethod();
+
+    /**
+     * @return the arguments of the call, which can be modified before proceeding
+     */
+    @NotNull Object[] getArguments();
+
+    /**
+     * Proceeds to the next interceptor, or to the intercepted method if this is the last interceptor.
+     *
+     * @return the result of the call
+     */
+    Object proceed() throws Throwable;
+
+}
@@ -0,0 +1,274 @@
+package dev.fumaz.infuse.intercept;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The {@link SubclassGenerator} generates subclasses that route matched methods through their interceptors.
+ * <p>
+ * Only the matched methods are overridden, so every other call goes straight to the original implementation.
+ * Each matched method gets a {@code super} bridge which the last interceptor proceeds to.
+ */
+public final class SubclassGenerator {
+
+    private static final String DISPATCHER_FIELD = "infuse$dispatcher";
+    private static final String BRIDGE_PREFIX = "infuse$super$";
+    private static final AtomicInteger COUNTER = new AtomicInteger();
+
+    private SubclassGenerator() {
+        throw new UnsupportedOperationException("This class cannot be instantiated");
+    }
+
+    /**
+     * Generates a subclass of the type intercepting the methods matched by the bindings.
+     * Its constructors mirror the public and protected constructors of the type.
+     *
+     * @return the generated subclass, or null if no method is intercepted or the type cannot be subclassed
+     */
+    public static <T> @Nullable Class<? extends T> generate(@NotNull Class<T> type, @NotNull List<InterceptorBinding> bindings) {
+        if (!isSubclassable(type)) {
+            return null;
+        }
+
+        List<InterceptorBinding> matched = new ArrayList<>();
+
+        for (InterceptorBinding binding : bindings) {
+            if (binding.getClassMatcher().matches(type)) {
+                matched.add(binding);
+            }
+        }
+
+        if (matched.isEmpty()) {
+            return null;
+        }
+
+        List<Method> methods = new ArrayList<>();
+        List<MethodInterceptor[]> interceptors = new ArrayList<>();
+
+        for (Method method : getOverridableMethods(type)) {
+            List<MethodInterceptor> chain = new ArrayList<>();
+
+            for (InterceptorBinding binding : matched) {
+                if (binding.getMethodMatcher().matches(method)) {
+                    chain.addAll(binding.getInterceptors());
+                }
+            }
+
+            if (!chain.isEmpty()) {
+                methods.add(method);
+                interceptors.add(chain.toArray(new MethodInterceptor[0]));
+            }
+        }
+
+        List<Constructor<?>> constructors = new ArrayList<>();
+
+        for (Constructor<?> constructor : type.getDeclaredConstructors()) {
+            if (isInheritable(constructor.getModifiers()) && !constructor.isSynthetic()) {
+                constructors.add(constructor);
+            }
+        }
+
+        if (methods.isEmpty() || constructors.isEmpty()) {
+            return null;
+        }
+
+        String name = type.getName() + "$$Infuse$$" + COUNTER.incrementAndGet();
+
+        if (name.startsWith("java.")) {
+            name = "infuse." + name;
+        }
+
+        byte[] bytes = write(name, type, constructors, methods);
+        Class<? extends T> generated = ClassDefiner.define(type, name, bytes).asSubclass(type);
+
+        try {
+            Dispatcher.Chain[] chains = new Dispatcher.Chain[methods.size()];
+
+            for (int i = 0; i < chains.length; i++) {
+                Method method = methods.get(i);
+                Method bridge = generated.getMethod(BRIDGE_PREFIX + i, method.getParameterTypes());
+                int parameters = method.getParameterCount();
+                MethodHandle target = MethodHandles.lookup().unreflect(bridge)
+                        .asType(MethodType.genericMethodType(parameters + 1))
+                        .asSpreader(Object[].class, parameters);
+
+                chains[i] = new Dispatcher.Chain(method, interceptors.get(i), target);
+            }
+
+            generated.getField(DISPATCHER_FIELD).set(null, new Dispatcher(chains));
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException("Failed to generate an intercepted subclass of " + type.getName(), e);
+        }
+
+        return generated;
+    }
+
+    private static boolean isSubclassable(@NotNull Class<?> type) {
+        int modifiers = type.getModifiers();
+
+        return Modifier.isPublic(modifiers) && !Modifier.isFinal(modifiers) && !Modifier.isAbstract(modifiers)
+                && !type.isInterface() && !type.isArray() && !type.isPrimitive() && !type.isEnum()
+                && !Intercepted.class.isAssignableFrom(type);
+    }
+
+    private static boolean isInheritable(int modifiers) {
+        return Modifier.isPublic(modifiers) || Modifier.isProtected(modifiers);
+    }
+
+    private static boolean isAccessible(@NotNull Class<?> type) {
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+
+        return type.isPrimitive() || Modifier.isPublic(type.getModifiers());
+    }
+
+    /**
+     * @return whether the return and parameter types of the method are accessible from a subclass in another package
+     */
+    private static boolean isAccessible(@NotNull Method method) {
+        if (!isAccessible(method.getReturnType())) {
+            return false;
+        }
+
+        for (Class<?> parameter : method.getParameterTypes()) {
+            if (!isAccessible(parameter)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Collects the most specific declaration of every method a subclass in another package can override.
+     */
+    private static @NotNull List<Method> getOverridableMethods(@NotNull Class<?> type) {
+        List<Method> methods = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+
+        for (Class<?> current = type; current != Object.class && current != null; current = current.getSuperclass()) {
+            for (Method method : current.getDeclaredMethods()) {
+                if (method.isBridge() || method.isSynthetic() || Modifier.isStatic(method.getModifiers())) {
+                    continue;
+                }
+
+                if (!seen.add(method.getName() + Arrays.toString(method.getParameterTypes()))) {
+                    continue;
+                }
+
+                int modifiers = method.getModifiers();
+
+                if (!isInheritable(modifiers) || Modifier.isFinal(modifiers) || Modifier.isAbstract(modifiers)) {
+                    continue;
+                }
+
+                if (!isAccessible(method)) {
+                    continue;
+                }
+
+                methods.add(method);
+            }
+        }
+
+        return methods;
+    }
+
+    private static byte[] write(@NotNull String name, @NotNull Class<?> type, @NotNull List<Constructor<?>> constructors, @NotNull List<Method> methods) {
+        String internalName = name.replace('.', '/');
+        String superName = ClassFileWriter.internalName(type);
+        String dispatcherName = ClassFileWriter.internalName(Dispatcher.class);
+        ClassFileWriter writer = new ClassFileWriter(internalName, superName, ClassFileWriter.internalName(Intercepted.class));
+
+        writer.field(ClassFileWriter.ACC_PUBLIC | ClassFileWriter.ACC_STATIC | ClassFileWriter.ACC_SYNTHETIC, DISPATCHER_FIELD, ClassFileWriter.descriptor(Dispatcher.class));
+
+        for (Constructor<?> constructor : constructors) {
+            Class<?>[] parameterTypes = constructor.getParameterTypes();
+            ClassFileWriter.Code code = writer.method(ClassFileWriter.ACC_PUBLIC, "<init>", ClassFileWriter.descriptor(void.class, parameterTypes));
+
+            loadArguments(code.loadThis(), parameterTypes);
+            code.invokeSpecial(superName, "<init>", void.class, parameterTypes).returnValue(void.class);
+        }
+
+        for (int i = 0; i < methods.size(); i++) {
+            Method method = methods.get(i);
+            Class<?>[] parameterTypes = method.getParameterTypes();
+            Class<?> returnType = method.getReturnType();
+            String descriptor = ClassFileWriter.descriptor(returnType, parameterTypes);
+
+            ClassFileWriter.Code bridge = writer.method(ClassFileWriter.ACC_PUBLIC | ClassFileWriter.ACC_SYNTHETIC, BRIDGE_PREFIX + i, descriptor);
+            loadArguments(bridge.loadThis(), parameterTypes);
+            bridge.invokeSpecial(superName, method.getName(), returnType, parameterTypes).returnValue(returnType);
+
+            int access = method.getModifiers() & (Modifier.PUBLIC | Modifier.PROTECTED | 0x0080);
+            ClassFileWriter.Code code = writer.method(access, method.getName(), descriptor);
+
+            code.getStatic(internalName, DISPATCHER_FIELD, ClassFileWriter.descriptor(Dispatcher.class))
+                    .loadThis()
+                    .pushInt(i)
+                    .pushInt(parameterTypes.length)
+                    .newObjectArray();
+
+            int local = 1;
+
+            for (int j = 0; j < parameterTypes.length; j++) {
+                code.dup().pushInt(j);
+                local = code.load(parameterTypes[j], local);
+                box(code, parameterTypes[j]);
+                code.arrayStore();
+            }
+
+            code.locals(local).invokeVirtual(dispatcherName, "invoke", Object.class, Object.class, int.class, Object[].class);
+            unbox(code, returnType);
+            code.returnValue(returnType);
+        }
+
+        return writer.toByteArray();
+    }
+
+    private static void loadArguments(@NotNull ClassFileWriter.Code code, @NotNull Class<?>[] parameterTypes) {
+        int local = 1;
+
+        for (Class<?> parameterType : parameterTypes) {
+            local = code.load(parameterType, local);
+        }
+
+        code.locals(local);
+    }
+
+    static void box(@NotNull ClassFileWriter.Code code, @NotNull Class<?> type) {
+        if (type.isPrimitive()) {
+            Class<?> wrapper = wrap(type);
+            code.invokeStatic(ClassFileWriter.internalName(wrapper), "valueOf", wrapper, type);
+        }
+    }
+
+    private static void unbox(@NotNull ClassFileWriter.Code code, @NotNull Class<?> type) {
+        if (type == void.class) {
+            code.pop();
+        } else if (type.isPrimitive()) {
+            Class<?> wrapper = wrap(type);
+            code.checkCast(wrapper).invokeVirtual(ClassFileWriter.internalName(wrapper), type.getName() + "Value", type);
+        } else if (type != Object.class) {
+            code.checkCast(type);
+        }
+    }
+
+    private static @NotNull Class<?> wrap(@NotNull Class<?> type) {
+        return MethodType.methodType(type).wrap().returnType();
+    }
+
+}
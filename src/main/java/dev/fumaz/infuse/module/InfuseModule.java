@@ -1,39 +1,108 @@
 package dev.fumaz.infuse.module;
 
-import dev.fumaz.infuse.annotation.Singleton;
 import dev.fumaz.infuse.bind.Binding;
 import dev.fumaz.infuse.bind.BindingBuilder;
+import dev.fumaz.infuse.bind.TypeLiteral;
+import dev.fumaz.infuse.config.ConfigSource;
+import dev.fumaz.infuse.config.Configuration;
+import dev.fumaz.infuse.intercept.InterceptorBinding;
+import dev.fumaz.infuse.intercept.Matcher;
+import dev.fumaz.infuse.intercept.Matchers;
+import dev.fumaz.infuse.intercept.MethodInterceptor;
 import dev.fumaz.infuse.reflection.Reflections;
 import org.jetbrains.annotations.NotNull;
 
+import java.lang.reflect.Method;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 public abstract class InfuseModule implements Module {
 
     private final List<Binding<?>> bindings = new ArrayList<>();
+    private final List<String> packages = new ArrayList<>();
+    private final List<InterceptorBinding> interceptors = new ArrayList<>();
+    private final List<ScanHandler> scanHandlers = new ArrayList<>(Arrays.asList(ScanHandlers.singletons(), ScanHandlers.implementations(), ScanHandlers.contributions()));
+    private long scanTime;
 
     @Override
     public @NotNull List<Binding<?>> getBindings() {
         return bindings;
     }
 
+    @Override
+    public @NotNull List<InterceptorBinding> getInterceptors() {
+        return interceptors;
+    }
+
+    /**
+     * @return the packages scanned by {@link #bindPackage(ClassLoader, String)}
+     */
+    public @NotNull List<String> getPackages() {
+        return packages;
+    }
+
+    /**
+     * @return the total time spent scanning packages in {@link #bindPackage(ClassLoader, String)}
+     */
+    public @NotNull Duration getScanTime() {
+        return Duration.ofNanos(scanTime);
+    }
+
     public <T> @NotNull BindingBuilder<T> bind(Class<T> type) {
         return new BindingBuilder<>(type, bindings);
     }
 
+    public <T> @NotNull BindingBuilder<T> bind(TypeLiteral<T> type) {
+        return new BindingBuilder<>(type, bindings);
+    }
+
+    /**
+     * Binds the {@link Configuration} injected into {@link dev.fumaz.infuse.annotation.Config} fields and parameters.
+     */
+    public void bindConfiguration(ConfigSource source) {
+        bind(Configuration.class).toInstance(new Configuration(source));
+    }
+
+    /**
+     * Binds interceptors to the matched methods of every class constructed by the injector.
+     */
+    public void bindMethodInterceptor(Matcher<? super Method> methodMatcher, MethodInterceptor... interceptors) {
+        bindInterceptor(Matchers.any(), methodMatcher, interceptors);
+    }
+
+    /**
+     * Binds interceptors to the matched methods of the matched classes constructed by the injector.
+     * Interceptors run in the order they are bound.
+     */
+    public void bindInterceptor(Matcher<? super Class<?>> classMatcher, Matcher<? super Method> methodMatcher, MethodInterceptor... interceptors) {
+        this.interceptors.add(new InterceptorBinding(classMatcher, methodMatcher, interceptors));
+    }
+
+    /**
+     * Adds a handler given every class discovered by {@link #bindPackage(ClassLoader, String)},
+     * after the built-in {@link ScanHandlers}.
+     */
+    public void addScanHandler(ScanHandler handler) {
+        scanHandlers.add(handler);
+    }
+
+    /**
+     * Scans a package and its subpackages once, giving every class to each {@link ScanHandler} in order.
+     */
     public void bindPackage(ClassLoader classLoader, String name) {
+        packages.add(name);
+        long start = System.nanoTime();
+
         Reflections.consume(classLoader, name, true, type -> {
-            if (type.isAnnotationPresent(Singleton.class)) {
-                if (type.getAnnotation(Singleton.class).lazy()) {
-                    bind(type).toSingleton();
-                } else {
-                    bind(type).toEagerSingleton();
-                }
+            for (ScanHandler handler : scanHandlers) {
+                handler.handle(this, type);
             }
         });
 
-        // TODO: Add more annotations
+        scanHandlers.forEach(handler -> handler.complete(this));
+        scanTime += System.nanoTime() - start;
     }
 
 }
@@ -1,8 +1,10 @@
 package dev.fumaz.infuse.module;
 
 import dev.fumaz.infuse.bind.Binding;
+import dev.fumaz.infuse.intercept.InterceptorBinding;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -14,4 +16,8 @@ public interface Module {
 
     @NotNull List<Binding<?>> getBindings();
 
+    default @NotNull List<InterceptorBinding> getInterceptors() {
+        return Collections.emptyList();
+    }
+
 }
@@ -0,0 +1,20 @@
+package dev.fumaz.infuse.module;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A {@link ScanHandler} is given every class discovered by {@link InfuseModule#bindPackage(ClassLoader, String)},
+ * so any number of annotations can be handled in a single scan.
+ */
+@FunctionalInterface
+public interface ScanHandler {
+
+    void handle(@NotNull InfuseModule module, @NotNull Class<?> type);
+
+    /**
+     * Called once every class of the package has been handled.
+     */
+    default void complete(@NotNull InfuseModule module) {
+    }
+
+}
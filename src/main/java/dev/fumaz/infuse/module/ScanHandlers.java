@@ -0,0 +1,136 @@
+package dev.fumaz.infuse.module;
+
+import dev.fumaz.infuse.annotation.Contributes;
+import dev.fumaz.infuse.annotation.Implements;
+import dev.fumaz.infuse.annotation.Singleton;
+import dev.fumaz.infuse.bind.Binding;
+import dev.fumaz.infuse.bind.Types;
+import dev.fumaz.infuse.provider.Provider;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The built-in {@link ScanHandler}s of {@link InfuseModule#bindPackage(ClassLoader, String)}.
+ */
+public final class ScanHandlers {
+
+    private ScanHandlers() {
+        throw new UnsupportedOperationException("This class cannot be instantiated");
+    }
+
+    /**
+     * Binds {@link Singleton} classes as lazy or eager singletons.
+     */
+    public static @NotNull ScanHandler singletons() {
+        return (module, type) -> {
+            Singleton singleton = type.getAnnotation(Singleton.class);
+
+            if (singleton == null) {
+                return;
+            }
+
+            if (singleton.lazy()) {
+                module.bind(type).toSingleton();
+            } else {
+                module.bind(type).toEagerSingleton();
+            }
+        };
+    }
+
+    /**
+     * Binds the types listed by {@link Implements} to the annotated class,
+     * sharing its provider if the class was already bound, for instance as a {@link Singleton}.
+     */
+    @SuppressWarnings("unchecked")
+    public static @NotNull ScanHandler implementations() {
+        return (module, type) -> {
+            Implements implementation = type.getAnnotation(Implements.class);
+
+            if (implementation == null) {
+                return;
+            }
+
+            Provider<?> provider = getProvider(module, type);
+
+            for (Class<?> contract : implementation.value()) {
+                if (!contract.isAssignableFrom(type)) {
+                    throw new IllegalArgumentException(type.getName() + " does not implement " + contract.getName());
+                }
+
+                module.bind((Class<Object>) contract).toProvider((Provider<Object>) provider);
+            }
+        };
+    }
+
+    /**
+     * Collects the classes annotated with {@link Contributes} and binds a {@code Set} of each contributed type
+     * to the instances of its classes, each provided like a regular dependency.
+     */
+    public static @NotNull ScanHandler contributions() {
+        return new ContributionHandler();
+    }
+
+    private static @NotNull Provider<?> getProvider(@NotNull InfuseModule module, @NotNull Class<?> type) {
+        List<Binding<?>> bindings = module.getBindings();
+
+        for (int i = bindings.size() - 1; i >= 0; i--) {
+            if (bindings.get(i).getType() == type && !bindings.get(i).isGeneric()) {
+                return bindings.get(i).getProvider();
+            }
+        }
+
+        return context -> context.getInjector().construct(type);
+    }
+
+    private static class ContributionHandler implements ScanHandler {
+
+        private final @NotNull Map<Class<?>, Set<Class<?>>> contributions = new LinkedHashMap<>();
+
+        @Override
+        public void handle(@NotNull InfuseModule module, @NotNull Class<?> type) {
+            Contributes contributes = type.getAnnotation(Contributes.class);
+
+            if (contributes == null) {
+                return;
+            }
+
+            for (Class<?> contract : contributes.value()) {
+                if (!contract.isAssignableFrom(type)) {
+                    throw new IllegalArgumentException(type.getName() + " does not implement " + contract.getName());
+                }
+
+                contributions.computeIfAbsent(contract, key -> new LinkedHashSet<>()).add(type);
+            }
+        }
+
+        /**
+         * Binds every contributed set, including the contributions of previous scans of the module,
+         * which replaces the sets bound by those scans.
+         */
+        @Override
+        public void complete(@NotNull InfuseModule module) {
+            contributions.forEach((contract, types) -> bind(module, contract, new ArrayList<>(types)));
+        }
+
+        private static <T> void bind(@NotNull InfuseModule module, @NotNull Class<T> contract, @NotNull List<Class<?>> types) {
+            module.bind(Types.setOf(contract)).toProvider(context -> {
+                Set<T> instances = new LinkedHashSet<>();
+
+                for (Class<?> type : types) {
+                    instances.add(contract.cast(context.getInjector().provide(type, context)));
+                }
+
+                return Collections.unmodifiableSet(instances);
+            });
+        }
+
+    }
+
+}
@@ -0,0 +1,310 @@
+package dev.fumaz.infuse.nativeimage;
+
+import dev.fumaz.infuse.annotation.Assisted;
+import dev.fumaz.infuse.annotation.Config;
+import dev.fumaz.infuse.annotation.Contributes;
+import dev.fumaz.infuse.annotation.Implements;
+import dev.fumaz.infuse.annotation.Inject;
+import dev.fumaz.infuse.annotation.PostConstruct;
+import dev.fumaz.infuse.annotation.PostInject;
+import dev.fumaz.infuse.annotation.PreDestroy;
+import dev.fumaz.infuse.annotation.Reset;
+import dev.fumaz.infuse.annotation.Singleton;
+import dev.fumaz.infuse.bind.Binding;
+import dev.fumaz.infuse.injector.BindingStatistics;
+import dev.fumaz.infuse.injector.InfuseInjector;
+import dev.fumaz.infuse.injector.Injector;
+import dev.fumaz.infuse.injector.InjectorGraph;
+import dev.fumaz.infuse.injector.InjectorStatistics;
+import dev.fumaz.infuse.injector.InjectorStatisticsMXBean;
+import dev.fumaz.infuse.module.InfuseModule;
+import dev.fumaz.infuse.module.Module;
+import dev.fumaz.infuse.reflection.ClassCandidate;
+import dev.fumaz.infuse.reflection.ClassIndex;
+import dev.fumaz.infuse.reflection.Reflections;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * A {@link NativeImageConfigGenerator} generates the GraalVM native-image configuration that Infuse needs
+ * for a set of modules: the reflection metadata of every bound and reachable type, the resources of every
+ * scanned package and the resource bundles used by injected loggers.
+ * <p>
+ * A native image cannot list the classes of a package, so the generator also writes a {@link ClassIndex} of every
+ * package scanned by {@link InfuseModule#bindPackage(ClassLoader, String)}, which the scan reads instead,
+ * and registers the indexed classes for reflection. Method interceptors and factory bindings define classes at runtime,
+ * which a native image does not support.
+ * <p>
+ * The configuration is plain JSON, and generating it does not require GraalVM.
+ */
+public class NativeImageConfigGenerator {
+
+    private static final String LOGGING_BUNDLE = "sun.util.logging.resources.logging";
+    /**
+     * The types Infuse itself reads reflectively: the annotations it looks up, the injector it injects
+     * and destroys as a binding, and the statistics it exposes through JMX.
+     */
+    private static final List<Class<?>> INTERNAL_TYPES = Collections.unmodifiableList(Arrays.asList(
+            Assisted.class, Config.class, Contributes.class, Implements.class, Inject.class,
+            PostConstruct.class, PostInject.class, PreDestroy.class, Reset.class, Singleton.class,
+            InfuseInjector.class, InjectorStatistics.class, InjectorStatisticsMXBean.class, BindingStatistics.class
+    ));
+
+    private final @NotNull InjectorGraph graph;
+    private final @NotNull Map<String, Set<String>> packages;
+
+    private NativeImageConfigGenerator(@NotNull InjectorGraph graph, @NotNull Map<String, Set<String>> packages) {
+        this.graph = graph;
+        this.packages = packages;
+    }
+
+    /**
+     * Creates a generator from an existing injector.
+     *
+     * @param injector the injector
+     * @return the generator
+     */
+    public static @NotNull NativeImageConfigGenerator of(@NotNull Injector injector) {
+        return new NativeImageConfigGenerator(InjectorGraph.of(injector), getPackages(injector.getModules()));
+    }
+
+    /**
+     * Creates a generator from a set of modules, configuring them but without constructing any singleton.
+     *
+     * @param modules the modules
+     * @return the generator
+     */
+    public static @NotNull NativeImageConfigGenerator of(@NotNull List<Module> modules) {
+        List<Binding<?>> bindings = new ArrayList<>();
+
+        for (Module module : modules) {
+            module.configure();
+            bindings.addAll(module.getBindings());
+        }
+
+        return new NativeImageConfigGenerator(InjectorGraph.of(bindings), getPackages(modules));
+    }
+
+    /**
+     * @return the contents of {@code reflect-config.json}
+     */
+    public @NotNull String generateReflectConfig() {
+        Set<String> types = new TreeSet<>();
+
+        for (Class<?> type : graph.getTypes()) {
+            if (!InjectorGraph.isPlatformType(type)) {
+                types.add(type.getName());
+            }
+        }
+
+        for (Class<?> type : INTERNAL_TYPES) {
+            types.add(type.getName());
+        }
+
+        packages.values().forEach(types::addAll);
+
+        StringBuilder json = new StringBuilder("[");
+        boolean first = true;
+
+        for (String type : types) {
+            json.append(first ? "\n" : ",\n");
+            json.append("  {\n");
+            json.append("    \"name\": ").append(quote(type)).append(",\n");
+            json.append("    \"allDeclaredConstructors\": true,\n");
+            json.append("    \"allDeclaredFields\": true,\n");
+            json.append("    \"allDeclaredMethods\": true,\n");
+            json.append("    \"allPublicMethods\": true\n");
+            json.append("  }");
+
+            first = false;
+        }
+
+        return json.append(first ? "]\n" : "\n]\n").toString();
+    }
+
+    /**
+     * @return the contents of {@code resource-config.json}
+     */
+    public @NotNull String generateResourceConfig() {
+        List<String> patterns = new ArrayList<>();
+
+        if (!packages.isEmpty()) {
+            patterns.add(Pattern.quote(ClassIndex.LOCATION) + ".*");
+        }
+
+        for (String pkg : packages.keySet()) {
+            patterns.add(Pattern.quote(pkg.replace('.', '/')) + ".*");
+        }
+
+        StringBuilder json = new StringBuilder("{\n  \"resources\": {\n    \"includes\": [");
+        boolean first = true;
+
+        for (String pattern : patterns) {
+            json.append(first ? "\n" : ",\n");
+            json.append("      {\n");
+            json.append("        \"pattern\": ").append(quote(pattern)).append("\n");
+            json.append("      }");
+
+            first = false;
+        }
+
+        return json.append(first ? "]\n" : "\n    ]\n").append("  }\n}\n").toString();
+    }
+
+    /**
+     * @return the contents of {@code resource-bundle-config.json}
+     */
+    public @NotNull String generateResourceBundleConfig() {
+        if (!graph.getTypes().contains(Logger.class)) {
+            return "[]\n";
+        }
+
+        return "[\n  {\n    \"name\": " + quote(LOGGING_BUNDLE) + "\n  }\n]\n";
+    }
+
+    /**
+     * Writes every configuration file to {@code META-INF/native-image} inside the given directory,
+     * and the class index of every scanned package to {@link ClassIndex#LOCATION}.
+     *
+     * @param directory the output directory, usually a resources root
+     * @return the directory the files were written to
+     */
+    public @NotNull Path write(@NotNull Path directory) {
+        Path output = directory.resolve("META-INF").resolve("native-image");
+
+        try {
+            Files.createDirectories(output);
+            Files.write(output.resolve("reflect-config.json"), generateReflectConfig().getBytes(StandardCharsets.UTF_8));
+            Files.write(output.resolve("resource-config.json"), generateResourceConfig().getBytes(StandardCharsets.UTF_8));
+            Files.write(output.resolve("resource-bundle-config.json"), generateResourceBundleConfig().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write native-image configuration to " + output, e);
+        }
+
+        packages.forEach((pkg, names) -> ClassIndex.write(directory, pkg, names));
+
+        return output;
+    }
+
+    /**
+     * Generates the configuration from the command line.
+     * The modules are loaded from the given classpath, which holds the application and its dependencies.
+     *
+     * @param args the output directory, the classpath separated by {@link File#pathSeparator},
+     *             followed by the class names of the modules
+     */
+    public static void main(String[] args) throws ClassNotFoundException, IOException {
+        if (args.length < 3) {
+            System.err.println("Usage: NativeImageConfigGenerator <output directory> <classpath> <module class>...");
+            System.exit(1);
+        }
+
+        try (URLClassLoader classLoader = new URLClassLoader(toURLs(args[1]), NativeImageConfigGenerator.class.getClassLoader())) {
+            List<Module> modules = new ArrayList<>();
+
+            for (int i = 2; i < args.length; i++) {
+                modules.add((Module) Reflections.construct(Class.forName(args[i], true, classLoader)));
+            }
+
+            Path output = of(modules).write(Paths.get(args[0]));
+            System.out.println("Wrote native-image configuration to " + output);
+        }
+    }
+
+    private static @NotNull URL[] toURLs(@NotNull String classpath) {
+        List<URL> urls = new ArrayList<>();
+
+        for (String entry : classpath.split(Pattern.quote(File.pathSeparator))) {
+            if (entry.isEmpty()) {
+                continue;
+            }
+
+            try {
+                urls.add(Paths.get(entry).toUri().toURL());
+            } catch (MalformedURLException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        return urls.toArray(new URL[0]);
+    }
+
+    /**
+     * Lists the classes of every package scanned by the modules, through the class loader of the module which scanned it.
+     */
+    private static @NotNull Map<String, Set<String>> getPackages(@NotNull List<Module> modules) {
+        Map<String, Set<String>> packages = new TreeMap<>();
+
+        for (Module module : modules) {
+            if (!(module instanceof InfuseModule)) {
+                continue;
+            }
+
+            ClassLoader classLoader = module.getClass().getClassLoader();
+
+            for (String pkg : ((InfuseModule) module).getPackages()) {
+                Set<String> names = packages.computeIfAbsent(pkg, key -> new TreeSet<>());
+
+                try (Stream<ClassCandidate> candidates = Reflections.scan(classLoader, pkg, true)) {
+                    candidates.forEach(candidate -> names.add(candidate.getName()));
+                }
+            }
+        }
+
+        return packages;
+    }
+
+    private static @NotNull String quote(@NotNull String value) {
+        StringBuilder builder = new StringBuilder("\"");
+
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"':
+                    builder.append("\\\"");
+                    break;
+                case '\\':
+                    builder.append("\\\\");
+                    break;
+                case '\n':
+                    builder.append("\\n");
+                    break;
+                case '\r':
+                    builder.append("\\r");
+                    break;
+                case '\t':
+                    builder.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        builder.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        builder.append(c);
+                    }
+            }
+        }
+
+        return builder.append('"').toString();
+    }
+
+}
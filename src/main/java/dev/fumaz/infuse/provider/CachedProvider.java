@@ -0,0 +1,417 @@
+package dev.fumaz.infuse.provider;
+
+import dev.fumaz.infuse.annotation.PreDestroy;
+import dev.fumaz.infuse.context.Context;
+import dev.fumaz.infuse.reflection.Reflections;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * A {@link CachedProvider} is a {@link Provider} that caches the instances it constructs, evicting them once the cache
+ * grows past its maximum size or once they expire.
+ * <p>
+ * Instances can optionally be held through weak or soft references, letting the garbage collector reclaim them under
+ * memory pressure. Methods annotated with {@link PreDestroy} are called on every instance evicted by size,
+ * expiration or invalidation; instances reclaimed by the garbage collector no longer exist and cannot be destroyed.
+ *
+ * @param <T> the type of the class
+ */
+public class CachedProvider<T> implements Provider<T> {
+
+    private static final Object DEFAULT_KEY = new Object();
+
+    private final @NotNull Class<T> type;
+    private final long maximumSize;
+    private final long expireAfterWriteNanos;
+    private final long expireAfterAccessNanos;
+    private final @NotNull Strength strength;
+    private final @NotNull Function<Context<?>, ?> keyFunction;
+    private final @NotNull Map<Object, Entry<T>> entries = new ConcurrentHashMap<>();
+    /**
+     * The entries from least to most recently used, only maintained when the size is bounded.
+     */
+    private final @NotNull LinkedHashMap<Object, Entry<T>> order = new LinkedHashMap<>(16, 0.75f, true);
+    private final @NotNull ReferenceQueue<T> queue = new ReferenceQueue<>();
+
+    private CachedProvider(@NotNull Builder<T> builder) {
+        this.type = builder.type;
+        this.maximumSize = builder.maximumSize;
+        this.expireAfterWriteNanos = builder.expireAfterWriteNanos;
+        this.expireAfterAccessNanos = builder.expireAfterAccessNanos;
+        this.strength = builder.strength;
+        this.keyFunction = builder.keyFunction;
+    }
+
+    public static <T> @NotNull Builder<T> builder(@NotNull Class<T> type) {
+        return new Builder<>(type);
+    }
+
+    @Override
+    public @NotNull T provide(Context<?> context) {
+        drainQueue();
+
+        Object key = keyFunction.apply(context);
+
+        if (key == null) {
+            key = DEFAULT_KEY;
+        }
+
+        long now = System.nanoTime();
+        Entry<T> entry = entries.get(key);
+
+        if (entry != null) {
+            T value = entry.get();
+
+            if (value != null && !isExpired(entry, now)) {
+                recordAccess(entry, now);
+                return value;
+            }
+
+            if (remove(entry)) {
+                destroy(value);
+            }
+        }
+
+        T value = context.getInjector().construct(type);
+
+        if (value == null) {
+            throw new IllegalStateException("Cached instance cannot be null");
+        }
+
+        Entry<T> created = new Entry<>(key, strength.reference(key, value, queue), now);
+
+        while (true) {
+            Entry<T> existing = entries.putIfAbsent(key, created);
+
+            if (existing == null) {
+                break;
+            }
+
+            T winner = existing.get();
+
+            if (winner != null && !isExpired(existing, now)) {
+                // Another thread cached an instance first
+                destroy(value);
+                recordAccess(existing, now);
+                return winner;
+            }
+
+            // Only replace the stale entry that was seen, retrying if another thread replaced it meanwhile
+            if (entries.replace(key, existing, created)) {
+                destroy(winner);
+                break;
+            }
+        }
+
+        recordWrite(created);
+        evictOverflow();
+
+        return value;
+    }
+
+    /**
+     * Evicts the instance cached for a key.
+     *
+     * @param key the key, as returned by the key function
+     */
+    public void invalidate(@Nullable Object key) {
+        Entry<T> entry = entries.get(key == null ? DEFAULT_KEY : key);
+
+        if (entry != null && remove(entry)) {
+            destroy(entry.get());
+        }
+    }
+
+    /**
+     * Evicts every cached instance.
+     */
+    public void invalidateAll() {
+        entries.keySet().forEach(this::invalidate);
+    }
+
+    /**
+     * Evicts every expired or collected instance without waiting for the next provision.
+     */
+    public void cleanUp() {
+        drainQueue();
+
+        long now = System.nanoTime();
+
+        entries.forEach((key, entry) -> {
+            if (isExpired(entry, now) && remove(entry)) {
+                destroy(entry.get());
+            }
+        });
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private boolean isExpired(@NotNull Entry<T> entry, long now) {
+        if (expireAfterWriteNanos > 0 && now - entry.writeTime >= expireAfterWriteNanos) {
+            return true;
+        }
+
+        return expireAfterAccessNanos > 0 && now - entry.accessTime >= expireAfterAccessNanos;
+    }
+
+    private void evictOverflow() {
+        while (maximumSize > 0 && entries.size() > maximumSize) {
+            Entry<T> eldest;
+
+            synchronized (order) {
+                Iterator<Entry<T>> iterator = order.values().iterator();
+
+                if (!iterator.hasNext()) {
+                    return;
+                }
+
+                eldest = iterator.next();
+                iterator.remove();
+            }
+
+            if (entries.remove(eldest.key, eldest)) {
+                destroy(eldest.get());
+            }
+        }
+    }
+
+    private void recordAccess(@NotNull Entry<T> entry, long now) {
+        entry.accessTime = now;
+
+        if (maximumSize > 0) {
+            synchronized (order) {
+                order.get(entry.key);
+            }
+        }
+    }
+
+    private void recordWrite(@NotNull Entry<T> entry) {
+        if (maximumSize > 0) {
+            synchronized (order) {
+                order.put(entry.key, entry);
+            }
+        }
+    }
+
+    /**
+     * @return whether the entry was still cached and this call removed it
+     */
+    private boolean remove(@NotNull Entry<T> entry) {
+        if (!entries.remove(entry.key, entry)) {
+            return false;
+        }
+
+        if (maximumSize > 0) {
+            synchronized (order) {
+                order.remove(entry.key, entry);
+            }
+        }
+
+        return true;
+    }
+
+    private void drainQueue() {
+        Reference<? extends T> reference;
+
+        while ((reference = queue.poll()) != null) {
+            Object key = ((KeyedReference) reference).getKey();
+            Entry<T> entry = entries.get(key);
+
+            if (entry != null && entry.reference == reference) {
+                remove(entry);
+            }
+        }
+    }
+
+    private void destroy(@Nullable T instance) {
+        if (instance == null) {
+            return;
+        }
+
+        Reflections.getMethodsAnnotatedWith(instance.getClass(), PreDestroy.class)
+                .stream()
+                .sorted(Comparator.comparing(method -> method.getAnnotation(PreDestroy.class).priority()))
+                .forEach(method -> invoke(instance, method));
+    }
+
+    private void invoke(@NotNull Object instance, @NotNull Method method) {
+        method.setAccessible(true);
+
+        try {
+            method.invoke(instance);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private enum Strength {
+
+        STRONG {
+            @Override
+            <T> Holder<T> reference(Object key, T value, ReferenceQueue<T> queue) {
+                return () -> value;
+            }
+        },
+        WEAK {
+            @Override
+            <T> Holder<T> reference(Object key, T value, ReferenceQueue<T> queue) {
+                return new WeakHolder<>(key, value, queue);
+            }
+        },
+        SOFT {
+            @Override
+            <T> Holder<T> reference(Object key, T value, ReferenceQueue<T> queue) {
+                return new SoftHolder<>(key, value, queue);
+            }
+        };
+
+        abstract <T> Holder<T> reference(Object key, T value, ReferenceQueue<T> queue);
+
+    }
+
+    private interface Holder<T> {
+
+        @Nullable T get();
+
+    }
+
+    private interface KeyedReference {
+
+        Object getKey();
+
+    }
+
+    private static class WeakHolder<T> extends WeakReference<T> implements Holder<T>, KeyedReference {
+
+        private final Object key;
+
+        private WeakHolder(Object key, T referent, ReferenceQueue<? super T> queue) {
+            super(referent, queue);
+            this.key = key;
+        }
+
+        @Override
+        public Object getKey() {
+            return key;
+        }
+
+    }
+
+    private static class SoftHolder<T> extends SoftReference<T> implements Holder<T>, KeyedReference {
+
+        private final Object key;
+
+        private SoftHolder(Object key, T referent, ReferenceQueue<? super T> queue) {
+            super(referent, queue);
+            this.key = key;
+        }
+
+        @Override
+        public Object getKey() {
+            return key;
+        }
+
+    }
+
+    private static class Entry<T> {
+
+        private final @NotNull Object key;
+        private final @NotNull Holder<T> reference;
+        private final long writeTime;
+        private volatile long accessTime;
+
+        private Entry(@NotNull Object key, @NotNull Holder<T> reference, long now) {
+            this.key = key;
+            this.reference = reference;
+            this.writeTime = now;
+            this.accessTime = now;
+        }
+
+        private @Nullable T get() {
+            return reference.get();
+        }
+
+    }
+
+    /**
+     * A {@link Builder} is used to configure a {@link CachedProvider}.
+     *
+     * @param <T> the type of the class
+     */
+    public static class Builder<T> {
+
+        private final @NotNull Class<T> type;
+        private long maximumSize;
+        private long expireAfterWriteNanos;
+        private long expireAfterAccessNanos;
+        private @NotNull Strength strength = Strength.STRONG;
+        private @NotNull Function<Context<?>, ?> keyFunction = context -> DEFAULT_KEY;
+
+        private Builder(@NotNull Class<T> type) {
+            this.type = type;
+        }
+
+        /**
+         * Limits the number of cached instances, evicting the least recently used ones first.
+         */
+        public @NotNull Builder<T> maximumSize(long maximumSize) {
+            if (maximumSize <= 0) {
+                throw new IllegalArgumentException("Maximum size must be positive");
+            }
+
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        public @NotNull Builder<T> expireAfterWrite(@NotNull Duration duration) {
+            this.expireAfterWriteNanos = duration.toNanos();
+            return this;
+        }
+
+        public @NotNull Builder<T> expireAfterAccess(@NotNull Duration duration) {
+            this.expireAfterAccessNanos = duration.toNanos();
+            return this;
+        }
+
+        public @NotNull Builder<T> weakValues() {
+            this.strength = Strength.WEAK;
+            return this;
+        }
+
+        public @NotNull Builder<T> softValues() {
+            this.strength = Strength.SOFT;
+            return this;
+        }
+
+        /**
+         * Caches one instance per key instead of a single instance, such as one instance per injecting class.
+         *
+         * @param keyFunction computes the key from the injection context
+         */
+        public @NotNull Builder<T> keyedBy(@NotNull Function<Context<?>, ?> keyFunction) {
+            this.keyFunction = keyFunction;
+            return this;
+        }
+
+        public @NotNull CachedProvider<T> build() {
+            return new CachedProvider<>(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,402 @@
+package dev.fumaz.infuse.provider;
+
+import dev.fumaz.infuse.annotation.Assisted;
+import dev.fumaz.infuse.annotation.Config;
+import dev.fumaz.infuse.annotation.Inject;
+import dev.fumaz.infuse.bind.TypeLiteral;
+import dev.fumaz.infuse.config.ConfigValue;
+import dev.fumaz.infuse.context.Context;
+import dev.fumaz.infuse.injector.InfuseInjector;
+import dev.fumaz.infuse.injector.Injector;
+import dev.fumaz.infuse.intercept.FactoryGenerator;
+import dev.fumaz.infuse.intercept.FactoryMethod;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.annotation.ElementType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A {@link FactoryProvider} is a {@link Provider} that implements a factory interface, such as
+ * <pre>{@code
+ * interface OrderHandlerFactory {
+ *     OrderHandler create(Order order);
+ * }
+ * }</pre>
+ * Each factory method constructs its return type, passing its own arguments to the constructor parameters annotated
+ * with {@link Assisted} and injecting every other parameter.
+ * <p>
+ * The constructor and parameter layout of every factory method is resolved once, when the factory is first provided,
+ * and the factory interface is implemented by a generated class, so each call is a direct constructor invocation.
+ * Default methods keep their own implementation. The factory interface and the types it creates must be public.
+ *
+ * @param <F> the type of the factory interface
+ */
+public class FactoryProvider<F> implements Provider<F> {
+
+    private final @NotNull Class<F> factoryType;
+    private volatile @Nullable Implementation<F> implementation;
+    private volatile @Nullable Factory<F> factory;
+
+    public FactoryProvider(@NotNull Class<F> factoryType) {
+        if (!factoryType.isInterface()) {
+            throw new IllegalArgumentException("Factory type " + factoryType.getName() + " must be an interface");
+        }
+
+        if (!Modifier.isPublic(factoryType.getModifiers())) {
+            throw new IllegalArgumentException("Factory type " + factoryType.getName() + " must be public");
+        }
+
+        this.factoryType = factoryType;
+    }
+
+    @Override
+    public @NotNull F provide(Context<?> context) {
+        Injector injector = context.getInjector();
+        Factory<F> factory = this.factory;
+
+        if (factory == null || factory.injector != injector) {
+            factory = new Factory<>(getImplementation(), (InfuseInjector) injector);
+            this.factory = factory;
+        }
+
+        return factory.instance;
+    }
+
+    private @NotNull Implementation<F> getImplementation() {
+        Implementation<F> implementation = this.implementation;
+
+        if (implementation == null) {
+            implementation = createImplementation();
+            this.implementation = implementation;
+        }
+
+        return implementation;
+    }
+
+    /**
+     * Plans every abstract method, sharing one plan between the methods which only differ by their return type,
+     * and generates the class implementing them.
+     */
+    private @NotNull Implementation<F> createImplementation() {
+        Map<String, List<Method>> signatures = new LinkedHashMap<>();
+
+        for (Method method : factoryType.getMethods()) {
+            if (Modifier.isAbstract(method.getModifiers()) && !isObjectMethod(method)) {
+                signatures.computeIfAbsent(method.getName() + Arrays.toString(method.getParameterTypes()), key -> new ArrayList<>()).add(method);
+            }
+        }
+
+        List<Plan> plans = new ArrayList<>();
+        List<Method> methods = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+
+        for (List<Method> overloads : signatures.values()) {
+            int slot = plans.size();
+            Set<Class<?>> returnTypes = new HashSet<>();
+            plans.add(createPlan(getMostSpecific(overloads)));
+
+            for (Method method : overloads) {
+                if (returnTypes.add(method.getReturnType())) {
+                    methods.add(method);
+                    slots.add(slot);
+                }
+            }
+        }
+
+        int[][] layouts = new int[plans.size()][];
+
+        for (int i = 0; i < layouts.length; i++) {
+            layouts[i] = plans.get(i).sources;
+        }
+
+        Class<? extends F> generated = FactoryGenerator.generate(factoryType, methods, slots.stream().mapToInt(Integer::intValue).toArray(), layouts);
+
+        try {
+            return new Implementation<>(plans, generated.getConstructor(FactoryMethod[].class));
+        } catch (NoSuchMethodException e) {
+            throw new RuntimeException("Failed to generate an implementation of " + factoryType.getName(), e);
+        }
+    }
+
+    private static boolean isObjectMethod(@NotNull Method method) {
+        try {
+            Object.class.getMethod(method.getName(), method.getParameterTypes());
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return the method whose return type is assignable to the return type of every other method
+     */
+    private static @NotNull Method getMostSpecific(@NotNull List<Method> methods) {
+        Method specific = methods.get(0);
+
+        for (Method method : methods) {
+            if (specific.getReturnType().isAssignableFrom(method.getReturnType())) {
+                specific = method;
+            }
+        }
+
+        return specific;
+    }
+
+    private @NotNull Plan createPlan(@NotNull Method method) {
+        Class<?> type = method.getReturnType();
+
+        if (!Modifier.isPublic(type.getModifiers())) {
+            throw new IllegalArgumentException(type.getName() + " created by " + factoryType.getName() + "#" + method.getName() + " must be public");
+        }
+
+        List<Constructor<?>> candidates = new ArrayList<>();
+
+        for (Constructor<?> constructor : type.getDeclaredConstructors()) {
+            if (constructor.isAnnotationPresent(Inject.class)) {
+                candidates.add(constructor);
+            }
+        }
+
+        if (candidates.isEmpty()) {
+            candidates.addAll(Arrays.asList(type.getDeclaredConstructors()));
+        }
+
+        for (Constructor<?> constructor : candidates) {
+            int[] sources = mapParameters(method, constructor);
+
+            if (sources != null) {
+                constructor.setAccessible(true);
+                return new Plan(constructor, sources);
+            }
+        }
+
+        throw new IllegalArgumentException("No constructor of " + type.getName() + " matches the assisted parameters of " + factoryType.getName() + "#" + method.getName());
+    }
+
+    /**
+     * Maps every constructor parameter to the index of the factory method argument it receives,
+     * or to -1 if it is injected.
+     *
+     * @return the mapping, or null if the constructor does not match the factory method
+     */
+    private static int[] mapParameters(@NotNull Method method, @NotNull Constructor<?> constructor) {
+        Parameter[] arguments = method.getParameters();
+        Parameter[] parameters = constructor.getParameters();
+        boolean[] used = new boolean[arguments.length];
+        int[] sources = new int[parameters.length];
+
+        for (int i = 0; i < parameters.length; i++) {
+            Assisted assisted = parameters[i].getAnnotation(Assisted.class);
+
+            if (assisted == null) {
+                sources[i] = -1;
+                continue;
+            }
+
+            sources[i] = -1;
+
+            for (int j = 0; j < arguments.length; j++) {
+                if (used[j] || !arguments[j].getParameterizedType().equals(parameters[i].getParameterizedType())) {
+                    continue;
+                }
+
+                Assisted argument = arguments[j].getAnnotation(Assisted.class);
+                String name = argument == null ? "" : argument.value();
+
+                if (name.equals(assisted.value())) {
+                    used[j] = true;
+                    sources[i] = j;
+                    break;
+                }
+            }
+
+            if (sources[i] == -1) {
+                return null;
+            }
+        }
+
+        for (boolean argument : used) {
+            if (!argument) {
+                return null;
+            }
+        }
+
+        return sources;
+    }
+
+    /**
+     * The resolved constructor and parameter layout of a factory method.
+     */
+    private static class Plan {
+
+        private final @NotNull Constructor<?> constructor;
+        private final int[] sources;
+
+        private Plan(@NotNull Constructor<?> constructor, int[] sources) {
+            this.constructor = constructor;
+            this.sources = sources;
+        }
+
+    }
+
+    /**
+     * The plans of a factory interface and the constructor of its generated implementation, which takes one
+     * {@link FactoryMethod} per plan.
+     */
+    private static class Implementation<F> {
+
+        private final @NotNull List<Plan> plans;
+        private final @NotNull Constructor<? extends F> constructor;
+
+        private Implementation(@NotNull List<Plan> plans, @NotNull Constructor<? extends F> constructor) {
+            this.plans = plans;
+            this.constructor = constructor;
+        }
+
+    }
+
+    /**
+     * A factory implementation bound to a specific injector.
+     */
+    private static class Factory<F> {
+
+        private final @NotNull InfuseInjector injector;
+        private final @NotNull F instance;
+
+        private Factory(@NotNull Implementation<F> implementation, @NotNull InfuseInjector injector) {
+            this.injector = injector;
+
+            FactoryMethod[] methods = new FactoryMethod[implementation.plans.size()];
+
+            for (int i = 0; i < methods.length; i++) {
+                methods[i] = new Invoker(injector, implementation.plans.get(i));
+            }
+
+            try {
+                this.instance = implementation.constructor.newInstance((Object) methods);
+            } catch (ReflectiveOperationException e) {
+                throw new RuntimeException("Failed to instantiate the implementation of " + implementation.constructor.getDeclaringClass().getName(), e);
+            }
+        }
+
+    }
+
+    /**
+     * A {@link Plan} bound to an injector, with the injection contexts of its injected parameters precomputed.
+     */
+    private static class Invoker extends FactoryMethod {
+
+        private final @NotNull InfuseInjector injector;
+        private final @NotNull Constructor<?> constructor;
+        private final int[] sources;
+        private final @NotNull Object[] types;
+        private final @NotNull Context<?>[] contexts;
+        private final @NotNull Type[] configTypes;
+        private volatile @Nullable ConfigValues values;
+
+        private Invoker(@NotNull InfuseInjector injector, @NotNull Plan plan) {
+            this.injector = injector;
+            this.constructor = plan.constructor;
+            this.sources = plan.sources;
+            this.types = new Object[sources.length];
+            this.contexts = new Context<?>[sources.length];
+            this.configTypes = new Type[sources.length];
+
+            Parameter[] parameters = constructor.getParameters();
+
+            for (int i = 0; i < sources.length; i++) {
+                if (sources[i] != -1) {
+                    continue;
+                }
+
+                Type type = parameters[i].getParameterizedType();
+                Config config = parameters[i].getAnnotation(Config.class);
+
+                if (config != null) {
+                    types[i] = config;
+                    configTypes[i] = type;
+                    continue;
+                }
+
+                types[i] = type instanceof Class<?> ? type : TypeLiteral.get(type);
+                contexts[i] = new Context<>(constructor.getDeclaringClass(), injector, injector, ElementType.CONSTRUCTOR, parameters[i].getName(), parameters[i].getAnnotations());
+            }
+
+            getConfigValues();
+        }
+
+        @Override
+        public Object construct(@NotNull Object[] arguments) {
+            ConfigValue<?>[] values = getConfigValues();
+
+            for (int i = 0; i < sources.length; i++) {
+                if (sources[i] != -1) {
+                    continue;
+                }
+
+                if (types[i] instanceof Config) {
+                    arguments[i] = values[i].get();
+                } else if (types[i] instanceof Class<?>) {
+                    arguments[i] = injector.provide((Class<?>) types[i], contexts[i]);
+                } else {
+                    arguments[i] = injector.provide((TypeLiteral<?>) types[i], contexts[i]);
+                }
+            }
+
+            return injector.construct(constructor, arguments);
+        }
+
+        /**
+         * Returns the {@link ConfigValue}s of the configuration parameters, resolving them again whenever the injector
+         * refreshed since they were last resolved.
+         */
+        private @NotNull ConfigValue<?>[] getConfigValues() {
+            int revision = injector.getRevision();
+            ConfigValues values = this.values;
+
+            if (values != null && values.revision == revision) {
+                return values.values;
+            }
+
+            ConfigValue<?>[] resolved = new ConfigValue<?>[sources.length];
+
+            for (int i = 0; i < sources.length; i++) {
+                if (types[i] instanceof Config) {
+                    resolved[i] = injector.getConfigValue((Config) types[i], configTypes[i]);
+                }
+            }
+
+            this.values = new ConfigValues(revision, resolved);
+            return resolved;
+        }
+
+    }
+
+    /**
+     * The {@link ConfigValue}s of an {@link Invoker}, along with the injector revision they were resolved at.
+     */
+    private static class ConfigValues {
+
+        private final int revision;
+        private final @NotNull ConfigValue<?>[] values;
+
+        private ConfigValues(int revision, @NotNull ConfigValue<?>[] values) {
+            this.revision = revision;
+            this.values = values;
+        }
+
+    }
+
+}
@@ -33,4 +33,8 @@ public class InstanceProvider<T> implements Provider<T> {
         return instance;
     }
 
+    public @Nullable T getInstance() {
+        return instance;
+    }
+
 }
@@ -0,0 +1,207 @@
+package dev.fumaz.infuse.provider;
+
+import dev.fumaz.infuse.annotation.Reset;
+import dev.fumaz.infuse.concurrent.Threads;
+import dev.fumaz.infuse.context.Context;
+import dev.fumaz.infuse.injector.Injector;
+import dev.fumaz.infuse.reflection.Reflections;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link PooledProvider} is a {@link Provider} that reuses instances from a bounded pool.
+ * <p>
+ * Instances are borrowed with {@link #provide(Context)} or {@link #lease(Injector)}, and must be handed back with
+ * {@link #release(Object)} to be reused. Methods annotated with {@link Reset} are called on every returned instance.
+ * When the pool is empty a new instance is constructed, and when it is full returned instances are discarded.
+ *
+ * @param <T> the type of the class
+ */
+public class PooledProvider<T> implements Provider<T> {
+
+    private final @NotNull Class<T> type;
+    private final @NotNull AtomicReferenceArray<T> pool;
+    private final @NotNull LongAdder hits = new LongAdder();
+    private final @NotNull LongAdder misses = new LongAdder();
+    private final @NotNull LongAdder discards = new LongAdder();
+    private volatile Method[] resetMethods;
+
+    public PooledProvider(@NotNull Class<T> type, int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Pool size must be positive");
+        }
+
+        this.type = type;
+        this.pool = new AtomicReferenceArray<>(maxSize);
+    }
+
+    @Override
+    public @NotNull T provide(Context<?> context) {
+        return borrow(context.getInjector());
+    }
+
+    /**
+     * Borrows an instance from the pool, constructing a new one if the pool is empty.
+     *
+     * @param injector the injector used to construct new instances
+     * @return the instance
+     */
+    public @NotNull T borrow(@NotNull Injector injector) {
+        int size = pool.length();
+        int start = getStartIndex(size);
+
+        for (int i = 0; i < size; i++) {
+            int index = (start + i) % size;
+            T instance = pool.get(index);
+
+            if (instance != null && pool.compareAndSet(index, instance, null)) {
+                hits.increment();
+                return instance;
+            }
+        }
+
+        misses.increment();
+        T instance = injector.construct(type);
+
+        if (instance == null) {
+            throw new IllegalStateException("Pooled instance cannot be null");
+        }
+
+        return instance;
+    }
+
+    /**
+     * Borrows an instance that is released back to the pool when the lease is closed.
+     *
+     * @param injector the injector used to construct new instances
+     * @return the lease
+     */
+    public @NotNull Lease<T> lease(@NotNull Injector injector) {
+        return new Lease<>(this, borrow(injector));
+    }
+
+    /**
+     * Resets an instance and returns it to the pool, discarding it if the pool is full.
+     * If a reset method fails, the instance is discarded and the exception is rethrown.
+     * <p>
+     * An instance must be released once per borrow. Releasing it again would hand it to two borrowers,
+     * so an instance still in the pool is rejected; prefer {@link #lease(Injector)}, whose lease only releases once.
+     *
+     * @param instance the instance
+     * @throws IllegalStateException if the instance is already in the pool
+     */
+    public void release(@NotNull T instance) {
+        int size = pool.length();
+
+        for (int i = 0; i < size; i++) {
+            if (pool.get(i) == instance) {
+                throw new IllegalStateException("Pooled " + type.getName() + " has already been released");
+            }
+        }
+
+        try {
+            for (Method method : getResetMethods()) {
+                method.invoke(instance);
+            }
+        } catch (Exception e) {
+            discards.increment();
+            throw new RuntimeException("Failed to reset pooled " + type.getName(), e);
+        }
+
+        int start = getStartIndex(size);
+
+        for (int i = 0; i < size; i++) {
+            int index = (start + i) % size;
+
+            if (pool.get(index) == null && pool.compareAndSet(index, null, instance)) {
+                return;
+            }
+        }
+
+        discards.increment();
+    }
+
+    public int getMaxSize() {
+        return pool.length();
+    }
+
+    /**
+     * @return the number of borrows that were served from the pool
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of borrows that required constructing a new instance
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of returned instances that were dropped because the pool was full or their reset failed
+     */
+    public long getDiscards() {
+        return discards.sum();
+    }
+
+    private int getStartIndex(int size) {
+        // Spread threads over the pool so they don't all contend on the first slots
+        return (int) (Threads.currentThreadId() % size);
+    }
+
+    private Method[] getResetMethods() {
+        Method[] methods = resetMethods;
+
+        if (methods == null) {
+            List<Method> found = Reflections.getMethodsAnnotatedWith(type, Reset.class);
+            found.forEach(method -> method.setAccessible(true));
+
+            methods = found.toArray(new Method[0]);
+            resetMethods = methods;
+        }
+
+        return methods;
+    }
+
+    /**
+     * A {@link Lease} is a borrowed instance that is returned to its pool when closed.
+     * Closing it more than once, even from several threads, releases the instance only once.
+     *
+     * @param <T> the type of the class
+     */
+    public static class Lease<T> implements AutoCloseable {
+
+        private final @NotNull PooledProvider<T> provider;
+        private final @NotNull T instance;
+        private final @NotNull AtomicBoolean closed = new AtomicBoolean();
+
+        private Lease(@NotNull PooledProvider<T> provider, @NotNull T instance) {
+            this.provider = provider;
+            this.instance = instance;
+        }
+
+        public @NotNull T get() {
+            if (closed.get()) {
+                throw new IllegalStateException("Lease has already been closed");
+            }
+
+            return instance;
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                provider.release(instance);
+            }
+        }
+
+    }
+
+}
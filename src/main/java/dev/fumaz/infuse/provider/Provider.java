@@ -32,6 +32,18 @@ public interface Provider<T> {
         return new SingletonProvider<>(type, true);
     }
 
+    static <T> @NotNull PooledProvider<T> pooled(Class<T> type, int maxSize) {
+        return new PooledProvider<>(type, maxSize);
+    }
+
+    static <T> CachedProvider.@NotNull Builder<T> cached(Class<T> type) {
+        return CachedProvider.builder(type);
+    }
+
+    static <F> @NotNull FactoryProvider<F> factory(Class<F> factoryType) {
+        return new FactoryProvider<>(factoryType);
+    }
+
     @Nullable T provide(Context<?> context);
 
     default @Nullable T provide(Injector injector, Object calling) {
@@ -3,17 +3,39 @@ package dev.fumaz.infuse.provider;
 import dev.fumaz.infuse.context.Context;
 import dev.fumaz.infuse.injector.InfuseInjector;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * A {@link SingletonProvider} is a {@link Provider} that provides a singleton instance.
+ * <p>
+ * The instance is constructed without holding any lock, since constructing it may request other singletons which in
+ * turn request this one. Threads requesting a singleton while another thread constructs it wait for that instance,
+ * unless the constructing thread is itself waiting, directly or transitively, on a singleton the requesting thread is
+ * constructing. Such threads would wait for each other forever, so the requesting thread constructs the singleton
+ * itself instead, and every thread returns whichever instance was published first.
  *
  * @param <T> the type of the class
  */
 public class SingletonProvider<T> implements Provider<T> {
 
+    /**
+     * Guards the construction state of every singleton, and is notified whenever a construction ends.
+     */
+    private static final Object LOCK = new Object();
+
+    /**
+     * The singleton each thread is waiting for, guarded by {@link #LOCK}.
+     */
+    private static final Map<Thread, SingletonProvider<?>> WAITING = new HashMap<>();
+
     private final @NotNull Class<T> type;
     private final boolean eager;
-    private T instance;
+    private volatile T instance;
+    private @Nullable Thread owner;
 
     public SingletonProvider(@NotNull Class<T> type, boolean eager) {
         this.type = type;
@@ -22,28 +44,127 @@ public class SingletonProvider<T> implements Provider<T> {
 
     @Override
     public @NotNull T provide(Context<?> context) {
+        T instance = this.instance;
+
         if (instance == null) {
-            instance = context.getInjector().construct(type);
-            validate();
+            instance = getOrConstruct(() -> context.getInjector().construct(type));
         }
 
         return instance;
     }
 
     public @NotNull T provideWithoutInjecting(Context<?> context) {
+        T instance = this.instance;
+
         if (instance == null) {
-            instance = ((InfuseInjector) context.getInjector()).constructWithoutInjecting(type);
-            validate();
+            instance = getOrConstruct(() -> ((InfuseInjector) context.getInjector()).constructWithoutInjecting(type));
         }
 
         return instance;
     }
 
+    /**
+     * @return whether the instance has been created
+     */
+    public boolean isInitialized() {
+        return instance != null;
+    }
+
     public boolean isEager() {
         return eager;
     }
 
-    private void validate() {
+    public @NotNull Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * Discards the current instance, so the next provision constructs a new one.
+     *
+     * @return the discarded instance, or null if none was constructed yet
+     */
+    public @Nullable T reset() {
+        synchronized (LOCK) {
+            T instance = this.instance;
+            this.instance = null;
+
+            return instance;
+        }
+    }
+
+    /**
+     * Waits for the thread constructing the instance if there is one, otherwise constructs and publishes it.
+     */
+    private @NotNull T getOrConstruct(@NotNull Supplier<T> constructor) {
+        Thread current = Thread.currentThread();
+        boolean owning;
+
+        synchronized (LOCK) {
+            while (instance == null && owner != null && owner != current && !isWaitingOn(current)) {
+                WAITING.put(current, this);
+
+                try {
+                    LOCK.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                } finally {
+                    WAITING.remove(current);
+                }
+            }
+
+            if (instance != null) {
+                return instance;
+            }
+
+            owning = owner == null;
+
+            if (owning) {
+                owner = current;
+            }
+        }
+
+        T instance = null;
+        T published;
+
+        try {
+            instance = constructor.get();
+            validate(instance);
+        } finally {
+            synchronized (LOCK) {
+                if (instance != null && this.instance == null) {
+                    this.instance = instance;
+                }
+
+                if (owning) {
+                    owner = null;
+                }
+
+                published = this.instance;
+                LOCK.notifyAll();
+            }
+        }
+
+        return published;
+    }
+
+    /**
+     * @return whether the thread constructing this singleton waits, directly or transitively, on the given thread
+     */
+    private boolean isWaitingOn(@NotNull Thread thread) {
+        for (Thread waiting = owner; waiting != null; ) {
+            if (waiting == thread) {
+                return true;
+            }
+
+            SingletonProvider<?> awaited = WAITING.get(waiting);
+            waiting = awaited == null ? null : awaited.owner;
+        }
+
+        return false;
+    }
+
+    private void validate(T instance) {
         if (instance != null) {
             return;
         }
@@ -0,0 +1,119 @@
+package dev.fumaz.infuse.reflection;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Creates {@link MethodHandle} based accessors for accessible fields and methods.
+ * <p>
+ * Accessors are only created where a method handle behaves exactly like core reflection:
+ * members with primitive parameters are left to core reflection, since it applies widening conversions that
+ * method handles don't, and so are final fields.
+ */
+final class Accessors {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private Accessors() {
+        throw new UnsupportedOperationException("This class cannot be instantiated");
+    }
+
+    /**
+     * @return the accessor, or null if the field must be accessed through core reflection
+     */
+    static @Nullable FieldAccessor field(@NotNull Field field) {
+        if (field.getType().isPrimitive() || Modifier.isFinal(field.getModifiers())) {
+            return null;
+        }
+
+        try {
+            MethodHandle getter = LOOKUP.unreflectGetter(field);
+            MethodHandle setter = LOOKUP.unreflectSetter(field);
+
+            if (Modifier.isStatic(field.getModifiers())) {
+                getter = MethodHandles.dropArguments(getter, 0, Object.class);
+                setter = MethodHandles.dropArguments(setter, 0, Object.class);
+            }
+
+            return new HandleFieldAccessor(
+                    getter.asType(MethodType.methodType(Object.class, Object.class)),
+                    setter.asType(MethodType.methodType(void.class, Object.class, Object.class))
+            );
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return the invoker, or null if the method must be invoked through core reflection
+     */
+    static @Nullable MethodInvoker method(@NotNull Method method) {
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            if (parameterType.isPrimitive()) {
+                return null;
+            }
+        }
+
+        try {
+            MethodHandle handle = LOOKUP.unreflect(method);
+            int parameters = method.getParameterCount();
+
+            if (Modifier.isStatic(method.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+
+            if (handle.isVarargsCollector()) {
+                handle = handle.asFixedArity();
+            }
+
+            return new HandleMethodInvoker(handle.asType(MethodType.genericMethodType(parameters + 1)).asSpreader(Object[].class, parameters));
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    private static class HandleFieldAccessor implements FieldAccessor {
+
+        private final @NotNull MethodHandle getter;
+        private final @NotNull MethodHandle setter;
+
+        private HandleFieldAccessor(@NotNull MethodHandle getter, @NotNull MethodHandle setter) {
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        @Override
+        public Object get(Object instance) throws Throwable {
+            return (Object) getter.invokeExact(instance);
+        }
+
+        @Override
+        public void set(Object instance, Object value) throws Throwable {
+            setter.invokeExact(instance, value);
+        }
+
+    }
+
+    private static class HandleMethodInvoker implements MethodInvoker {
+
+        private final @NotNull MethodHandle handle;
+
+        private HandleMethodInvoker(@NotNull MethodHandle handle) {
+            this.handle = handle;
+        }
+
+        @Override
+        public Object invoke(Object instance, Object[] arguments) throws Throwable {
+            return (Object) handle.invokeExact(instance, arguments);
+        }
+
+    }
+
+}
@@ -0,0 +1,138 @@
+package dev.fumaz.infuse.reflection;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A {@link ClassCandidate} is a class file found by {@link Reflections#scan(ClassLoader, String, boolean)}
+ * which has not been loaded yet. Its name and {@link ClassMetadata} can be used to filter it before paying for
+ * {@link #load()}.
+ */
+public final class ClassCandidate {
+
+    private final @NotNull ClassLoader classLoader;
+    private final @NotNull String name;
+    private final @NotNull Opener opener;
+    private volatile @Nullable ClassMetadata metadata;
+
+    ClassCandidate(@NotNull ClassLoader classLoader, @NotNull String name, @NotNull Opener opener) {
+        this.classLoader = classLoader;
+        this.name = name;
+        this.opener = opener;
+    }
+
+    /**
+     * @return the binary name of the class, such as {@code com.example.Outer$Inner}
+     */
+    public @NotNull String getName() {
+        return name;
+    }
+
+    public @NotNull String getPackageName() {
+        int index = name.lastIndexOf('.');
+
+        return index == -1 ? "" : name.substring(0, index);
+    }
+
+    public @NotNull String getSimpleName() {
+        return name.substring(name.lastIndexOf('.') + 1);
+    }
+
+    /**
+     * Reads the header of the class file the first time it is called, without loading the class.
+     *
+     * @throws ReflectionException if the class file cannot be read
+     */
+    public @NotNull ClassMetadata getMetadata() {
+        ClassMetadata metadata = this.metadata;
+
+        if (metadata == null) {
+            try {
+                metadata = ClassMetadata.read(open());
+            } catch (IOException e) {
+                metadata = readFromClassLoader(e);
+            }
+
+            this.metadata = metadata;
+        }
+
+        return metadata;
+    }
+
+    /**
+     * Loads the class through the class loader of the scan, without initializing it.
+     *
+     * @throws ReflectionException if the class cannot be loaded or linked
+     */
+    public @NotNull Class<?> load() {
+        try {
+            return Class.forName(name, false, classLoader);
+        } catch (ClassNotFoundException | LinkageError e) {
+            throw new ReflectionException("Exception whilst loading the class " + name, e);
+        }
+    }
+
+    /**
+     * @return the loaded class, or null if it cannot be loaded or linked
+     */
+    public @Nullable Class<?> loadOrNull() {
+        try {
+            return Class.forName(name, false, classLoader);
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        }
+    }
+
+    private @NotNull InputStream open() throws IOException {
+        InputStream stream = opener.open();
+
+        if (stream == null) {
+            stream = classLoader.getResourceAsStream(name.replace('.', '/') + ".class");
+        }
+
+        if (stream == null) {
+            throw new IOException("Class file not found");
+        }
+
+        return stream;
+    }
+
+    /**
+     * Reads the class file through the class loader, in case its source was closed while it was being read.
+     */
+    private @NotNull ClassMetadata readFromClassLoader(@NotNull IOException cause) {
+        InputStream stream = classLoader.getResourceAsStream(name.replace('.', '/') + ".class");
+
+        try {
+            if (stream != null) {
+                return ClassMetadata.read(stream);
+            }
+        } catch (IOException e) {
+            cause.addSuppressed(e);
+        }
+
+        throw new ReflectionException("Exception whilst reading the class file of " + name, cause);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    /**
+     * Opens the class file where it was found.
+     */
+    @FunctionalInterface
+    interface Opener {
+
+        /**
+         * @return the class file, or null if its source was closed, in which case it is looked up through the class loader
+         */
+        @Nullable InputStream open() throws IOException;
+
+    }
+
+}
@@ -0,0 +1,123 @@
+package dev.fumaz.infuse.reflection;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * A {@link ClassIndex} lists the classes of a package in a resource written at build time, for class loaders
+ * whose packages cannot be listed, such as the ones of a GraalVM native image.
+ * <p>
+ * {@link Reflections#scan(ClassLoader, String, boolean)} reads the index of a package, or of one of its parents,
+ * when none of the locations of the package is a directory or a jar.
+ */
+public final class ClassIndex {
+
+    /**
+     * The directory holding the index of every package, one {@code <package>.classes} file per package.
+     */
+    public static final String LOCATION = "META-INF/infuse/index/";
+
+    private ClassIndex() {
+        throw new UnsupportedOperationException("This class cannot be instantiated");
+    }
+
+    /**
+     * Writes the index of a package under a resources root.
+     *
+     * @param directory the resources root
+     * @param pkgName   the name of the package
+     * @param names     the binary names of its classes, including the ones of its subpackages
+     * @return the index file
+     */
+    public static @NotNull Path write(@NotNull Path directory, @NotNull String pkgName, @NotNull Collection<String> names) {
+        Path file = directory.resolve(getResourceName(pkgName));
+
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, new TreeSet<>(names), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write the class index of " + pkgName + " to " + file, e);
+        }
+
+        return file;
+    }
+
+    /**
+     * @return the name of the index resource of a package
+     */
+    public static @NotNull String getResourceName(@NotNull String pkgName) {
+        return LOCATION + pkgName + ".classes";
+    }
+
+    /**
+     * Lists the classes of a package from the indexes of the package and of its parents.
+     */
+    static @NotNull List<ClassCandidate> read(@NotNull ClassLoader classLoader, @NotNull String pkgName, boolean recursive) {
+        String prefix = pkgName.isEmpty() ? "" : pkgName + ".";
+        Set<String> names = new LinkedHashSet<>();
+
+        for (String indexed = pkgName; ; indexed = indexed.substring(0, Math.max(0, indexed.lastIndexOf('.')))) {
+            readIndex(classLoader, indexed, prefix, recursive, names);
+
+            if (indexed.isEmpty()) {
+                break;
+            }
+        }
+
+        List<ClassCandidate> candidates = new ArrayList<>(names.size());
+
+        for (String name : names) {
+            candidates.add(new ClassCandidate(classLoader, name, () -> null));
+        }
+
+        return candidates;
+    }
+
+    private static void readIndex(@NotNull ClassLoader classLoader, @NotNull String indexed, @NotNull String prefix, boolean recursive, @NotNull Set<String> names) {
+        Enumeration<URL> resources;
+
+        try {
+            resources = classLoader.getResources(getResourceName(indexed));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the class index of " + indexed, e);
+        }
+
+        while (resources.hasMoreElements()) {
+            URL resource = resources.nextElement();
+
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8))) {
+                String name;
+
+                while ((name = reader.readLine()) != null) {
+                    if (!name.startsWith(prefix) || name.isEmpty()) {
+                        continue;
+                    }
+
+                    if (!recursive && name.indexOf('.', prefix.length()) != -1) {
+                        continue;
+                    }
+
+                    names.add(name);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read the class index " + resource, e);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,79 @@
+package dev.fumaz.infuse.reflection;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The declared members and resolved constructors of a class, looked up once and cached for the lifetime of the class.
+ */
+final class ClassMembers {
+
+    private static final ClassValue<ClassMembers> MEMBERS = new ClassValue<ClassMembers>() {
+        @Override
+        protected ClassMembers computeValue(Class<?> type) {
+            return new ClassMembers(type);
+        }
+    };
+
+    private final @NotNull Map<String, Field> fields = new HashMap<>();
+    private final @NotNull Map<String, Method> methods = new HashMap<>();
+    private final @NotNull Map<Field, Optional<FieldAccessor>> fieldAccessors = new ConcurrentHashMap<>();
+    private final @NotNull Map<Method, Optional<MethodInvoker>> methodInvokers = new ConcurrentHashMap<>();
+    private final @NotNull ConstructorCache<Constructor<?>> constructors = new ConstructorCache<>(64);
+
+    private ClassMembers(@NotNull Class<?> type) {
+        for (Field field : type.getDeclaredFields()) {
+            fields.put(field.getName(), field);
+        }
+
+        for (Method method : type.getDeclaredMethods()) {
+            methods.putIfAbsent(method.getName(), method);
+        }
+    }
+
+    static @NotNull ClassMembers of(@NotNull Class<?> type) {
+        return MEMBERS.get(type);
+    }
+
+    /**
+     * @return the declared field, or null if there is none with this name
+     */
+    @Nullable Field getField(@NotNull String name) {
+        return fields.get(name);
+    }
+
+    /**
+     * @return the first declared method with this name, or null if there is none
+     */
+    @Nullable Method getMethod(@NotNull String name) {
+        return methods.get(name);
+    }
+
+    /**
+     * @return the constructor resolved for arguments of these types, or null if none was resolved yet
+     */
+    @Nullable Constructor<?> getConstructor(@NotNull Class<?> type, @NotNull Class<?>[] argumentTypes) {
+        return constructors.get(type, argumentTypes);
+    }
+
+    void putConstructor(@NotNull Class<?> type, @NotNull Class<?>[] argumentTypes, @NotNull Constructor<?> constructor) {
+        constructors.put(type, argumentTypes, constructor);
+    }
+
+    @Nullable FieldAccessor getAccessor(@NotNull Field field) {
+        return fieldAccessors.computeIfAbsent(field, key -> Optional.ofNullable(Accessors.field(key))).orElse(null);
+    }
+
+    @Nullable MethodInvoker getInvoker(@NotNull Method method) {
+        return methodInvokers.computeIfAbsent(method, key -> Optional.ofNullable(Accessors.method(key))).orElse(null);
+    }
+
+}
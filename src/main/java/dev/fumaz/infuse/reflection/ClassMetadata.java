@@ -0,0 +1,269 @@
+package dev.fumaz.infuse.reflection;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The header of a class file: its access flags, superclass, interfaces and class annotations,
+ * read straight from the bytes so a class can be filtered without being loaded.
+ */
+public final class ClassMetadata {
+
+    private static final int ACC_INTERFACE = 0x0200;
+    private static final int ACC_ABSTRACT = 0x0400;
+    private static final int ACC_SYNTHETIC = 0x1000;
+    private static final int ACC_ANNOTATION = 0x2000;
+    private static final int ACC_ENUM = 0x4000;
+
+    private final @NotNull String name;
+    private final int access;
+    private final @Nullable String superName;
+    private final @NotNull List<String> interfaceNames;
+    private final @NotNull List<String> annotationNames;
+
+    private ClassMetadata(@NotNull String name, int access, @Nullable String superName, @NotNull List<String> interfaceNames, @NotNull List<String> annotationNames) {
+        this.name = name;
+        this.access = access;
+        this.superName = superName;
+        this.interfaceNames = Collections.unmodifiableList(interfaceNames);
+        this.annotationNames = Collections.unmodifiableList(annotationNames);
+    }
+
+    /**
+     * Reads the metadata of a class file, closing the stream.
+     *
+     * @throws IOException if the stream cannot be read or does not hold a class file
+     */
+    public static @NotNull ClassMetadata read(@NotNull InputStream stream) throws IOException {
+        try (InputStream input = stream) {
+            return read(readAllBytes(input));
+        }
+    }
+
+    /**
+     * @throws IOException if the bytes are not a class file
+     */
+    public static @NotNull ClassMetadata read(byte[] bytes) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+
+        if (in.readInt() != 0xCAFEBABE) {
+            throw new IOException("Not a class file");
+        }
+
+        in.skipBytes(4);
+
+        int count = in.readUnsignedShort();
+        String[] strings = new String[count];
+        int[] classes = new int[count];
+
+        for (int i = 1; i < count; i++) {
+            int tag = in.readUnsignedByte();
+
+            switch (tag) {
+                case 1:
+                    strings[i] = in.readUTF();
+                    break;
+                case 7:
+                    classes[i] = in.readUnsignedShort();
+                    break;
+                case 8:
+                case 16:
+                case 19:
+                case 20:
+                    in.skipBytes(2);
+                    break;
+                case 15:
+                    in.skipBytes(3);
+                    break;
+                case 3:
+                case 4:
+                case 9:
+                case 10:
+                case 11:
+                case 12:
+                case 17:
+                case 18:
+                    in.skipBytes(4);
+                    break;
+                case 5:
+                case 6:
+                    in.skipBytes(8);
+                    i++;
+                    break;
+                default:
+                    throw new IOException("Unknown constant pool tag " + tag);
+            }
+        }
+
+        int access = in.readUnsignedShort();
+        String name = strings[classes[in.readUnsignedShort()]];
+        int superClass = in.readUnsignedShort();
+        String superName = superClass == 0 ? null : toClassName(strings[classes[superClass]]);
+        List<String> interfaceNames = new ArrayList<>();
+
+        for (int i = in.readUnsignedShort(); i > 0; i--) {
+            interfaceNames.add(toClassName(strings[classes[in.readUnsignedShort()]]));
+        }
+
+        skipMembers(in);
+        skipMembers(in);
+
+        List<String> annotationNames = new ArrayList<>();
+
+        for (int i = in.readUnsignedShort(); i > 0; i--) {
+            String attribute = strings[in.readUnsignedShort()];
+            int length = in.readInt();
+
+            if (!"RuntimeVisibleAnnotations".equals(attribute) && !"RuntimeInvisibleAnnotations".equals(attribute)) {
+                in.skipBytes(length);
+                continue;
+            }
+
+            for (int j = in.readUnsignedShort(); j > 0; j--) {
+                String descriptor = strings[in.readUnsignedShort()];
+                annotationNames.add(toClassName(descriptor.substring(1, descriptor.length() - 1)));
+                skipElementValuePairs(in);
+            }
+        }
+
+        return new ClassMetadata(toClassName(name), access, superName, interfaceNames, annotationNames);
+    }
+
+    private static void skipMembers(@NotNull DataInputStream in) throws IOException {
+        for (int i = in.readUnsignedShort(); i > 0; i--) {
+            in.skipBytes(6);
+
+            for (int j = in.readUnsignedShort(); j > 0; j--) {
+                in.skipBytes(2);
+                in.skipBytes(in.readInt());
+            }
+        }
+    }
+
+    private static void skipElementValuePairs(@NotNull DataInputStream in) throws IOException {
+        for (int i = in.readUnsignedShort(); i > 0; i--) {
+            in.skipBytes(2);
+            skipElementValue(in);
+        }
+    }
+
+    private static void skipElementValue(@NotNull DataInputStream in) throws IOException {
+        int tag = in.readUnsignedByte();
+
+        switch (tag) {
+            case 'e':
+                in.skipBytes(4);
+                break;
+            case '@':
+                in.skipBytes(2);
+                skipElementValuePairs(in);
+                break;
+            case '[':
+                for (int i = in.readUnsignedShort(); i > 0; i--) {
+                    skipElementValue(in);
+                }
+                break;
+            default:
+                in.skipBytes(2);
+                break;
+        }
+    }
+
+    private static @NotNull String toClassName(@NotNull String internalName) {
+        return internalName.replace('/', '.');
+    }
+
+    private static byte[] readAllBytes(@NotNull InputStream input) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(4096);
+        byte[] buffer = new byte[4096];
+        int read;
+
+        while ((read = input.read(buffer)) != -1) {
+            output.write(buffer, 0, read);
+        }
+
+        return output.toByteArray();
+    }
+
+    /**
+     * @return the binary name of the class, such as {@code com.example.Outer$Inner}
+     */
+    public @NotNull String getName() {
+        return name;
+    }
+
+    /**
+     * @return the access flags of the class file, as in {@link Modifier}
+     */
+    public int getAccess() {
+        return access;
+    }
+
+    /**
+     * @return the binary name of the superclass, or null for {@link Object} and module descriptors
+     */
+    public @Nullable String getSuperName() {
+        return superName;
+    }
+
+    public @NotNull List<String> getInterfaceNames() {
+        return interfaceNames;
+    }
+
+    /**
+     * @return the binary names of the annotations present on the class, retained at runtime or not
+     */
+    public @NotNull List<String> getAnnotationNames() {
+        return annotationNames;
+    }
+
+    public boolean hasAnnotation(@NotNull Class<? extends Annotation> annotation) {
+        return annotationNames.contains(annotation.getName());
+    }
+
+    public boolean isPublic() {
+        return Modifier.isPublic(access);
+    }
+
+    public boolean isInterface() {
+        return (access & ACC_INTERFACE) != 0;
+    }
+
+    public boolean isAnnotation() {
+        return (access & ACC_ANNOTATION) != 0;
+    }
+
+    public boolean isEnum() {
+        return (access & ACC_ENUM) != 0;
+    }
+
+    public boolean isSynthetic() {
+        return (access & ACC_SYNTHETIC) != 0;
+    }
+
+    /**
+     * @return whether the class is abstract, which includes interfaces
+     */
+    public boolean isAbstract() {
+        return (access & ACC_ABSTRACT) != 0;
+    }
+
+    /**
+     * @return whether the class can be instantiated, being neither abstract, an interface nor an enum
+     */
+    public boolean isConcrete() {
+        return !isAbstract() && !isInterface() && !isEnum();
+    }
+
+}
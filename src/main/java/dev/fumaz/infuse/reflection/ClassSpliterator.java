@@ -0,0 +1,301 @@
+package dev.fumaz.infuse.reflection;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * Walks the directories and jars of a package lazily, yielding a {@link ClassCandidate} per class file.
+ * <p>
+ * Each directory is listed when it is reached, and its subdirectories are queued as separate sources, so a split
+ * hands half of the pending sources to another thread. Once a single source is left, splits fall back to batches.
+ * Jars are opened when reached and stay open until the stream is closed, so candidates can still read their class file.
+ */
+final class ClassSpliterator implements Spliterator<ClassCandidate> {
+
+    private static final int BATCH_UNIT = 64;
+    private static final int MAX_BATCH = 4096;
+
+    private final @NotNull Scan scan;
+    private final @NotNull Deque<Source> sources;
+    private @Nullable Iterator<ClassCandidate> current;
+    private int batch;
+
+    ClassSpliterator(@NotNull ClassLoader classLoader, boolean recursive, @NotNull Deque<Source> sources) {
+        this(new Scan(classLoader, recursive), sources);
+    }
+
+    private ClassSpliterator(@NotNull Scan scan, @NotNull Deque<Source> sources) {
+        this.scan = scan;
+        this.sources = sources;
+    }
+
+    static @NotNull Source directory(@NotNull Path directory, @NotNull String packageName) {
+        return new DirectorySource(directory, packageName);
+    }
+
+    static @NotNull Source jar(@NotNull String file, @NotNull String packagePath) {
+        return new JarSource(file, packagePath);
+    }
+
+    @Override
+    public boolean tryAdvance(@NotNull Consumer<? super ClassCandidate> action) {
+        while (current == null || !current.hasNext()) {
+            Source source = sources.poll();
+
+            if (source == null) {
+                current = null;
+                return false;
+            }
+
+            current = source.open(scan, sources);
+        }
+
+        action.accept(current.next());
+        return true;
+    }
+
+    @Override
+    public @Nullable Spliterator<ClassCandidate> trySplit() {
+        if (sources.size() > 1) {
+            Deque<Source> split = new ArrayDeque<>();
+
+            for (int i = sources.size() / 2; i > 0; i--) {
+                split.add(sources.pollLast());
+            }
+
+            return new ClassSpliterator(scan, split);
+        }
+
+        batch = Math.min(batch + BATCH_UNIT, MAX_BATCH);
+
+        List<ClassCandidate> candidates = new ArrayList<>(batch);
+
+        while (candidates.size() < batch && tryAdvance(candidates::add)) {
+        }
+
+        if (candidates.isEmpty()) {
+            return null;
+        }
+
+        return Spliterators.spliterator(candidates, characteristics());
+    }
+
+    @Override
+    public long estimateSize() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return NONNULL | IMMUTABLE;
+    }
+
+    /**
+     * Closes every jar still open by this spliterator or one of its splits.
+     */
+    void close() {
+        scan.close();
+    }
+
+    /**
+     * The state shared by a spliterator and its splits.
+     */
+    private static class Scan {
+
+        private final @NotNull ClassLoader classLoader;
+        private final boolean recursive;
+        private final @NotNull Set<JarFile> jars = Collections.synchronizedSet(new HashSet<>());
+
+        private Scan(@NotNull ClassLoader classLoader, boolean recursive) {
+            this.classLoader = classLoader;
+            this.recursive = recursive;
+        }
+
+        private void close() {
+            List<JarFile> jars;
+
+            synchronized (this.jars) {
+                jars = new ArrayList<>(this.jars);
+                this.jars.clear();
+            }
+
+            for (JarFile jar : jars) {
+                closeQuietly(jar);
+            }
+        }
+
+    }
+
+    /**
+     * A directory or jar holding class files of the scanned package.
+     */
+    interface Source {
+
+        /**
+         * @param pending the sources left to walk, where nested sources found along the way are queued
+         * @return the candidates of this source
+         */
+        @NotNull Iterator<ClassCandidate> open(@NotNull Scan scan, @NotNull Deque<Source> pending);
+
+    }
+
+    private static class DirectorySource implements Source {
+
+        private final @NotNull Path directory;
+        private final @NotNull String packageName;
+
+        private DirectorySource(@NotNull Path directory, @NotNull String packageName) {
+            this.directory = directory;
+            this.packageName = packageName;
+        }
+
+        @Override
+        public @NotNull Iterator<ClassCandidate> open(@NotNull Scan scan, @NotNull Deque<Source> pending) {
+            if (!Files.isDirectory(directory)) {
+                return Collections.emptyIterator();
+            }
+
+            List<ClassCandidate> candidates = new ArrayList<>();
+
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+                for (Path file : stream) {
+                    String fileName = file.getFileName().toString();
+
+                    if (Files.isDirectory(file)) {
+                        if (scan.recursive && !Files.isSymbolicLink(file)) {
+                            pending.add(new DirectorySource(file, qualify(packageName, fileName)));
+                        }
+                    } else if (fileName.endsWith(".class")) {
+                        String name = qualify(packageName, fileName.substring(0, fileName.length() - ".class".length()));
+                        candidates.add(new ClassCandidate(scan.classLoader, name, () -> Files.newInputStream(file)));
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(packageName + ": unable to read classes", e);
+            }
+
+            return candidates.iterator();
+        }
+
+        private static @NotNull String qualify(@NotNull String packageName, @NotNull String name) {
+            return packageName.isEmpty() ? name : packageName + "." + name;
+        }
+
+    }
+
+    private static class JarSource implements Source {
+
+        private final @NotNull String file;
+        private final @NotNull String prefix;
+
+        private JarSource(@NotNull String file, @NotNull String packagePath) {
+            this.file = file;
+            this.prefix = packagePath.isEmpty() ? "" : packagePath + "/";
+        }
+
+        @Override
+        public @NotNull Iterator<ClassCandidate> open(@NotNull Scan scan, @NotNull Deque<Source> pending) {
+            JarFile jar;
+
+            try {
+                jar = new JarFile(file);
+            } catch (IOException e) {
+                return Collections.emptyIterator();
+            }
+
+            scan.jars.add(jar);
+
+            return new JarIterator(scan, jar, prefix);
+        }
+
+    }
+
+    private static class JarIterator implements Iterator<ClassCandidate> {
+
+        private final @NotNull Scan scan;
+        private final @NotNull JarFile jar;
+        private final @NotNull String prefix;
+        private final @NotNull Enumeration<JarEntry> entries;
+        private @Nullable ClassCandidate next;
+
+        private JarIterator(@NotNull Scan scan, @NotNull JarFile jar, @NotNull String prefix) {
+            this.scan = scan;
+            this.jar = jar;
+            this.prefix = prefix;
+            this.entries = jar.entries();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && entries.hasMoreElements()) {
+
+                JarEntry entry = entries.nextElement();
+                String entryName = entry.getName();
+
+                if (!entryName.endsWith(".class") || !entryName.startsWith(prefix)) {
+                    continue;
+                }
+
+                if (!scan.recursive && entryName.indexOf('/', prefix.length()) != -1) {
+                    continue;
+                }
+
+                String name = entryName.substring(0, entryName.length() - ".class".length()).replace('/', '.');
+                next = new ClassCandidate(scan.classLoader, name, () -> open(entry));
+            }
+
+            return next != null;
+        }
+
+        @Override
+        public @NotNull ClassCandidate next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            ClassCandidate candidate = next;
+            next = null;
+
+            return candidate;
+        }
+
+        private @Nullable InputStream open(@NotNull JarEntry entry) throws IOException {
+            try {
+                return jar.getInputStream(entry);
+            } catch (IllegalStateException e) {
+                return null;
+            }
+        }
+
+    }
+
+    private static void closeQuietly(@NotNull JarFile jar) {
+        try {
+            jar.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+}
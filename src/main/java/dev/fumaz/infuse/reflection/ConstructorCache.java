@@ -0,0 +1,105 @@
+package dev.fumaz.infuse.reflection;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link ConstructorCache} is a bounded concurrent cache of constructor resolutions,
+ * keyed by the target class and the classes of the arguments it is constructed with.
+ * <p>
+ * A null argument is keyed as a null class, since it matches any parameter type.
+ *
+ * @param <V> the type of the resolution
+ */
+public class ConstructorCache<V> {
+
+    private final int maximumSize;
+    private final @NotNull Map<Key, V> cache = new ConcurrentHashMap<>();
+
+    public ConstructorCache(int maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public @Nullable V get(@NotNull Class<?> type, @NotNull Object[] arguments) {
+        return cache.get(new Key(type, getClasses(arguments)));
+    }
+
+    public @Nullable V get(@NotNull Class<?> type, @NotNull Class<?>[] argumentTypes) {
+        return cache.get(new Key(type, argumentTypes));
+    }
+
+    public void put(@NotNull Class<?> type, @NotNull Object[] arguments, @NotNull V value) {
+        put(type, getClasses(arguments), value);
+    }
+
+    public void put(@NotNull Class<?> type, @NotNull Class<?>[] argumentTypes, @NotNull V value) {
+        if (cache.size() >= maximumSize) {
+            // Evict an arbitrary entry, resolutions are cheap enough to recompute
+            Iterator<Key> iterator = cache.keySet().iterator();
+
+            if (iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+
+        cache.put(new Key(type, argumentTypes.clone()), value);
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    private static @NotNull Class<?>[] getClasses(@NotNull Object[] arguments) {
+        Class<?>[] classes = new Class<?>[arguments.length];
+
+        for (int i = 0; i < arguments.length; i++) {
+            classes[i] = arguments[i] == null ? null : arguments[i].getClass();
+        }
+
+        return classes;
+    }
+
+    private static class Key {
+
+        private final @NotNull Class<?> type;
+        private final @NotNull Class<?>[] argumentTypes;
+        private final int hashCode;
+
+        private Key(@NotNull Class<?> type, @NotNull Class<?>[] argumentTypes) {
+            this.type = type;
+            this.argumentTypes = argumentTypes;
+            this.hashCode = 31 * type.hashCode() + Arrays.hashCode(argumentTypes);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (!(o instanceof Key)) {
+                return false;
+            }
+
+            Key key = (Key) o;
+            return type == key.type && Arrays.equals(argumentTypes, key.argumentTypes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+    }
+
+}
@@ -0,0 +1,12 @@
+package dev.fumaz.infuse.reflection;
+
+/**
+ * A {@link FieldAccessor} reads and writes a single field, skipping the access checks of {@link java.lang.reflect.Field}.
+ */
+interface FieldAccessor {
+
+    Object get(Object instance) throws Throwable;
+
+    void set(Object instance, Object value) throws Throwable;
+
+}
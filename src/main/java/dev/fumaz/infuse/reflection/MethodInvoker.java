@@ -0,0 +1,11 @@
+package dev.fumaz.infuse.reflection;
+
+/**
+ * A {@link MethodInvoker} invokes a single method, skipping the access checks of {@link java.lang.reflect.Method}.
+ * Exceptions thrown by the method itself are rethrown as they are.
+ */
+interface MethodInvoker {
+
+    Object invoke(Object instance, Object[] arguments) throws Throwable;
+
+}
@@ -1,20 +1,17 @@
 package dev.fumaz.infuse.reflection;
 
-import java.io.File;
 import java.io.IOException;
+import java.lang.annotation.Annotation;
 import java.lang.reflect.*;
 import java.net.URL;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.DirectoryStream;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
 import java.util.function.Consumer;
-import java.util.jar.JarEntry;
-import java.util.jar.JarFile;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @SuppressWarnings({"unchecked"})
 public final class Reflections {
@@ -33,9 +30,17 @@ public final class Reflections {
 
     private static <T> T construct(Class<T> clazz, Class<?>[] parameterTypes, Object... parameters) {
         try {
-            Constructor<T> constructor = getSuitableConstructor(clazz, parameterTypes);
-            checkConstructor(constructor);
-            constructor.setAccessible(true);
+            // Cached on the class itself, so the cache never keeps a class loader alive
+            ClassMembers members = ClassMembers.of(clazz);
+            Constructor<T> constructor = (Constructor<T>) members.getConstructor(clazz, parameterTypes);
+
+            if (constructor == null) {
+                constructor = getSuitableConstructor(clazz, parameterTypes);
+                checkConstructor(constructor);
+                constructor.setAccessible(true);
+                members.putConstructor(clazz, parameterTypes, constructor);
+            }
+
             return constructor.newInstance(parameters);
         } catch (InvocationTargetException | NoSuchMethodException e) {
             throw new ReflectionException("Exception whilst fetching the method", e);
@@ -52,7 +57,27 @@ public final class Reflections {
         }
     }
 
-    public static Set<Class<?>> getClassesInPackage(ClassLoader classLoader, String pkgName, boolean recursive) {
+    /**
+     * Lazily walks the directories and jars of a package, yielding a {@link ClassCandidate} for every class file
+     * without loading it. Candidates can be filtered by name or {@link ClassMetadata} before being loaded,
+     * the walk stops as soon as the stream is short-circuited, and the stream splits by directory for parallel use.
+     * <p>
+     * Jars stay open until the stream is closed, so close it once done.
+     * While a {@link ScanSession} is current, the candidates are served from its index instead.
+     * When the package is neither in a directory nor in a jar, as in a native image, they are read from its {@link ClassIndex}.
+     *
+     * @param classLoader the class loader to find the package with, and to load the candidates with
+     * @param pkgName     the name of the package
+     * @param recursive   whether to include subpackages
+     * @return the candidates, in no particular order
+     */
+    public static Stream<ClassCandidate> scan(ClassLoader classLoader, String pkgName, boolean recursive) {
+        ScanSession session = ScanSession.current();
+
+        if (session != null) {
+            return session.scan(classLoader, pkgName, recursive);
+        }
+
         String path = pkgName.replace('.', '/');
         Enumeration<URL> resources;
 
@@ -62,136 +87,123 @@ public final class Reflections {
             throw new RuntimeException("Could not read package: " + pkgName, e);
         }
 
-        Set<Class<?>> classes = new HashSet<>();
+        Deque<ClassSpliterator.Source> sources = new ArrayDeque<>();
 
         while (resources.hasMoreElements()) {
             URL resource = resources.nextElement();
 
             try {
                 if (resource.getProtocol().equalsIgnoreCase("file")) {
-                    classes.addAll(findClassesInPath(new File(resource.toURI()).getAbsolutePath(), pkgName, recursive));
+                    sources.add(ClassSpliterator.directory(Paths.get(resource.toURI()), pkgName));
                 } else if (resource.getProtocol().equalsIgnoreCase("jar")) {
                     String jarPath = resource.getPath().substring(5, resource.getPath().indexOf("!"));
-                    classes.addAll(findClassesInJar(jarPath, path, pkgName, recursive));
+                    sources.add(ClassSpliterator.jar(URLDecoder.decode(jarPath, StandardCharsets.UTF_8.name()), path));
                 }
             } catch (Exception e) {
                 throw new RuntimeException("Could not get classes for package: " + pkgName, e);
             }
         }
 
-        return classes;
-    }
-
-    private static Set<Class<?>> findClassesInPath(String pkgPath, String packageName, boolean recursive)
-            throws ClassNotFoundException {
-        Path directory = Paths.get(pkgPath);
-
-        if (!Files.exists(directory)) {
-            return Collections.emptySet();
-        }
-
-        Set<Class<?>> classes = new HashSet<>();
-        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
-            for (Path file : stream) {
-                if (recursive && Files.isDirectory(file)) {
-                    assert !Files.isSymbolicLink(file);
-                    classes.addAll(findClassesInPath(file.toString(), packageName + "." + file.getFileName(), recursive));
-                } else if (file.toString().endsWith(".class")) {
-                    String relativePath = directory.relativize(file).toString();
-                    String className = relativePath.substring(0, relativePath.lastIndexOf('.')).replace('/', '.');
-
-                    try {
-                        Class<?> clazz = Class.forName(packageName + "." + className);
-                        classes.add(clazz);
-                    } catch (Throwable e) {
-                    }
-                }
-            }
-        } catch (IOException e) {
-            throw new RuntimeException(packageName + ": unable to read classes", e);
+        if (sources.isEmpty()) {
+            return ClassIndex.read(classLoader, pkgName, recursive).stream();
         }
-        return classes;
-    }
 
-    private static Set<Class<?>> findClassesInJar(String jarPath, String pkgPath, String packageName, boolean recursive) {
-        try (JarFile jarFile = new JarFile(URLDecoder.decode(jarPath, StandardCharsets.UTF_8.name()))) {
-            Set<Class<?>> classes = new HashSet<>();
-            Enumeration<JarEntry> entries = jarFile.entries();
+        ClassSpliterator spliterator = new ClassSpliterator(classLoader, recursive, sources);
 
-            while (entries.hasMoreElements()) {
-                JarEntry entry = entries.nextElement();
-                String entryName = entry.getName();
-                if (entryName.endsWith(".class") && entryName.startsWith(pkgPath) && entryName.length() > pkgPath.length()) {
-                    if (!recursive && entryName.lastIndexOf('/') > pkgPath.length()) {
-                        continue;
-                    }
-
-                    String className = entryName.replace('/', '.').substring(0, entryName.length() - ".class".length());
+        return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
+    }
 
-                    try {
-                        Class<?> clazz = Class.forName(className);
-                        classes.add(clazz);
-                    } catch (Throwable e) {
-                    }
-                }
-            }
+    /**
+     * Loads every class of a package which can be loaded, skipping the others.
+     */
+    public static Stream<Class<?>> streamClassesInPackage(ClassLoader classLoader, String pkg, boolean recursive) {
+        return scan(classLoader, pkg, recursive)
+                .map(ClassCandidate::loadOrNull)
+                .filter(Objects::nonNull);
+    }
 
-            return classes;
-        } catch (Exception e) {
-            return Collections.emptySet();
+    public static Set<Class<?>> getClassesInPackage(ClassLoader classLoader, String pkgName, boolean recursive) {
+        try (Stream<Class<?>> classes = streamClassesInPackage(classLoader, pkgName, recursive)) {
+            return classes.collect(Collectors.toSet());
         }
     }
 
     public static <T> Set<Class<? extends T>> getMatchingClassesInPackage(ClassLoader classLoader, String pkg, Class<T> type, boolean recursive) {
-        Set<Class<?>> classes = Reflections.getClassesInPackage(classLoader, pkg, recursive);
-
-        return classes.stream()
-                .filter(type::isAssignableFrom)
-                .map(clazz -> (Class<? extends T>) clazz)
-                .collect(Collectors.toSet());
+        try (Stream<Class<? extends T>> classes = streamMatchingClasses(scan(classLoader, pkg, recursive), type)) {
+            return classes.collect(Collectors.toSet());
+        }
     }
 
     public static <T> Set<Class<? extends T>> getConcreteClassesInPackage(ClassLoader classLoader, String pkg, Class<T> type, boolean recursive) {
-        Set<Class<? extends T>> classes = Reflections.getMatchingClassesInPackage(classLoader, pkg, type, recursive);
-
-        return classes.stream()
-                .filter(clazz -> !Modifier.isAbstract(clazz.getModifiers()))
-                .collect(Collectors.toSet());
+        try (Stream<Class<? extends T>> classes = streamConcreteClasses(classLoader, pkg, type, recursive)) {
+            return classes.collect(Collectors.toSet());
+        }
     }
 
     public static void consume(ClassLoader classLoader, String pkg, boolean recursive, Consumer<Class<?>> consumer) {
-        Reflections.getClassesInPackage(classLoader, pkg, recursive).forEach(consumer);
+        try (Stream<Class<?>> classes = streamClassesInPackage(classLoader, pkg, recursive)) {
+            classes.forEach(consumer);
+        }
     }
 
     public static <T> void consume(ClassLoader classLoader, String pkg, Class<T> type, boolean recursive, Consumer<Class<? extends T>> consumer) {
-        Reflections.getMatchingClassesInPackage(classLoader, pkg, type, recursive).forEach(consumer);
+        try (Stream<Class<? extends T>> classes = streamMatchingClasses(scan(classLoader, pkg, recursive), type)) {
+            classes.forEach(consumer);
+        }
     }
 
     public static <T> void consumeConcrete(ClassLoader classLoader, String pkg, Class<T> type, boolean recursive, Consumer<Class<? extends T>> consumer) {
-        Reflections.getConcreteClassesInPackage(classLoader, pkg, type, recursive).forEach(consumer);
+        try (Stream<Class<? extends T>> classes = streamConcreteClasses(classLoader, pkg, type, recursive)) {
+            classes.forEach(consumer);
+        }
     }
 
     public static <T> void consumeInstance(ClassLoader classLoader, String pkg, Class<T> type, boolean recursive, Consumer<T> consumer) {
-        Set<Class<? extends T>> classes = Reflections.getConcreteClassesInPackage(classLoader, pkg, type, recursive);
-
-        classes.forEach(clazz -> consumer.accept(Reflections.construct(clazz)));
+        try (Stream<Class<? extends T>> classes = streamConcreteClasses(classLoader, pkg, type, recursive)) {
+            classes.forEach(clazz -> consumer.accept(Reflections.construct(clazz)));
+        }
     }
 
     public static <T> void consumeInstance(ClassLoader classLoader, String pkg, Class<T> type, boolean recursive, Consumer<T> consumer, Object... args) {
-        Set<Class<? extends T>> classes = Reflections.getConcreteClassesInPackage(classLoader, pkg, type, recursive);
+        try (Stream<Class<? extends T>> classes = streamConcreteClasses(classLoader, pkg, type, recursive)) {
+            classes.forEach(clazz -> consumer.accept(Reflections.construct(clazz, args)));
+        }
+    }
+
+    private static <T> Stream<Class<? extends T>> streamMatchingClasses(Stream<ClassCandidate> candidates, Class<T> type) {
+        return candidates
+                .map(ClassCandidate::loadOrNull)
+                .filter(clazz -> clazz != null && type.isAssignableFrom(clazz))
+                .map(clazz -> (Class<? extends T>) clazz);
+    }
 
-        classes.forEach(clazz -> consumer.accept(Reflections.construct(clazz, args)));
+    /**
+     * Skips abstract classes and interfaces from their class file, before they are loaded.
+     */
+    private static <T> Stream<Class<? extends T>> streamConcreteClasses(ClassLoader classLoader, String pkg, Class<T> type, boolean recursive) {
+        Stream<ClassCandidate> candidates = scan(classLoader, pkg, recursive).filter(candidate -> {
+            try {
+                return !candidate.getMetadata().isAbstract();
+            } catch (ReflectionException e) {
+                return true;
+            }
+        });
+
+        return streamMatchingClasses(candidates, type).filter(clazz -> !Modifier.isAbstract(clazz.getModifiers()));
     }
 
     public static Field getField(Class<?> clazz, String name) {
-        try {
-            Field field = clazz.getDeclaredField(name);
-            field.setAccessible(true);
+        Field field = ClassMembers.of(clazz).getField(name);
 
-            return field;
-        } catch (NoSuchFieldException e) {
-            throw new ReflectionException("Exception whilst getting the field", e);
+        if (field == null) {
+            throw new ReflectionException("Exception whilst getting the field", new NoSuchFieldException(name));
         }
+
+        if (!field.isAccessible()) {
+            field.setAccessible(true);
+        }
+
+        return field;
     }
 
     public static Field getField(Object object, String name) {
@@ -199,9 +211,18 @@ public final class Reflections {
     }
 
     public static <T> T getFieldValue(Object object, Field field) {
+        FieldAccessor accessor = isAccessible(field) ? ClassMembers.of(field.getDeclaringClass()).getAccessor(field) : null;
+
         try {
+            if (accessor != null) {
+                checkTarget(field, object);
+                return (T) accessor.get(object);
+            }
+
             return (T) field.get(object);
-        } catch (IllegalAccessException e) {
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
             throw new ReflectionException("Exception whilst getting the field's value", e);
         }
     }
@@ -213,9 +234,24 @@ public final class Reflections {
     }
 
     public static void setField(Object object, Field field, Object value) {
+        FieldAccessor accessor = isAccessible(field) ? ClassMembers.of(field.getDeclaringClass()).getAccessor(field) : null;
+
         try {
+            if (accessor != null) {
+                checkTarget(field, object);
+
+                if (value != null && !field.getType().isInstance(value)) {
+                    throw new IllegalArgumentException("Can not set " + field.getType().getName() + " field " + field.getDeclaringClass().getName() + "." + field.getName() + " to " + value.getClass().getName());
+                }
+
+                accessor.set(object, value);
+                return;
+            }
+
             field.set(object, value);
-        } catch (IllegalAccessException e) {
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
             throw new ReflectionException("Exception whilst setting the value of the field", e);
         }
     }
@@ -227,22 +263,46 @@ public final class Reflections {
     }
 
     public static Method getMethod(Class<?> clazz, String name) {
-        return Arrays.stream(clazz.getDeclaredMethods())
-                .filter(method -> method.getName().equals(name))
-                .findFirst()
-                .orElse(null);
+        return ClassMembers.of(clazz).getMethod(name);
     }
 
     public static Method getMethod(Object instance, String name) {
         return getMethod(instance.getClass(), name);
     }
 
+    public static List<Method> getMethodsAnnotatedWith(Class<?> clazz, Class<? extends Annotation> annotation) {
+        List<Method> methods = new ArrayList<>();
+
+        for (Class<?> current = clazz; current != null; current = current.getSuperclass()) {
+            for (Method method : current.getDeclaredMethods()) {
+                if (method.isAnnotationPresent(annotation)) {
+                    methods.add(method);
+                }
+            }
+        }
+
+        return methods;
+    }
+
     public static void invokeMethod(Object instance, Method method, Object... arguments) {
+        MethodInvoker invoker = isAccessible(method) ? ClassMembers.of(method.getDeclaringClass()).getInvoker(method) : null;
+
         try {
-            method.invoke(instance, arguments);
+            if (invoker == null) {
+                method.invoke(instance, arguments);
+                return;
+            }
+
+            checkArguments(method, instance, arguments);
         } catch (IllegalAccessException | InvocationTargetException e) {
             throw new ReflectionException("Exception whilst invoking the method", e);
         }
+
+        try {
+            invoker.invoke(instance, arguments);
+        } catch (Throwable e) {
+            throw new ReflectionException("Exception whilst invoking the method", new InvocationTargetException(e));
+        }
     }
 
     public static void invokeMethod(Object instance, String name, Object... arguments) {
@@ -294,6 +354,63 @@ public final class Reflections {
         return true;
     }
 
+    /**
+     * @return whether core reflection can access the member without an access check failing
+     */
+    private static boolean isAccessible(AccessibleObject object) {
+        if (object.isAccessible()) {
+            return true;
+        }
+
+        Member member = (Member) object;
+        return Modifier.isPublic(member.getModifiers()) && Modifier.isPublic(member.getDeclaringClass().getModifiers());
+    }
+
+    /**
+     * Performs the checks core reflection does before accessing a field, so accessors fail the same way.
+     */
+    private static void checkTarget(Field field, Object object) {
+        if (Modifier.isStatic(field.getModifiers())) {
+            return;
+        }
+
+        if (object == null) {
+            throw new NullPointerException("Cannot access instance field " + field.getName() + " of a null object");
+        }
+
+        if (!field.getDeclaringClass().isInstance(object)) {
+            throw new IllegalArgumentException("Can not access field " + field.getDeclaringClass().getName() + "." + field.getName() + " on " + object.getClass().getName());
+        }
+    }
+
+    /**
+     * Performs the checks core reflection does before invoking a method, so invokers fail the same way.
+     */
+    private static void checkArguments(Method method, Object instance, Object[] arguments) {
+        if (!Modifier.isStatic(method.getModifiers())) {
+            if (instance == null) {
+                throw new NullPointerException("Cannot invoke " + method.getName() + " on a null object");
+            }
+
+            if (!method.getDeclaringClass().isInstance(instance)) {
+                throw new IllegalArgumentException("object is not an instance of declaring class");
+            }
+        }
+
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        int length = arguments == null ? 0 : arguments.length;
+
+        if (parameterTypes.length != length) {
+            throw new IllegalArgumentException("wrong number of arguments");
+        }
+
+        for (int i = 0; i < length; i++) {
+            if (arguments[i] != null && !parameterTypes[i].isInstance(arguments[i])) {
+                throw new IllegalArgumentException("argument type mismatch");
+            }
+        }
+    }
+
     private static void checkConstructor(Constructor<?> constructor) throws NoSuchMethodException {
         if (constructor == null) {
             throw new NoSuchMethodException("Couldn't find constructor for given parameters");
@@ -0,0 +1,326 @@
+package dev.fumaz.infuse.reflection;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+/**
+ * A {@link ScanSession} indexes every classpath root the first time one of its packages is scanned,
+ * and serves every later {@link Reflections#scan(ClassLoader, String, boolean)} on the same thread from that index,
+ * so overlapping scans such as {@code com.acme} and {@code com.acme.billing} read each jar and directory once.
+ * <p>
+ * The injector opens a session while its modules are configured and closes it right after, releasing the index.
+ * Work handed to other threads must be wrapped with {@link #wrap(Runnable)} to share the session.
+ * Packages which are neither in a directory nor in a jar are read from their {@link ClassIndex}.
+ */
+public final class ScanSession implements AutoCloseable {
+
+    private static final ThreadLocal<ScanSession> CURRENT = new ThreadLocal<>();
+
+    private final @NotNull Index index;
+    private final @Nullable ScanSession previous;
+    private final boolean owner;
+
+    private ScanSession(@NotNull Index index, @Nullable ScanSession previous, boolean owner) {
+        this.index = index;
+        this.previous = previous;
+        this.owner = owner;
+    }
+
+    /**
+     * Makes a session current on this thread until it is closed.
+     * If a session is already current, the returned session shares its index and closing it leaves the index open.
+     *
+     * @return the session
+     */
+    public static @NotNull ScanSession open() {
+        ScanSession current = CURRENT.get();
+        ScanSession session = current == null
+                ? new ScanSession(new Index(), null, true)
+                : new ScanSession(current.index, current, false);
+
+        CURRENT.set(session);
+
+        return session;
+    }
+
+    /**
+     * @return the session current on this thread, or null if scans read the classpath directly
+     */
+    public static @Nullable ScanSession current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Wraps a task so it runs with this session current, on whichever thread it is executed.
+     *
+     * @param task the task
+     * @return the wrapped task
+     */
+    public @NotNull Runnable wrap(@NotNull Runnable task) {
+        return () -> {
+            ScanSession previous = CURRENT.get();
+            CURRENT.set(this);
+
+            try {
+                task.run();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    /**
+     * Lists the class files of a package from the index, indexing the roots holding the package if needed.
+     *
+     * @see Reflections#scan(ClassLoader, String, boolean)
+     */
+    @NotNull Stream<ClassCandidate> scan(@NotNull ClassLoader classLoader, @NotNull String pkgName, boolean recursive) {
+        String path = pkgName.replace('.', '/');
+        Enumeration<URL> resources;
+
+        try {
+            resources = classLoader.getResources(path);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read package: " + pkgName, e);
+        }
+
+        String prefix = pkgName.isEmpty() ? "" : pkgName + ".";
+        List<ClassCandidate> candidates = new ArrayList<>();
+        boolean indexed = false;
+
+        while (resources.hasMoreElements()) {
+            URL resource = resources.nextElement();
+            Root root;
+
+            try {
+                root = index.getRoot(resource, path);
+            } catch (Exception e) {
+                throw new RuntimeException("Could not get classes for package: " + pkgName, e);
+            }
+
+            if (root != null) {
+                root.collect(classLoader, prefix, recursive, candidates);
+                indexed = true;
+            }
+        }
+
+        if (!indexed) {
+            return ClassIndex.read(classLoader, pkgName, recursive).stream();
+        }
+
+        return candidates.stream();
+    }
+
+    /**
+     * Restores the session which was current when this one was opened, and releases the index if this session created it.
+     */
+    @Override
+    public void close() {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+
+        if (owner) {
+            index.close();
+        }
+    }
+
+    /**
+     * The classpath roots indexed so far, keyed by their directory or jar file.
+     */
+    private static class Index {
+
+        private final @NotNull Map<String, Root> roots = new ConcurrentHashMap<>();
+        private volatile boolean closed;
+
+        private @Nullable Root getRoot(@NotNull URL resource, @NotNull String packagePath) throws Exception {
+            if (closed) {
+                throw new IllegalStateException("The scan session is closed");
+            }
+
+            if (resource.getProtocol().equalsIgnoreCase("file")) {
+                Path directory = Paths.get(resource.toURI());
+
+                for (int i = packagePath.isEmpty() ? 0 : packagePath.split("/").length; i > 0; i--) {
+                    directory = directory.getParent();
+                }
+
+                Path root = directory;
+
+                return roots.computeIfAbsent(root.toString(), key -> DirectoryRoot.index(root));
+            }
+
+            if (resource.getProtocol().equalsIgnoreCase("jar")) {
+                String jarPath = resource.getPath().substring(5, resource.getPath().indexOf("!"));
+                String file = URLDecoder.decode(jarPath, StandardCharsets.UTF_8.name());
+
+                return roots.computeIfAbsent(file, JarRoot::index);
+            }
+
+            return null;
+        }
+
+        private void close() {
+            closed = true;
+            roots.values().forEach(Root::close);
+            roots.clear();
+        }
+
+    }
+
+    /**
+     * An indexed classpath root, holding the binary names of its classes in sorted order.
+     */
+    private abstract static class Root {
+
+        private final @NotNull String[] names;
+
+        private Root(@NotNull List<String> names) {
+            this.names = names.toArray(new String[0]);
+            Arrays.sort(this.names);
+        }
+
+        private void collect(@NotNull ClassLoader classLoader, @NotNull String prefix, boolean recursive, @NotNull List<ClassCandidate> candidates) {
+            int index = Arrays.binarySearch(names, prefix);
+
+            for (int i = index < 0 ? -index - 1 : index; i < names.length && names[i].startsWith(prefix); i++) {
+                String name = names[i];
+
+                if (!recursive && name.indexOf('.', prefix.length()) != -1) {
+                    continue;
+                }
+
+                candidates.add(new ClassCandidate(classLoader, name, () -> open(name)));
+            }
+        }
+
+        abstract @Nullable InputStream open(@NotNull String name) throws IOException;
+
+        void close() {
+        }
+
+        static @NotNull String toClassName(@NotNull String path) {
+            return path.substring(0, path.length() - ".class".length()).replace('/', '.');
+        }
+
+    }
+
+    private static class DirectoryRoot extends Root {
+
+        private final @NotNull Path root;
+
+        private DirectoryRoot(@NotNull Path root, @NotNull List<String> names) {
+            super(names);
+            this.root = root;
+        }
+
+        private static @NotNull DirectoryRoot index(@NotNull Path root) {
+            List<String> names = new ArrayList<>();
+
+            try (Stream<Path> files = Files.walk(root)) {
+                files.forEach(file -> {
+                    if (file.getFileName() != null && file.getFileName().toString().endsWith(".class") && Files.isRegularFile(file)) {
+                        names.add(toClassName(root.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/")));
+                    }
+                });
+            } catch (IOException e) {
+                throw new UncheckedIOException(root + ": unable to read classes", e);
+            }
+
+            return new DirectoryRoot(root, names);
+        }
+
+        @Override
+        @Nullable InputStream open(@NotNull String name) throws IOException {
+            return Files.newInputStream(root.resolve(name.replace('.', '/') + ".class"));
+        }
+
+    }
+
+    private static class JarRoot extends Root {
+
+        private final @Nullable JarFile jar;
+
+        private JarRoot(@Nullable JarFile jar, @NotNull List<String> names) {
+            super(names);
+            this.jar = jar;
+        }
+
+        private static @NotNull JarRoot index(@NotNull String file) {
+            JarFile jar;
+
+            try {
+                jar = new JarFile(file);
+            } catch (IOException e) {
+                return new JarRoot(null, new ArrayList<>());
+            }
+
+            List<String> names = new ArrayList<>();
+            Enumeration<JarEntry> entries = jar.entries();
+
+            while (entries.hasMoreElements()) {
+                String entryName = entries.nextElement().getName();
+
+                if (entryName.endsWith(".class")) {
+                    names.add(toClassName(entryName));
+                }
+            }
+
+            return new JarRoot(jar, names);
+        }
+
+        @Override
+        @Nullable InputStream open(@NotNull String name) throws IOException {
+            if (jar == null) {
+                return null;
+            }
+
+            try {
+                JarEntry entry = jar.getJarEntry(name.replace('.', '/') + ".class");
+
+                return entry == null ? null : jar.getInputStream(entry);
+            } catch (IllegalStateException e) {
+                return null;
+            }
+        }
+
+        @Override
+        void close() {
+            if (jar == null) {
+                return;
+            }
+
+            try {
+                jar.close();
+            } catch (IOException ignored) {
+            }
+        }
+
+    }
+
+}
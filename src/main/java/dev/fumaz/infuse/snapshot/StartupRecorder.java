@@ -0,0 +1,55 @@
+package dev.fumaz.infuse.snapshot;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link StartupRecorder} records the types constructed by an injector, in order, until it is stopped.
+ */
+public class StartupRecorder {
+
+    private final @NotNull String fingerprint;
+    private final @NotNull Map<Class<?>, Constructor<?>> constructors = new LinkedHashMap<>();
+    private volatile boolean recording = true;
+
+    public StartupRecorder(@NotNull String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    public void record(@NotNull Constructor<?> constructor) {
+        if (!recording) {
+            return;
+        }
+
+        synchronized (constructors) {
+            constructors.putIfAbsent(constructor.getDeclaringClass(), constructor);
+        }
+    }
+
+    public boolean isRecording() {
+        return recording;
+    }
+
+    /**
+     * Stops recording.
+     *
+     * @return the snapshot of everything recorded so far
+     */
+    public @NotNull StartupSnapshot stop() {
+        recording = false;
+
+        List<StartupSnapshot.Entry> entries = new ArrayList<>();
+
+        synchronized (constructors) {
+            constructors.values().forEach(constructor -> entries.add(StartupSnapshot.Entry.of(constructor)));
+        }
+
+        return new StartupSnapshot(fingerprint, entries);
+    }
+
+}
@@ -0,0 +1,257 @@
+package dev.fumaz.infuse.snapshot;
+
+import dev.fumaz.infuse.bind.Binding;
+import dev.fumaz.infuse.module.Module;
+import dev.fumaz.infuse.provider.Provider;
+import dev.fumaz.infuse.provider.SingletonProvider;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A {@link StartupSnapshot} is the recorded result of an injector startup: the types that were constructed,
+ * in the order they were constructed, along with the constructor that was chosen for each of them.
+ * <p>
+ * Snapshots are stored as a small line-based text file, and are only valid for the modules they were recorded with.
+ */
+public class StartupSnapshot {
+
+    private static final String HEADER = "infuse-snapshot 1";
+
+    private final @NotNull String fingerprint;
+    private final @NotNull List<Entry> entries;
+
+    public StartupSnapshot(@NotNull String fingerprint, @NotNull List<Entry> entries) {
+        this.fingerprint = fingerprint;
+        this.entries = Collections.unmodifiableList(new ArrayList<>(entries));
+    }
+
+    /**
+     * Reads a snapshot from a file.
+     *
+     * @param file the snapshot file
+     * @return the snapshot, or null if the file does not exist or is not a valid snapshot
+     */
+    public static @Nullable StartupSnapshot read(@NotNull Path file) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            if (!HEADER.equals(reader.readLine())) {
+                return null;
+            }
+
+            String fingerprint = reader.readLine();
+
+            if (fingerprint == null) {
+                return null;
+            }
+
+            List<Entry> entries = new ArrayList<>();
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+
+                int separator = line.indexOf(' ');
+
+                if (separator == -1) {
+                    entries.add(new Entry(line, new String[0]));
+                } else {
+                    entries.add(new Entry(line.substring(0, separator), line.substring(separator + 1).split(",")));
+                }
+            }
+
+            return new StartupSnapshot(fingerprint, entries);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Writes this snapshot to a file, replacing any previous snapshot atomically.
+     *
+     * @param file the snapshot file
+     */
+    public void write(@NotNull Path file) {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+
+            Path temporary = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+
+            try (BufferedWriter writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+                writer.write(HEADER);
+                writer.newLine();
+                writer.write(fingerprint);
+                writer.newLine();
+
+                for (Entry entry : entries) {
+                    writer.write(entry.getType());
+
+                    if (entry.getParameters().length > 0) {
+                        writer.write(' ');
+                        writer.write(String.join(",", entry.getParameters()));
+                    }
+
+                    writer.newLine();
+                }
+            }
+
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write startup snapshot to " + file, e);
+        }
+    }
+
+    /**
+     * Computes the fingerprint of a set of modules, which changes whenever a module or one of its bindings changes.
+     * The modules must already be configured.
+     *
+     * @param modules the modules
+     * @return the fingerprint
+     */
+    public static @NotNull String fingerprint(@NotNull List<Module> modules) {
+        StringBuilder builder = new StringBuilder();
+
+        for (Module module : modules) {
+            builder.append(module.getClass().getName()).append('\n');
+
+            for (Binding<?> binding : module.getBindings()) {
+                builder.append(binding.getTypeLiteral()).append('=').append(describe(binding.getProvider())).append('\n');
+            }
+        }
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            StringBuilder hex = new StringBuilder();
+
+            for (byte b : digest.digest(builder.toString().getBytes(StandardCharsets.UTF_8))) {
+                hex.append(String.format("%02x", b));
+            }
+
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static @NotNull String describe(@NotNull Provider<?> provider) {
+        if (provider instanceof SingletonProvider<?>) {
+            return ((SingletonProvider<?>) provider).isEager() ? "eager-singleton" : "singleton";
+        }
+
+        // Lambda class names are not stable across runs
+        if (provider.getClass().isSynthetic()) {
+            return "lambda";
+        }
+
+        return provider.getClass().getName();
+    }
+
+    public @NotNull String getFingerprint() {
+        return fingerprint;
+    }
+
+    public @NotNull List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * A recorded type along with the parameter types of the constructor that was chosen for it.
+     */
+    public static class Entry {
+
+        private final @NotNull String type;
+        private final @NotNull String[] parameters;
+
+        public Entry(@NotNull String type, @NotNull String[] parameters) {
+            this.type = type;
+            this.parameters = parameters;
+        }
+
+        public static @NotNull Entry of(@NotNull Constructor<?> constructor) {
+            Class<?>[] parameterTypes = constructor.getParameterTypes();
+            String[] parameters = new String[parameterTypes.length];
+
+            for (int i = 0; i < parameterTypes.length; i++) {
+                parameters[i] = parameterTypes[i].getName();
+            }
+
+            return new Entry(constructor.getDeclaringClass().getName(), parameters);
+        }
+
+        public @NotNull String getType() {
+            return type;
+        }
+
+        public @NotNull String[] getParameters() {
+            return parameters;
+        }
+
+        /**
+         * Resolves the recorded constructor.
+         *
+         * @param classLoader the class loader to load the types from
+         * @return the constructor, or null if it no longer exists
+         */
+        public @Nullable Constructor<?> resolve(@NotNull ClassLoader classLoader) {
+            try {
+                Class<?> clazz = Class.forName(type, false, classLoader);
+                Class<?>[] parameterTypes = new Class<?>[parameters.length];
+
+                for (int i = 0; i < parameters.length; i++) {
+                    parameterTypes[i] = resolveType(parameters[i], classLoader);
+                }
+
+                return clazz.getDeclaredConstructor(parameterTypes);
+            } catch (ClassNotFoundException | NoSuchMethodException | LinkageError e) {
+                return null;
+            }
+        }
+
+        private static @NotNull Class<?> resolveType(@NotNull String name, @NotNull ClassLoader classLoader) throws ClassNotFoundException {
+            switch (name) {
+                case "boolean":
+                    return boolean.class;
+                case "byte":
+                    return byte.class;
+                case "char":
+                    return char.class;
+                case "short":
+                    return short.class;
+                case "int":
+                    return int.class;
+                case "long":
+                    return long.class;
+                case "float":
+                    return float.class;
+                case "double":
+                    return double.class;
+                default:
+                    return Class.forName(name, false, classLoader);
+            }
+        }
+
+    }
+
+}
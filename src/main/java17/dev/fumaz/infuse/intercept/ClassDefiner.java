@@ -0,0 +1,79 @@
+package dev.fumaz.infuse.intercept;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandles;
+
+/**
+ * Defines the classes generated by the {@link SubclassGenerator} and the {@link FactoryGenerator}.
+ * <p>
+ * On Java 17 and later, they are defined as hidden classes in the package of the class they extend or implement,
+ * which skips class loader creation and lets them be unloaded as soon as they are unreachable.
+ * Classes whose loader cannot see Infuse, or whose package cannot be opened, fall back to a class loader per generated class.
+ */
+final class ClassDefiner {
+
+    private ClassDefiner() {
+        throw new UnsupportedOperationException("This class cannot be instantiated");
+    }
+
+    static @NotNull Class<?> define(@NotNull Class<?> host, @NotNull String name, byte[] bytes) {
+        int separator = name.lastIndexOf('.');
+        String packageName = separator == -1 ? "" : name.substring(0, separator);
+
+        if (packageName.equals(host.getPackageName()) && isVisible(host.getClassLoader())) {
+            try {
+                return MethodHandles.privateLookupIn(host, MethodHandles.lookup())
+                        .defineHiddenClass(bytes, true)
+                        .lookupClass();
+            } catch (IllegalAccessException | IllegalArgumentException | SecurityException ignored) {
+            }
+        }
+
+        return new GeneratedClassLoader(host.getClassLoader()).define(name, bytes);
+    }
+
+    /**
+     * @return whether the generated code, defined in the loader, links to the same Infuse classes as this one
+     */
+    private static boolean isVisible(@Nullable ClassLoader classLoader) {
+        try {
+            return Class.forName(Dispatcher.class.getName(), false, classLoader) == Dispatcher.class
+                    && Class.forName(Intercepted.class.getName(), false, classLoader) == Intercepted.class
+                    && Class.forName(FactoryMethod.class.getName(), false, classLoader) == FactoryMethod.class;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private static class GeneratedClassLoader extends ClassLoader {
+
+        private GeneratedClassLoader(@Nullable ClassLoader parent) {
+            super(parent);
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (name.equals(Dispatcher.class.getName())) {
+                return Dispatcher.class;
+            }
+
+            if (name.equals(Intercepted.class.getName())) {
+                return Intercepted.class;
+            }
+
+            if (name.equals(FactoryMethod.class.getName())) {
+                return FactoryMethod.class;
+            }
+
+            return super.loadClass(name, resolve);
+        }
+
+        private @NotNull Class<?> define(@NotNull String name, byte[] bytes) {
+            return defineClass(name, bytes, 0, bytes.length, ClassDefiner.class.getProtectionDomain());
+        }
+
+    }
+
+}
@@ -0,0 +1,121 @@
+package dev.fumaz.infuse.reflection;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Creates {@link VarHandle} and {@link MethodHandle} based accessors for accessible fields and methods.
+ * <p>
+ * On Java 17 and later, members are looked up through a private lookup in their declaring class,
+ * so the accessors don't depend on the accessible flag of the reflected member, and fields are accessed through var handles.
+ * Members with primitive parameters and final fields are still left to core reflection, as on Java 8.
+ */
+final class Accessors {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private Accessors() {
+        throw new UnsupportedOperationException("This class cannot be instantiated");
+    }
+
+    /**
+     * @return the accessor, or null if the field must be accessed through core reflection
+     */
+    static @Nullable FieldAccessor field(@NotNull Field field) {
+        if (field.getType().isPrimitive() || Modifier.isFinal(field.getModifiers())) {
+            return null;
+        }
+
+        try {
+            VarHandle handle = MethodHandles.privateLookupIn(field.getDeclaringClass(), LOOKUP).unreflectVarHandle(field);
+            MethodHandle getter = handle.toMethodHandle(VarHandle.AccessMode.GET);
+            MethodHandle setter = handle.toMethodHandle(VarHandle.AccessMode.SET);
+
+            if (Modifier.isStatic(field.getModifiers())) {
+                getter = MethodHandles.dropArguments(getter, 0, Object.class);
+                setter = MethodHandles.dropArguments(setter, 0, Object.class);
+            }
+
+            return new HandleFieldAccessor(
+                    getter.asType(MethodType.methodType(Object.class, Object.class)),
+                    setter.asType(MethodType.methodType(void.class, Object.class, Object.class))
+            );
+        } catch (IllegalAccessException | SecurityException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return the invoker, or null if the method must be invoked through core reflection
+     */
+    static @Nullable MethodInvoker method(@NotNull Method method) {
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            if (parameterType.isPrimitive()) {
+                return null;
+            }
+        }
+
+        try {
+            MethodHandle handle = MethodHandles.privateLookupIn(method.getDeclaringClass(), LOOKUP).unreflect(method);
+            int parameters = method.getParameterCount();
+
+            if (Modifier.isStatic(method.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+
+            if (handle.isVarargsCollector()) {
+                handle = handle.asFixedArity();
+            }
+
+            return new HandleMethodInvoker(handle.asType(MethodType.genericMethodType(parameters + 1)).asSpreader(Object[].class, parameters));
+        } catch (IllegalAccessException | SecurityException e) {
+            return null;
+        }
+    }
+
+    private static class HandleFieldAccessor implements FieldAccessor {
+
+        private final @NotNull MethodHandle getter;
+        private final @NotNull MethodHandle setter;
+
+        private HandleFieldAccessor(@NotNull MethodHandle getter, @NotNull MethodHandle setter) {
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        @Override
+        public Object get(Object instance) throws Throwable {
+            return (Object) getter.invokeExact(instance);
+        }
+
+        @Override
+        public void set(Object instance, Object value) throws Throwable {
+            setter.invokeExact(instance, value);
+        }
+
+    }
+
+    private static class HandleMethodInvoker implements MethodInvoker {
+
+        private final @NotNull MethodHandle handle;
+
+        private HandleMethodInvoker(@NotNull MethodHandle handle) {
+            this.handle = handle;
+        }
+
+        @Override
+        public Object invoke(Object instance, Object[] arguments) throws Throwable {
+            return (Object) handle.invokeExact(instance, arguments);
+        }
+
+    }
+
+}
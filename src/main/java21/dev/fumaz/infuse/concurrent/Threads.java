@@ -0,0 +1,33 @@
+package dev.fumaz.infuse.concurrent;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Creates the threads used by Infuse.
+ * <p>
+ * This is the Java 21 implementation, which runs every task on its own virtual thread.
+ */
+public final class Threads {
+
+    private Threads() {
+        throw new UnsupportedOperationException("This class cannot be instantiated");
+    }
+
+    public static long currentThreadId() {
+        return Thread.currentThread().threadId();
+    }
+
+    /**
+     * Creates an executor running each task on a new virtual thread.
+     *
+     * @param name the prefix of the thread names
+     * @return the executor
+     */
+    public static @NotNull ExecutorService newExecutor(@NotNull String name) {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name + "-", 0).factory());
+    }
+
+}
@@ -0,0 +1,204 @@
+package dev.fumaz.infuse.perf;
+
+import dev.fumaz.infuse.module.InfuseModule;
+import dev.fumaz.infuse.reflection.Reflections;
+import dev.fumaz.infuse.reflection.ScanSession;
+
+import java.io.IOException;
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+
+/**
+ * Benchmarks classpath scanning over generated directories and jars of {@link SyntheticClasspath} classes,
+ * reporting the median time, the classes loaded and the metaspace growth of each scan.
+ * <p>
+ * Each scan is measured three ways: cold, through a new class loader which has loaded none of the classes;
+ * warm, through a class loader which already has; and warm within a {@link ScanSession} which already indexed the classpath.
+ * <p>
+ * The classes are generated in the directory given by the {@code infuse.bench.dir} system property,
+ * or in a temporary directory deleted afterwards. Exits with a non-zero status if a scan finds the wrong classes.
+ * <p>
+ * Arguments: {@code [density] [rounds] [classes...]}, defaulting to {@code 0.1 5 1000 10000}.
+ */
+public final class ScanBenchmark {
+
+    private static final ClassLoadingMXBean CLASS_LOADING = ManagementFactory.getClassLoadingMXBean();
+    private static final MemoryPoolMXBean METASPACE = ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getName().equals("Metaspace"))
+            .findFirst()
+            .orElse(null);
+
+    private ScanBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        double density = args.length > 0 ? Double.parseDouble(args[0]) : 0.1;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        int[] sizes = args.length > 2
+                ? Arrays.stream(args, 2, args.length).mapToInt(Integer::parseInt).toArray()
+                : new int[]{1_000, 10_000};
+
+        String property = System.getProperty("infuse.bench.dir");
+        Path directory = property == null ? Files.createTempDirectory("infuse-scan") : Paths.get(property);
+        List<String> failures = new ArrayList<>();
+
+        try {
+            for (int size : sizes) {
+                benchmark(SyntheticClasspath.directory(directory.resolve("classes-" + size), size, density), "directory", rounds, failures);
+                benchmark(SyntheticClasspath.jar(directory.resolve("classes-" + size + ".jar"), size, density), "jar", rounds, failures);
+            }
+        } finally {
+            if (property == null) {
+                delete(directory);
+            }
+        }
+
+        if (!failures.isEmpty()) {
+            failures.forEach(System.err::println);
+            System.exit(1);
+        }
+    }
+
+    private static void benchmark(SyntheticClasspath classpath, String layout, int rounds, List<String> failures) {
+        System.out.printf("%n%d classes, %d @Singleton, in a %s%n", classpath.getClasses(), classpath.getSingletons(), layout);
+        System.out.printf("%-38s %-8s %8s %10s %8s %14s%n", "scan", "state", "found", "median ms", "loaded", "metaspace KiB");
+
+        String pkg = SyntheticClasspath.PACKAGE;
+
+        run(classpath, "getClassesInPackage recursive", classpath.getClasses(), rounds, failures,
+                loader -> Reflections.getClassesInPackage(loader, pkg, true).size());
+        run(classpath, "getClassesInPackage non-recursive", classpath.getRootClasses(), rounds, failures,
+                loader -> Reflections.getClassesInPackage(loader, pkg, false).size());
+        // bindPackage always scans subpackages, so it has no non-recursive variant
+        run(classpath, "bindPackage", classpath.getSingletons(), rounds, failures, loader -> {
+            ScanModule module = new ScanModule();
+            module.bindPackage(loader, pkg);
+
+            return module.getBindings().size();
+        });
+    }
+
+    private static void run(SyntheticClasspath classpath, String name, int expected, int rounds, List<String> failures, ToIntFunction<ClassLoader> scan) {
+        Sample[] cold = new Sample[rounds];
+
+        // the first round only warms up the scanning code
+        for (int round = -1; round < rounds; round++) {
+            try (URLClassLoader loader = classpath.newClassLoader()) {
+                Sample sample = measure(loader, scan);
+
+                if (round >= 0) {
+                    cold[round] = sample;
+                }
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        Sample[] warm = new Sample[rounds];
+        Sample[] session = new Sample[rounds];
+
+        try (URLClassLoader loader = classpath.newClassLoader()) {
+            scan.applyAsInt(loader);
+
+            for (int round = 0; round < rounds; round++) {
+                warm[round] = measure(loader, scan);
+            }
+
+            ScanSession scanSession = ScanSession.open();
+
+            try {
+                scan.applyAsInt(loader);
+
+                for (int round = 0; round < rounds; round++) {
+                    session[round] = measure(loader, scan);
+                }
+            } finally {
+                scanSession.close();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        report(name, "cold", expected, cold, failures);
+        report(name, "warm", expected, warm, failures);
+        report(name, "session", expected, session, failures);
+    }
+
+    private static Sample measure(ClassLoader loader, ToIntFunction<ClassLoader> scan) {
+        System.gc();
+
+        long loaded = CLASS_LOADING.getTotalLoadedClassCount();
+        long metaspace = getMetaspace();
+        long start = System.nanoTime();
+
+        int found = scan.applyAsInt(loader);
+
+        long nanos = System.nanoTime() - start;
+
+        return new Sample(found, nanos, CLASS_LOADING.getTotalLoadedClassCount() - loaded, getMetaspace() - metaspace);
+    }
+
+    private static void report(String name, String state, int expected, Sample[] samples, List<String> failures) {
+        Sample[] sorted = samples.clone();
+        Arrays.sort(sorted, Comparator.comparingLong(sample -> sample.nanos));
+        Sample median = sorted[sorted.length / 2];
+
+        String metaspace = METASPACE == null ? "n/a" : String.valueOf(Math.max(0, median.metaspace) / 1024);
+        System.out.printf("%-38s %-8s %8d %10.2f %8d %14s%n", name, state, median.found, median.nanos / 1_000_000.0, median.loaded, metaspace);
+
+        for (Sample sample : samples) {
+            if (sample.found != expected) {
+                failures.add(name + " (" + state + ") found " + sample.found + " classes instead of " + expected);
+                break;
+            }
+        }
+    }
+
+    private static long getMetaspace() {
+        return METASPACE == null ? 0 : METASPACE.getUsage().getUsed();
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private static class Sample {
+
+        private final int found;
+        private final long nanos;
+        private final long loaded;
+        private final long metaspace;
+
+        private Sample(int found, long nanos, long loaded, long metaspace) {
+            this.found = found;
+            this.nanos = nanos;
+            this.loaded = loaded;
+            this.metaspace = metaspace;
+        }
+
+    }
+
+    private static class ScanModule extends InfuseModule {
+
+        @Override
+        public void configure() {
+        }
+
+    }
+
+}
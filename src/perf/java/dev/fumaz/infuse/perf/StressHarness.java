@@ -0,0 +1,391 @@
+package dev.fumaz.infuse.perf;
+
+import dev.fumaz.infuse.annotation.Inject;
+import dev.fumaz.infuse.injector.InfuseInjector;
+import dev.fumaz.infuse.injector.Injector;
+import dev.fumaz.infuse.module.InfuseModule;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drives {@code provide}, {@code construct}, {@code inject}, {@code child} and {@code destroy} from many threads
+ * against injectors whose bindings are randomized on every trial, then reports throughput from one to N threads.
+ * <p>
+ * Every trial checks that singletons are only created once, that every injected field is set, that a cycle of
+ * prototypes is wired to itself, and that no resolution state is left on the calling thread once a call returns,
+ * even when it threw.
+ * Exits with a non-zero status if any check fails.
+ * <p>
+ * Arguments: {@code [threads] [trials] [seed]}.
+ */
+public final class StressHarness {
+
+    private static final int OPERATIONS = 5_000;
+    private static final long THROUGHPUT_MILLIS = 1_000;
+    private static final int THROUGHPUT_WARMUP_ROUNDS = 5;
+
+    private static final List<Class<? extends Node>> NODES = Collections.unmodifiableList(Arrays.asList(
+            N0.class, N1.class, N2.class, N3.class, N4.class, N5.class
+    ));
+
+    private static final Map<Class<?>, AtomicInteger> CONSTRUCTED = new ConcurrentHashMap<>();
+
+    private StressHarness() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Math.max(4, Runtime.getRuntime().availableProcessors());
+        int trials = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+
+        System.out.println("Stress testing with " + threads + " threads, " + trials + " trials, seed " + seed);
+
+        Random random = new Random(seed);
+        List<String> failures = new ArrayList<>();
+
+        for (int trial = 0; trial < trials && failures.isEmpty(); trial++) {
+            Scope[] scopes = new Scope[NODES.size()];
+
+            for (int i = 0; i < scopes.length; i++) {
+                scopes[i] = Scope.values()[random.nextInt(Scope.values().length)];
+            }
+
+            runTrial(threads, scopes, failures);
+
+            if (!failures.isEmpty()) {
+                failures.add(0, "Trial " + trial + " failed with scopes " + Arrays.toString(scopes));
+            }
+        }
+
+        if (!failures.isEmpty()) {
+            failures.stream().limit(20).forEach(System.err::println);
+            System.exit(1);
+        }
+
+        System.out.println("All trials passed");
+        reportThroughput(threads);
+    }
+
+    private static void runTrial(int threads, Scope[] scopes, List<String> failures) throws InterruptedException {
+        CONSTRUCTED.clear();
+
+        Injector injector = createInjector(scopes);
+        Map<Class<?>, Object> singletons = new ConcurrentHashMap<>();
+        List<String> errors = Collections.synchronizedList(new ArrayList<>());
+
+        runConcurrently(threads, () -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+
+            for (int i = 0; i < OPERATIONS; i++) {
+                Probe probe = new Probe();
+                Class<? extends Node> type = NODES.get(random.nextInt(NODES.size()));
+
+                try {
+                    switch (random.nextInt(5)) {
+                        case 0:
+                            verify(injector.provide(type, probe), scopes, singletons, errors);
+                            break;
+                        case 1:
+                            // construct ignores bindings, so only prototypes can be constructed without breaking singletons
+                            if (scopes[NODES.indexOf(type)] == Scope.PROTOTYPE) {
+                                verify(injector.construct(type), scopes, singletons, errors);
+                            }
+                            break;
+                        case 2:
+                            Holder holder = new Holder();
+                            injector.inject(holder);
+                            verify(holder.first, scopes, singletons, errors);
+                            verify(holder.second, scopes, singletons, errors);
+                            break;
+                        case 3:
+                            Cycle cycle = injector.provide(Cycle.class, probe);
+
+                            if (cycle.other == null || cycle.other.cycle != cycle) {
+                                errors.add("A cycle was not wired to itself");
+                            }
+                            break;
+                        default:
+                            Injector child = injector.child();
+                            verify(child.provide(type, probe), scopes, singletons, errors);
+                            verifyResolved(child, "a child provide of " + type.getSimpleName(), errors);
+                            child.destroy();
+                            break;
+                    }
+                } catch (RuntimeException e) {
+                    errors.add("Operation on " + type.getSimpleName() + " threw " + e);
+                }
+
+                verifyResolved(injector, "an operation on " + type.getSimpleName(), errors);
+            }
+        });
+
+        for (int i = 0; i < scopes.length; i++) {
+            AtomicInteger constructed = CONSTRUCTED.get(NODES.get(i));
+
+            if (scopes[i] != Scope.PROTOTYPE && constructed != null && constructed.get() > 1) {
+                errors.add("Singleton " + NODES.get(i).getSimpleName() + " was created " + constructed.get() + " times");
+            }
+        }
+
+        injector.destroy();
+        failures.addAll(errors);
+    }
+
+    private static Injector createInjector(Scope[] scopes) {
+        return Injector.create(new InfuseModule() {
+            @Override
+            public void configure() {
+                for (int i = 0; i < scopes.length; i++) {
+                    if (scopes[i] == Scope.SINGLETON) {
+                        bind(NODES.get(i)).toSingleton();
+                    } else if (scopes[i] == Scope.EAGER_SINGLETON) {
+                        bind(NODES.get(i)).toEagerSingleton();
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Checks that every node of the graph is injected, and that singletons are the same instance everywhere.
+     */
+    private static void verify(Node node, Scope[] scopes, Map<Class<?>, Object> singletons, List<String> errors) {
+        if (node == null) {
+            errors.add("A node was not injected");
+            return;
+        }
+
+        if (scopes[NODES.indexOf(node.getClass())] != Scope.PROTOTYPE) {
+            Object previous = singletons.putIfAbsent(node.getClass(), node);
+
+            if (previous != null && previous != node) {
+                errors.add("Two instances of singleton " + node.getClass().getSimpleName() + " were provided");
+            }
+        }
+
+        for (Node child : node.children()) {
+            verify(child, scopes, singletons, errors);
+        }
+    }
+
+    /**
+     * Checks that the injector holds no resolution state for the calling thread, which would make
+     * the next call on the thread return a stale caller or record false singleton dependencies.
+     */
+    private static void verifyResolved(Injector injector, String operation, List<String> errors) {
+        if (((InfuseInjector) injector).isResolving()) {
+            errors.add("Resolution state leaked on " + Thread.currentThread().getName() + " after " + operation);
+        }
+    }
+
+    /**
+     * Reports the rate of mixed provide and construct calls on a fixed injector, from one thread up to the given count.
+     */
+    private static void reportThroughput(int maxThreads) throws InterruptedException {
+        Injector injector = createInjector(new Scope[]{Scope.PROTOTYPE, Scope.SINGLETON, Scope.PROTOTYPE, Scope.SINGLETON, Scope.PROTOTYPE, Scope.PROTOTYPE});
+
+        for (int i = 0; i < THROUGHPUT_WARMUP_ROUNDS; i++) {
+            measureThroughput(injector, maxThreads);
+        }
+
+        double single = measureThroughput(injector, 1);
+
+        System.out.println("threads      ops/s  scaling");
+        System.out.printf("%7d %10.0f %7.2fx%n", 1, single, 1.0);
+
+        for (int threads = 2; threads <= maxThreads; threads = threads == maxThreads ? threads + 1 : Math.min(threads * 2, maxThreads)) {
+            double rate = measureThroughput(injector, threads);
+
+            System.out.printf("%7d %10.0f %7.2fx%n", threads, rate, rate / single);
+        }
+    }
+
+    /**
+     * @return the number of operations per second over {@link #THROUGHPUT_MILLIS}
+     */
+    private static double measureThroughput(Injector injector, int threads) throws InterruptedException {
+        AtomicLong operations = new AtomicLong();
+        long deadline = System.currentTimeMillis() + THROUGHPUT_MILLIS;
+        long start = System.nanoTime();
+
+        runConcurrently(threads, () -> {
+            Object caller = new Object();
+            long count = 0;
+
+            while (System.currentTimeMillis() < deadline) {
+                for (int i = 0; i < 100; i++) {
+                    injector.provide(N0.class, caller);
+                    injector.construct(N2.class);
+                }
+
+                count += 200;
+            }
+
+            operations.addAndGet(count);
+        });
+
+        return operations.get() / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private static void runConcurrently(int threads, Runnable task) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+
+        for (int i = 0; i < threads; i++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+
+                task.run();
+            }, "infuse-stress-" + i);
+
+            workers.add(worker);
+            worker.start();
+        }
+
+        start.countDown();
+
+        for (Thread worker : workers) {
+            worker.join();
+        }
+    }
+
+    private enum Scope {
+        PROTOTYPE,
+        SINGLETON,
+        EAGER_SINGLETON
+    }
+
+    public static class Probe {
+    }
+
+    public static class Holder {
+
+        @Inject
+        private N0 first;
+
+        @Inject
+        private N2 second;
+
+    }
+
+    public static class Cycle {
+
+        @Inject
+        private CycleOther other;
+
+    }
+
+    public static class CycleOther {
+
+        @Inject
+        private Cycle cycle;
+
+    }
+
+    public abstract static class Node {
+
+        protected Node() {
+            CONSTRUCTED.computeIfAbsent(getClass(), type -> new AtomicInteger()).incrementAndGet();
+        }
+
+        abstract Node[] children();
+
+    }
+
+    public static class N0 extends Node {
+
+        @Inject
+        private N1 n1;
+
+        @Inject
+        private N3 n3;
+
+        @Override
+        Node[] children() {
+            return new Node[]{n1, n3};
+        }
+
+    }
+
+    public static class N1 extends Node {
+
+        @Inject
+        private N2 n2;
+
+        @Inject
+        private N4 n4;
+
+        @Override
+        Node[] children() {
+            return new Node[]{n2, n4};
+        }
+
+    }
+
+    public static class N2 extends Node {
+
+        @Inject
+        private N3 n3;
+
+        @Inject
+        private N5 n5;
+
+        @Override
+        Node[] children() {
+            return new Node[]{n3, n5};
+        }
+
+    }
+
+    public static class N3 extends Node {
+
+        @Inject
+        private N4 n4;
+
+        @Inject
+        private N5 n5;
+
+        @Override
+        Node[] children() {
+            return new Node[]{n4, n5};
+        }
+
+    }
+
+    public static class N4 extends Node {
+
+        @Inject
+        private N5 n5;
+
+        @Override
+        Node[] children() {
+            return new Node[]{n5};
+        }
+
+    }
+
+    public static class N5 extends Node {
+
+        @Override
+        Node[] children() {
+            return new Node[0];
+        }
+
+    }
+
+}
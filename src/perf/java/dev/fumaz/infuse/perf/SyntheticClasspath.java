@@ -0,0 +1,224 @@
+package dev.fumaz.infuse.perf;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+/**
+ * Generates a package of empty public classes as a directory tree or a jar, writing the class files by hand
+ * so a benchmark can scan any number of classes without compiling them.
+ * <p>
+ * The root package holds up to {@value #CLASSES_PER_PACKAGE} classes, and the rest are spread over subpackages
+ * {@code p0}, {@code p1}, ... of the same size, so recursive and non-recursive scans see different amounts of classes.
+ * A share of the classes, spread evenly, is annotated with {@link dev.fumaz.infuse.annotation.Singleton}.
+ */
+public final class SyntheticClasspath {
+
+    public static final String PACKAGE = "dev.fumaz.infuse.bench";
+    private static final int CLASSES_PER_PACKAGE = 500;
+    private static final String SINGLETON = "Ldev/fumaz/infuse/annotation/Singleton;";
+
+    private final Path location;
+    private final int classes;
+    private final int singletons;
+
+    private SyntheticClasspath(Path location, int classes, int singletons) {
+        this.location = location;
+        this.classes = classes;
+        this.singletons = singletons;
+    }
+
+    /**
+     * Writes the classes under a directory, as a compiler would.
+     *
+     * @param density the share of classes annotated with {@code @Singleton}, between 0 and 1
+     */
+    public static SyntheticClasspath directory(Path directory, int classes, double density) throws IOException {
+        int singletons = 0;
+
+        for (int i = 0; i < classes; i++) {
+            Path file = directory.resolve(getInternalName(i) + ".class");
+            Files.createDirectories(file.getParent());
+
+            boolean singleton = isSingleton(i, density);
+            Files.write(file, generate(getInternalName(i), singleton));
+
+            if (singleton) {
+                singletons++;
+            }
+        }
+
+        return new SyntheticClasspath(directory, classes, singletons);
+    }
+
+    /**
+     * Writes the classes into a jar, along with an entry per directory as jar tools do,
+     * since class loaders only find a package in a jar through its directory entry.
+     *
+     * @param density the share of classes annotated with {@code @Singleton}, between 0 and 1
+     */
+    public static SyntheticClasspath jar(Path file, int classes, double density) throws IOException {
+        int singletons = 0;
+        Files.createDirectories(file.getParent());
+
+        try (JarOutputStream jar = new JarOutputStream(Files.newOutputStream(file))) {
+            Set<String> directories = new HashSet<>();
+
+            for (int i = 0; i < classes; i++) {
+                boolean singleton = isSingleton(i, density);
+                String name = getInternalName(i);
+
+                for (int end = name.indexOf('/'); end != -1; end = name.indexOf('/', end + 1)) {
+                    String directory = name.substring(0, end + 1);
+
+                    if (directories.add(directory)) {
+                        jar.putNextEntry(new JarEntry(directory));
+                        jar.closeEntry();
+                    }
+                }
+
+                jar.putNextEntry(new JarEntry(name + ".class"));
+                jar.write(generate(name, singleton));
+                jar.closeEntry();
+
+                if (singleton) {
+                    singletons++;
+                }
+            }
+        }
+
+        return new SyntheticClasspath(file, classes, singletons);
+    }
+
+    /**
+     * @return a new class loader over the generated classes, delegating to the loader of Infuse for its annotations
+     */
+    public URLClassLoader newClassLoader() {
+        try {
+            return new URLClassLoader(new URL[]{location.toUri().toURL()}, SyntheticClasspath.class.getClassLoader());
+        } catch (MalformedURLException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public Path getLocation() {
+        return location;
+    }
+
+    public int getClasses() {
+        return classes;
+    }
+
+    public int getSingletons() {
+        return singletons;
+    }
+
+    /**
+     * @return how many classes a non-recursive scan of {@link #PACKAGE} finds
+     */
+    public int getRootClasses() {
+        return Math.min(classes, CLASSES_PER_PACKAGE);
+    }
+
+    private static String getInternalName(int index) {
+        String pkg = PACKAGE.replace('.', '/');
+
+        if (index < CLASSES_PER_PACKAGE) {
+            return pkg + "/C" + index;
+        }
+
+        return pkg + "/p" + (index / CLASSES_PER_PACKAGE - 1) + "/C" + index;
+    }
+
+    private static boolean isSingleton(int index, double density) {
+        return Math.floor((index + 1) * density) > Math.floor(index * density);
+    }
+
+    /**
+     * Writes a Java 8 class file declaring a public class with a public no-args constructor,
+     * optionally annotated with {@code @Singleton}.
+     */
+    static byte[] generate(String internalName, boolean singleton) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        try {
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(52);
+
+            out.writeShort(12);
+            utf8(out, internalName);                      // #1
+            classRef(out, 1);                             // #2
+            utf8(out, "java/lang/Object");                // #3
+            classRef(out, 3);                             // #4
+            utf8(out, "<init>");                          // #5
+            utf8(out, "()V");                             // #6
+            out.writeByte(12);                            // #7 NameAndType <init>()V
+            out.writeShort(5);
+            out.writeShort(6);
+            out.writeByte(10);                            // #8 Methodref Object.<init>()V
+            out.writeShort(4);
+            out.writeShort(7);
+            utf8(out, "Code");                            // #9
+            utf8(out, "RuntimeVisibleAnnotations");       // #10
+            utf8(out, SINGLETON);                         // #11
+
+            out.writeShort(0x0021);                       // public super
+            out.writeShort(2);
+            out.writeShort(4);
+            out.writeShort(0);                            // interfaces
+            out.writeShort(0);                            // fields
+
+            out.writeShort(1);                            // methods
+            out.writeShort(0x0001);
+            out.writeShort(5);
+            out.writeShort(6);
+            out.writeShort(1);
+            out.writeShort(9);
+            out.writeInt(17);
+            out.writeShort(1);                            // max stack
+            out.writeShort(1);                            // max locals
+            out.writeInt(5);
+            out.write(new byte[]{0x2A, (byte) 0xB7, 0x00, 0x08, (byte) 0xB1}); // aload_0, invokespecial #8, return
+            out.writeShort(0);                            // exception table
+            out.writeShort(0);                            // code attributes
+
+            if (singleton) {
+                out.writeShort(1);
+                out.writeShort(10);
+                out.writeInt(6);
+                out.writeShort(1);
+                out.writeShort(11);
+                out.writeShort(0);
+            } else {
+                out.writeShort(0);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    private static void utf8(DataOutputStream out, String value) throws IOException {
+        out.writeByte(1);
+        out.writeUTF(value);
+    }
+
+    private static void classRef(DataOutputStream out, int nameIndex) throws IOException {
+        out.writeByte(7);
+        out.writeShort(nameIndex);
+    }
+
+}
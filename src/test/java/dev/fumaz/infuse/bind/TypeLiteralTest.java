@@ -0,0 +1,60 @@
+package dev.fumaz.infuse.bind;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TypeLiteralTest {
+
+    @Test
+    void capturesTheTypeArgument() {
+        TypeLiteral<Map<String, Integer>> literal = new TypeLiteral<Map<String, Integer>>() {
+        };
+
+        assertEquals(Map.class, literal.getRawType());
+        assertTrue(literal.isGeneric());
+        assertEquals("java.util.Map<java.lang.String, java.lang.Integer>", literal.toString());
+    }
+
+    @Test
+    void classLiteralsAreNotGeneric() {
+        TypeLiteral<String> literal = TypeLiteral.get(String.class);
+
+        assertEquals(String.class, literal.getRawType());
+        assertFalse(literal.isGeneric());
+    }
+
+    @Test
+    void equalsLiteralsOfTheSameType() {
+        TypeLiteral<List<String>> captured = new TypeLiteral<List<String>>() {
+        };
+
+        assertEquals(captured, Types.listOf(String.class));
+        assertEquals(captured.hashCode(), Types.listOf(String.class).hashCode());
+        assertEquals(new TypeLiteral<Set<Integer>>() {
+        }, Types.setOf(Integer.class));
+        assertNotEquals(captured, Types.listOf(Integer.class));
+        assertNotEquals(captured, TypeLiteral.get(List.class));
+    }
+
+    @Test
+    @SuppressWarnings("rawtypes")
+    void requiresATypeArgument() {
+        assertThrows(IllegalStateException.class, () -> new TypeLiteral() {
+        });
+    }
+
+    @Test
+    void checksTheNumberOfTypeArguments() {
+        assertThrows(IllegalArgumentException.class, () -> Types.newParameterizedType(Map.class, String.class));
+    }
+
+}
@@ -0,0 +1,154 @@
+package dev.fumaz.infuse.config;
+
+import dev.fumaz.infuse.annotation.Assisted;
+import dev.fumaz.infuse.annotation.Config;
+import dev.fumaz.infuse.annotation.Inject;
+import dev.fumaz.infuse.injector.Injector;
+import dev.fumaz.infuse.module.InfuseModule;
+import dev.fumaz.infuse.module.Module;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ConfigurationTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void convertsEachKeyOncePerType() {
+        AtomicInteger reads = new AtomicInteger();
+        Configuration configuration = new Configuration(key -> {
+            reads.incrementAndGet();
+            return "7";
+        });
+
+        ConfigValue<?> first = configuration.get("threads", int.class, null);
+
+        assertSame(first, configuration.get("threads", int.class, null));
+        assertEquals(7, first.get());
+        assertEquals(7L, configuration.get("threads", long.class, null).get());
+        assertEquals(2, reads.get());
+    }
+
+    @Test
+    void fallsBackToDefaultsAndOtherSources() throws IOException {
+        Path file = directory.resolve("app.properties");
+        Files.write(file, Collections.singletonList("name=file"), StandardCharsets.UTF_8);
+
+        Map<String, String> values = new HashMap<>();
+        values.put("name", "map");
+
+        Configuration configuration = new Configuration(ConfigSource.of(Collections.emptyMap()).orElse(ConfigSource.file(file)));
+
+        assertEquals("file", configuration.get("name", String.class, null).get());
+        assertEquals("map", new Configuration(ConfigSource.of(values).orElse(ConfigSource.file(file))).get("name", String.class, null).get());
+        assertEquals(3, configuration.get("missing", int.class, "3").get());
+        assertThrows(IllegalStateException.class, () -> configuration.get("missing", int.class, null));
+        assertThrows(IllegalStateException.class, () -> configuration.get("name", int.class, null));
+    }
+
+    @Test
+    void injectsFieldsAndConstructorParameters() {
+        Map<String, String> values = new HashMap<>();
+        values.put("server.port", "8080");
+        values.put("server.hosts", "a, b");
+        values.put("server.timeout", "5s");
+
+        Injector injector = Injector.create(new InfuseModule() {
+            @Override
+            public void configure() {
+                bindConfiguration(ConfigSource.of(values));
+                bind(ServerFactory.class).toFactory();
+            }
+        });
+
+        Server server = injector.provide(ServerFactory.class, this).create("main");
+
+        assertEquals("main", server.name);
+        assertEquals(8080, server.port);
+        assertEquals(Arrays.asList("a", "b"), server.hosts);
+        assertEquals(Duration.ofSeconds(5), server.timeout);
+        assertEquals("guest", server.user);
+    }
+
+    @Test
+    void reresolvesFactoryConfigurationAfterARefresh() {
+        Injector injector = Injector.create(new InfuseModule() {
+            @Override
+            public void configure() {
+                bind(ServerFactory.class).toFactory();
+            }
+        });
+
+        Module first = configurationModule("8080");
+        injector.install(first);
+
+        ServerFactory factory = injector.provide(ServerFactory.class, this);
+        assertEquals(8080, factory.create("main").port);
+
+        injector.uninstall(first);
+        injector.install(configurationModule("9090"));
+
+        assertEquals(9090, factory.create("main").port);
+        assertEquals(9090, injector.provide(ServerFactory.class, this).create("main").port);
+    }
+
+    private static Module configurationModule(String port) {
+        Map<String, String> values = new HashMap<>();
+        values.put("server.port", port);
+        values.put("server.hosts", "a");
+        values.put("server.timeout", "1s");
+
+        return new InfuseModule() {
+            @Override
+            public void configure() {
+                bindConfiguration(ConfigSource.of(values));
+            }
+        };
+    }
+
+    public interface ServerFactory {
+
+        Server create(String name);
+
+    }
+
+    public static class Server {
+
+        private final String name;
+        private final int port;
+
+        @Config("server.hosts")
+        private List<String> hosts;
+
+        @Config("server.timeout")
+        private Duration timeout;
+
+        @Config(value = "server.user", defaultValue = "guest")
+        private String user;
+
+        @Inject
+        public Server(@Assisted String name, @Config("server.port") int port) {
+            this.name = name;
+            this.port = port;
+        }
+
+    }
+
+}
@@ -0,0 +1,81 @@
+package dev.fumaz.infuse.config;
+
+import dev.fumaz.infuse.bind.TypeLiteral;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ConverterRegistryTest {
+
+    private final ConverterRegistry converters = new ConverterRegistry();
+
+    @Test
+    void convertsPrimitivesAndWrappers() {
+        assertEquals(42, converters.get(int.class).convert("42"));
+        assertEquals(42L, converters.get(Long.class).convert("42"));
+        assertEquals(8080, converters.get(int.class).convert(" 8080 "));
+        assertEquals(1.5, converters.get(double.class).convert("1.5\t"));
+        assertEquals(true, converters.get(boolean.class).convert("yes"));
+        assertEquals(false, converters.get(Boolean.class).convert("Off"));
+        assertEquals('x', converters.get(char.class).convert("x"));
+        assertSame(converters.get(int.class), converters.get(Integer.class));
+        assertThrows(IllegalArgumentException.class, () -> converters.get(boolean.class).convert("maybe"));
+    }
+
+    @Test
+    void convertsDurations() {
+        assertEquals(Duration.ofSeconds(30), converters.get(Duration.class).convert("PT30S"));
+        assertEquals(Duration.ofSeconds(5), converters.get(Duration.class).convert("5s"));
+        assertEquals(Duration.ofMillis(100), converters.get(Duration.class).convert("100ms"));
+        assertEquals(Duration.ofMillis(250), converters.get(Duration.class).convert("250"));
+        assertEquals(Duration.ofDays(2), converters.get(Duration.class).convert("2d"));
+        assertEquals(Duration.ofSeconds(10), converters.get(Duration.class).convert("10 s"));
+        assertThrows(IllegalArgumentException.class, () -> converters.get(Duration.class).convert("5 weeks"));
+    }
+
+    @Test
+    void convertsEnumsAndCollections() {
+        assertEquals(Mode.FAST, converters.get(Mode.class).convert(" fast "));
+        assertEquals(Mode.lower, converters.get(Mode.class).convert("lower"));
+        assertEquals(Mode.lower, converters.get(Mode.class).convert(" lower "));
+        assertEquals(Arrays.asList(1, 2, 3), converters.get(new TypeLiteral<List<Integer>>() {
+        }.getType()).convert("1, 2,3"));
+        assertEquals(new LinkedHashSet<>(Arrays.asList(Mode.SLOW, Mode.FAST)), converters.get(new TypeLiteral<Set<Mode>>() {
+        }.getType()).convert("slow,fast,slow"));
+        assertEquals(Collections.emptyList(), converters.get(new TypeLiteral<List<String>>() {
+        }.getType()).convert(" "));
+    }
+
+    @Test
+    void cachesConvertersPerType() {
+        TypeLiteral<List<Mode>> type = new TypeLiteral<List<Mode>>() {
+        };
+
+        assertSame(converters.get(type.getType()), converters.get(type.getType()));
+        assertSame(converters.get(Mode.class), converters.get(Mode.class));
+    }
+
+    @Test
+    void usesRegisteredConverters() {
+        converters.register(Mode.class, value -> Mode.SLOW);
+
+        assertEquals(Mode.SLOW, converters.get(Mode.class).convert("fast"));
+        assertThrows(IllegalArgumentException.class, () -> converters.get(Object.class));
+    }
+
+    public enum Mode {
+        SLOW,
+        FAST,
+        lower
+    }
+
+}
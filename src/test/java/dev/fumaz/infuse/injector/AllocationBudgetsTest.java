@@ -0,0 +1,128 @@
+package dev.fumaz.infuse.injector;
+
+import dev.fumaz.infuse.annotation.Inject;
+import dev.fumaz.infuse.module.InfuseModule;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Asserts how many bytes the steady-state provisioning paths allocate per operation,
+ * measured with {@link com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)}.
+ * <p>
+ * Each budget sits just above the highest cost measured across runs, which varies with what the JIT compiler eliminates.
+ * Raise a budget only along with the change that needs it.
+ */
+class AllocationBudgetsTest {
+
+    private static final int WARMUP = 50_000;
+    private static final int OPERATIONS = 20_000;
+    private static final int ROUNDS = 5;
+
+    private static final com.sun.management.ThreadMXBean THREADS = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final Object caller = new Object();
+    private Injector injector;
+
+    @BeforeAll
+    static void enable() {
+        assumeTrue(THREADS.isThreadAllocatedMemorySupported(), "Thread allocation measurement is not supported by this JVM");
+
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @BeforeEach
+    void setUp() {
+        injector = Injector.create(new InfuseModule() {
+            @Override
+            public void configure() {
+                bind(Service.class).toSingleton();
+            }
+        });
+    }
+
+    @Test
+    void provideSingleton() {
+        assertWithinBudget(128, () -> injector.provide(Service.class, caller));
+    }
+
+    @Test
+    void injectResolvedClass() {
+        Root root = new Root();
+
+        assertWithinBudget(480, () -> injector.inject(root));
+    }
+
+    @Test
+    void constructSmallGraph() {
+        assertWithinBudget(576, () -> injector.construct(Root.class));
+    }
+
+    private static void assertWithinBudget(long budget, Runnable operation) {
+        long bytes = measure(operation);
+
+        assertTrue(bytes <= budget, "Allocates " + bytes + " bytes per operation, over its budget of " + budget);
+    }
+
+    /**
+     * @return the median number of bytes allocated per operation over several rounds, after warming the operation up
+     */
+    private static long measure(Runnable operation) {
+        for (int i = 0; i < WARMUP; i++) {
+            operation.run();
+        }
+
+        long thread = Thread.currentThread().getId();
+        long[] rounds = new long[ROUNDS];
+
+        for (int round = 0; round < ROUNDS; round++) {
+            long overhead = THREADS.getThreadAllocatedBytes(thread);
+            overhead = THREADS.getThreadAllocatedBytes(thread) - overhead;
+
+            long start = THREADS.getThreadAllocatedBytes(thread);
+
+            for (int i = 0; i < OPERATIONS; i++) {
+                operation.run();
+            }
+
+            rounds[round] = Math.max(0, THREADS.getThreadAllocatedBytes(thread) - start - overhead) / OPERATIONS;
+        }
+
+        Arrays.sort(rounds);
+
+        return rounds[ROUNDS / 2];
+    }
+
+    public static class Service {
+    }
+
+    public static class Leaf {
+    }
+
+    public static class Branch {
+
+        @Inject
+        private Leaf leaf;
+
+    }
+
+    public static class Root {
+
+        @Inject
+        private Service service;
+
+        @Inject
+        private Branch branch;
+
+        @Inject
+        private Leaf leaf;
+
+    }
+
+}
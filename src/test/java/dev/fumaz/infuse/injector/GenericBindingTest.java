@@ -0,0 +1,113 @@
+package dev.fumaz.infuse.injector;
+
+import dev.fumaz.infuse.annotation.Inject;
+import dev.fumaz.infuse.bind.Binding;
+import dev.fumaz.infuse.bind.TypeLiteral;
+import dev.fumaz.infuse.bind.Types;
+import dev.fumaz.infuse.module.InfuseModule;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class GenericBindingTest {
+
+    private static final List<String> NAMES = Arrays.asList("a", "b");
+    private static final List<Integer> NUMBERS = Arrays.asList(1, 2);
+
+    @Test
+    void injectsFieldsByTheirGenericType() {
+        Injector injector = Injector.create(new GenericModule());
+        Holder holder = new Holder();
+
+        injector.inject(holder);
+
+        assertSame(NAMES, holder.names);
+        assertSame(NUMBERS, holder.numbers);
+    }
+
+    @Test
+    void providesByTypeLiteral() {
+        Injector injector = Injector.create(new GenericModule());
+
+        assertSame(NAMES, injector.getProvider(Types.listOf(String.class)).provide(null));
+        assertSame(NUMBERS, injector.getProvider(new TypeLiteral<List<Integer>>() {
+        }).provide(null));
+    }
+
+    @Test
+    void fallsBackToTheRawBinding() {
+        List<Object> raw = new ArrayList<>();
+        Injector injector = Injector.create(new InfuseModule() {
+            @Override
+            public void configure() {
+                bind(List.class).toInstance(raw);
+            }
+        });
+        Holder holder = new Holder();
+
+        injector.inject(holder);
+
+        assertSame(raw, holder.names);
+        assertSame(raw, holder.numbers);
+    }
+
+    @Test
+    void memoizesGenericLookups() {
+        InfuseInjector injector = (InfuseInjector) Injector.create(new GenericModule());
+
+        Binding<List<String>> first = injector.getGenericBindingOrNull(Types.listOf(String.class));
+        Binding<List<String>> second = injector.getGenericBindingOrNull(new TypeLiteral<List<String>>() {
+        });
+
+        assertSame(NAMES, first.getProvider().provide(null));
+        assertSame(first, second);
+        assertNull(injector.getGenericBindingOrNull(Types.listOf(Long.class)));
+    }
+
+    @Test
+    void forgetsMemoizedLookupsWhenBindingsChange() {
+        InfuseInjector injector = (InfuseInjector) Injector.create(new GenericModule());
+        List<Long> longs = Collections.singletonList(1L);
+
+        assertNull(injector.getGenericBindingOrNull(Types.listOf(Long.class)));
+
+        injector.install(new InfuseModule() {
+            @Override
+            public void configure() {
+                bind(Types.listOf(Long.class)).toInstance(longs);
+            }
+        });
+
+        assertSame(longs, injector.getGenericBindingOrNull(Types.listOf(Long.class)).getProvider().provide(null));
+        assertEquals(NAMES, injector.getGenericBindingOrNull(Types.listOf(String.class)).getProvider().provide(null));
+    }
+
+    private static class GenericModule extends InfuseModule {
+
+        @Override
+        public void configure() {
+            bind(new TypeLiteral<List<String>>() {
+            }).toInstance(NAMES);
+            bind(Types.listOf(Integer.class)).toInstance(NUMBERS);
+        }
+
+    }
+
+    public static class Holder {
+
+        @Inject
+        private List<String> names;
+
+        @Inject
+        private List<Integer> numbers;
+
+    }
+
+}
@@ -0,0 +1,91 @@
+package dev.fumaz.infuse.injector;
+
+import dev.fumaz.infuse.annotation.PreDestroy;
+import dev.fumaz.infuse.annotation.Singleton;
+import dev.fumaz.infuse.module.InfuseModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ImplicitBindingTest {
+
+    @BeforeEach
+    void setUp() {
+        Shared.destroyed = 0;
+    }
+
+    @Test
+    void bindsUnboundTypesOnFirstUse() {
+        InfuseInjector injector = (InfuseInjector) Injector.create();
+
+        Plain first = injector.provide(Plain.class, this);
+        Plain second = injector.provide(Plain.class, this);
+
+        assertNotSame(first, second);
+        assertEquals(1, injector.getImplicitBindings().stream().filter(binding -> binding.getType() == Plain.class).count());
+        assertTrue(InjectorGraph.of(injector).getTypes().contains(Plain.class));
+    }
+
+    @Test
+    void sharesImplicitSingletonsWithChildren() {
+        Injector injector = Injector.create();
+
+        Shared shared = injector.provide(Shared.class, this);
+
+        assertSame(shared, injector.provide(Shared.class, this));
+        assertSame(shared, injector.child().provide(Shared.class, this));
+    }
+
+    @Test
+    void destroysImplicitSingletonsCreatedByTheInjector() {
+        Injector injector = Injector.create();
+        Injector child = injector.child();
+
+        child.provide(Shared.class, this);
+        child.destroy();
+
+        assertEquals(0, Shared.destroyed);
+
+        injector.destroy();
+
+        assertEquals(1, Shared.destroyed);
+    }
+
+    @Test
+    void replacesImplicitSingletonsWhenTheirTypeIsBound() {
+        Injector injector = Injector.create();
+        Shared implicit = injector.provide(Shared.class, this);
+        Shared bound = new Shared();
+
+        injector.install(new InfuseModule() {
+            @Override
+            public void configure() {
+                bind(Shared.class).toInstance(bound);
+            }
+        });
+
+        assertEquals(1, Shared.destroyed);
+        assertNotSame(implicit, injector.provide(Shared.class, this));
+        assertSame(bound, injector.provide(Shared.class, this));
+    }
+
+    public static class Plain {
+    }
+
+    @Singleton
+    public static class Shared {
+
+        private static int destroyed;
+
+        @PreDestroy
+        public void destroy() {
+            destroyed++;
+        }
+
+    }
+
+}
@@ -0,0 +1,132 @@
+package dev.fumaz.infuse.injector;
+
+import dev.fumaz.infuse.annotation.PostInject;
+import dev.fumaz.infuse.bind.Binding;
+import dev.fumaz.infuse.module.InfuseModule;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InjectorStatisticsTest {
+
+    @Test
+    void countsProvisionsPerBinding() {
+        InfuseInjector injector = (InfuseInjector) Injector.create(new ServiceModule());
+
+        for (int i = 0; i < 3; i++) {
+            injector.provide(Service.class, this);
+        }
+
+        BindingStatistics statistics = injector.getStatistics().getBindingStatistics(getBinding(injector, Service.class));
+
+        assertEquals(3, statistics.getProvisions());
+        assertEquals(1, statistics.getSingletonConstructions());
+        assertEquals(2, statistics.getSingletonHits());
+        assertEquals(3L, injector.getStatistics().getProvisionsByBinding().get(getBinding(injector, Service.class).getTypeLiteral().toString()));
+    }
+
+    @Test
+    void countsConstructionsAndResets() {
+        InfuseInjector injector = (InfuseInjector) Injector.create(new ServiceModule());
+
+        injector.construct(Plain.class);
+        injector.construct(Plain.class);
+        injector.provide(Service.class, this);
+
+        InjectorStatistics statistics = injector.getStatistics();
+
+        assertTrue(statistics.getConstructions() >= 2);
+        assertTrue(statistics.getConstructTimeNanos() > 0);
+        assertEquals(1, statistics.getProvisions());
+
+        statistics.reset();
+
+        assertEquals(0, statistics.getConstructions());
+        assertEquals(0, statistics.getConstructTimeNanos());
+        assertEquals(0, statistics.getProvisions());
+    }
+
+    @Test
+    void recordsLifecycleTimeWithoutAnExecutor() {
+        InfuseInjector injector = (InfuseInjector) Injector.create(new InfuseModule() {
+            @Override
+            public void configure() {
+                bind(Started.class).toEagerSingleton();
+            }
+        });
+
+        assertTrue(injector.getStatistics().getLifecycleTimeNanos() > 0);
+    }
+
+    @Test
+    void destroysBindingsWhichProvideNull() {
+        Injector injector = Injector.create(new InfuseModule() {
+            @Override
+            public void configure() {
+                bind(Service.class).toSingleton();
+                bind(Plain.class).toProvider(context -> null);
+            }
+        });
+
+        assertDoesNotThrow(injector::destroy);
+    }
+
+    @Test
+    void registersTheMBeanUntilDestroyed() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName("dev.fumaz.infuse:type=Injector,name=" + ObjectName.quote("statistics-test"));
+        Injector injector = Injector.builder()
+                .modules(new ServiceModule())
+                .mbean("statistics-test")
+                .build();
+
+        injector.provide(Service.class, this);
+
+        assertTrue(server.isRegistered(name));
+        assertEquals(1L, server.getAttribute(name, "Provisions"));
+        assertThrows(IllegalStateException.class, () -> Injector.builder().mbean("statistics-test").build());
+
+        injector.destroy();
+
+        assertFalse(server.isRegistered(name));
+    }
+
+    private static Binding<?> getBinding(Injector injector, Class<?> type) {
+        return injector.getBindings().stream()
+                .filter(binding -> binding.getType() == type)
+                .findFirst()
+                .orElseThrow(IllegalStateException::new);
+    }
+
+    private static class ServiceModule extends InfuseModule {
+
+        @Override
+        public void configure() {
+            bind(Service.class).toSingleton();
+        }
+
+    }
+
+    public static class Service {
+    }
+
+    public static class Plain {
+    }
+
+    public static class Started {
+
+        @PostInject
+        public void start() {
+        }
+
+    }
+
+}
@@ -0,0 +1,87 @@
+package dev.fumaz.infuse.injector;
+
+import dev.fumaz.infuse.module.InfuseModule;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InstallTest {
+
+    @Test
+    void reinstallsModulesWithoutConfiguringThemAgain() {
+        Injector injector = Injector.create();
+        CountingModule module = new CountingModule();
+
+        injector.install(module);
+        Service first = injector.provide(Service.class, this);
+        injector.uninstall(module);
+        injector.install(module);
+
+        assertEquals(1, module.configurations);
+        assertEquals(1, module.getBindings().size());
+        assertEquals(1, injector.getBindings(Service.class).size());
+        assertNotSame(first, injector.provide(Service.class, this));
+    }
+
+    @Test
+    void doesNotConfigureModulesGivenAtCreationAgain() {
+        CountingModule module = new CountingModule();
+        Injector injector = Injector.create(module);
+
+        injector.uninstall(module);
+        injector.install(module);
+
+        assertEquals(1, module.configurations);
+        assertNotNull(injector.provide(Service.class, this));
+    }
+
+    @Test
+    void rejectsModulesWhichAreAlreadyInstalled() {
+        CountingModule module = new CountingModule();
+        Injector injector = Injector.create(module);
+
+        assertThrows(IllegalArgumentException.class, () -> injector.install(module));
+    }
+
+    @Test
+    void refreshesChildInjectorsUnderTheirOwnLock() throws InterruptedException {
+        Injector parent = Injector.create();
+        Injector child = parent.child(Collections.emptyList());
+        Thread installer = new Thread(() -> parent.install(new CountingModule()));
+
+        synchronized (child) {
+            installer.start();
+            installer.join(200);
+
+            assertTrue(installer.isAlive());
+        }
+
+        installer.join(10_000);
+
+        assertFalse(installer.isAlive());
+        assertNotNull(child.provide(Service.class, this));
+    }
+
+    static class Service {
+    }
+
+    static class CountingModule extends InfuseModule {
+
+        private int configurations;
+
+        @Override
+        public void configure() {
+            configurations++;
+            bind(Service.class).toSingleton();
+        }
+
+    }
+
+}
@@ -0,0 +1,116 @@
+package dev.fumaz.infuse.injector;
+
+import dev.fumaz.infuse.annotation.Inject;
+import dev.fumaz.infuse.annotation.PostInject;
+import dev.fumaz.infuse.module.InfuseModule;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class MembersInjectorTest {
+
+    @Test
+    void injectsInheritedFieldsThenCallsPostInjectMethods() {
+        Injector injector = Injector.create(new ServiceModule());
+        Child child = new Child();
+
+        injector.membersInjector(Child.class).injectMembers(child);
+
+        assertNotNull(child.service);
+        assertSame(child.service, child.other);
+        assertEquals(1, child.postInjected);
+    }
+
+    @Test
+    void reusesOneMembersInjectorPerClass() {
+        Injector injector = Injector.create(new ServiceModule());
+
+        assertSame(injector.membersInjector(Child.class), injector.membersInjector(Child.class));
+    }
+
+    @Test
+    void injectsMixedCollections() {
+        Injector injector = Injector.create(new ServiceModule());
+        Parent parent = new Parent();
+        Child child = new Child();
+
+        injector.injectAll(Arrays.asList(parent, child, new Parent()));
+
+        assertSame(parent.service, child.service);
+        assertEquals(1, child.postInjected);
+    }
+
+    @Test
+    void injectsInParallelWithOneSingleton() {
+        Service.constructions.set(0);
+        Injector injector = Injector.create(new ServiceModule());
+        List<Child> children = new ArrayList<>();
+
+        for (int i = 0; i < 2_000; i++) {
+            children.add(new Child());
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(8);
+
+        try {
+            injector.injectAll(children, pool);
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(1, Service.constructions.get());
+
+        for (Child child : children) {
+            assertSame(children.get(0).service, child.service);
+            assertEquals(1, child.postInjected);
+        }
+    }
+
+    static class ServiceModule extends InfuseModule {
+
+        @Override
+        public void configure() {
+            bind(Service.class).toSingleton();
+        }
+
+    }
+
+    static class Service {
+
+        static final AtomicInteger constructions = new AtomicInteger();
+
+        Service() {
+            constructions.incrementAndGet();
+        }
+
+    }
+
+    static class Parent {
+
+        @Inject
+        Service service;
+
+    }
+
+    static class Child extends Parent {
+
+        @Inject
+        Service other;
+        int postInjected;
+
+        @PostInject
+        void ready() {
+            postInjected++;
+        }
+
+    }
+
+}
@@ -0,0 +1,94 @@
+package dev.fumaz.infuse.injector;
+
+import dev.fumaz.infuse.module.InfuseModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ModuleDeduplicationTest {
+
+    @BeforeEach
+    void setUp() {
+        StatelessModule.configured = 0;
+        StatefulModule.configured = 0;
+    }
+
+    @Test
+    void configuresTheSameInstanceOnce() {
+        StatelessModule module = new StatelessModule();
+
+        Injector injector = Injector.create(module, module);
+
+        assertEquals(1, StatelessModule.configured);
+        assertEquals(1, injector.getModules().stream().filter(StatelessModule.class::isInstance).count());
+    }
+
+    @Test
+    void configuresOneInstanceOfAStatelessModule() {
+        Injector.create(new StatelessModule(), new StatelessModule());
+
+        assertEquals(1, StatelessModule.configured);
+    }
+
+    @Test
+    void configuresEveryInstanceOfAStatefulModule() {
+        Injector.create(new StatefulModule("a"), new StatefulModule("b"));
+
+        assertEquals(2, StatefulModule.configured);
+    }
+
+    @Test
+    void dropsInstancesAlreadyInstalledInTheParent() {
+        StatelessModule module = new StatelessModule();
+        Injector parent = Injector.create(module);
+        Injector child = parent.child(module);
+
+        assertEquals(1, StatelessModule.configured);
+        assertSame(parent.provide(Service.class, this), child.provide(Service.class, this));
+    }
+
+    @Test
+    void keepsOtherInstancesOfModulesInstalledInTheParent() {
+        Injector parent = Injector.create(new StatelessModule());
+        Injector child = parent.child(new StatelessModule());
+
+        assertEquals(2, StatelessModule.configured);
+        assertNotSame(parent.provide(Service.class, this), child.provide(Service.class, this));
+    }
+
+    public static class Service {
+    }
+
+    private static class StatelessModule extends InfuseModule {
+
+        private static int configured;
+
+        @Override
+        public void configure() {
+            configured++;
+            bind(Service.class).toSingleton();
+        }
+
+    }
+
+    private static class StatefulModule extends InfuseModule {
+
+        private static int configured;
+
+        private final String name;
+
+        private StatefulModule(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void configure() {
+            configured++;
+        }
+
+    }
+
+}
@@ -0,0 +1,166 @@
+package dev.fumaz.infuse.injector;
+
+import dev.fumaz.infuse.annotation.PostInject;
+import dev.fumaz.infuse.annotation.PreDestroy;
+import dev.fumaz.infuse.module.InfuseModule;
+import dev.fumaz.infuse.module.Module;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ParallelLifecycleTest {
+
+    private static final List<String> CALLS = Collections.synchronizedList(new ArrayList<>());
+    private static volatile CyclicBarrier barrier;
+    private static volatile boolean failing;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        CALLS.clear();
+        barrier = new CyclicBarrier(2);
+        failing = false;
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void runsTheMethodsOfALevelConcurrently() {
+        build(First.class, Second.class, Last.class);
+
+        assertEquals(Arrays.asList("first", "second"), sorted(CALLS.subList(0, 2)));
+        assertEquals("last", CALLS.get(2));
+    }
+
+    @Test
+    void stopsStartingAtTheFirstFailingLevel() {
+        failing = true;
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> build(First.class, Second.class, Last.class));
+
+        assertEquals(2, exception.getSuppressed().length);
+        assertEquals(Arrays.asList("first", "second"), sorted(CALLS));
+    }
+
+    @Test
+    void destroysEveryLevelDespiteFailures() {
+        Injector injector = build(First.class, Second.class, Last.class);
+        CALLS.clear();
+        barrier = new CyclicBarrier(2);
+        failing = true;
+
+        RuntimeException exception = assertThrows(RuntimeException.class, injector::destroy);
+
+        assertEquals(2, exception.getSuppressed().length);
+        assertEquals(Arrays.asList("destroy first", "destroy second"), sorted(CALLS.subList(0, 2)));
+        assertEquals("destroy last", CALLS.get(2));
+    }
+
+    @Test
+    void childrenInheritTheExecutor() {
+        Injector child = build().child(module(First.class, Second.class));
+
+        CALLS.clear();
+        barrier = new CyclicBarrier(2);
+        child.destroy();
+
+        assertEquals(Arrays.asList("destroy first", "destroy second"), sorted(CALLS));
+    }
+
+    private Injector build(Class<?>... types) {
+        return Injector.builder()
+                .modules(module(types))
+                .lifecycleExecutor(executor)
+                .build();
+    }
+
+    private static Module module(Class<?>... types) {
+        return new InfuseModule() {
+            @Override
+            public void configure() {
+                for (Class<?> type : types) {
+                    bind(type).toEagerSingleton();
+                }
+            }
+        };
+    }
+
+    private static List<String> sorted(List<String> calls) {
+        List<String> sorted = new ArrayList<>(calls);
+        Collections.sort(sorted);
+
+        return sorted;
+    }
+
+    /**
+     * Records the call, then waits for the other method of the level, which only returns if both run at the same time.
+     */
+    private static void await(String call) throws Exception {
+        CALLS.add(call);
+        barrier.await(5, TimeUnit.SECONDS);
+
+        if (failing) {
+            throw new IllegalStateException(call);
+        }
+    }
+
+    public static class First {
+
+        @PostInject
+        public void start() throws Exception {
+            await("first");
+        }
+
+        @PreDestroy
+        public void stop() throws Exception {
+            await("destroy first");
+        }
+
+    }
+
+    public static class Second {
+
+        @PostInject
+        public void start() throws Exception {
+            await("second");
+        }
+
+        @PreDestroy
+        public void stop() throws Exception {
+            await("destroy second");
+        }
+
+    }
+
+    public static class Last {
+
+        @PostInject(priority = 1)
+        public void start() {
+            CALLS.add("last");
+        }
+
+        @PreDestroy(priority = 1)
+        public void stop() {
+            CALLS.add("destroy last");
+        }
+
+    }
+
+}
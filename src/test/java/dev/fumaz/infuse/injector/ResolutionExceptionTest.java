@@ -0,0 +1,97 @@
+package dev.fumaz.infuse.injector;
+
+import dev.fumaz.infuse.annotation.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResolutionExceptionTest {
+
+    @Test
+    void reportsEveryStepOfTheFailureOnce() {
+        Injector injector = Injector.create();
+
+        ResolutionException exception = assertThrows(ResolutionException.class, () -> injector.provide(Outer.class, this));
+
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+        assertEquals(exception.getCause().toString(), exception.getReason());
+        assertTrue(exception.getPath().size() >= 2);
+        assertTrue(exception.getPath().get(0).contains(Broken.class.getName()));
+        assertTrue(exception.getPath().get(exception.getPath().size() - 1).contains(Outer.class.getName()));
+        assertTrue(exception.getMessage().startsWith(exception.getReason()));
+    }
+
+    @Test
+    void wrapsAFailureOnlyOnce() {
+        ResolutionException exception = new ResolutionException("reason");
+
+        assertSame(exception, ResolutionException.wrap(exception, "first"));
+        assertSame(exception, ResolutionException.wrap(exception, "second"));
+        assertEquals("reason" + System.lineSeparator() + "  while first" + System.lineSeparator() + "  while second", exception.getMessage());
+    }
+
+    @Test
+    void keepsItsPathWhenSerialized() throws IOException, ClassNotFoundException {
+        ResolutionException exception = ResolutionException.wrap(new IllegalStateException("broken"), "constructing Broken");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(exception);
+        }
+
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            ResolutionException copy = (ResolutionException) in.readObject();
+
+            assertEquals(exception.getMessage(), copy.getMessage());
+            assertEquals(exception.getPath(), copy.getPath());
+        }
+    }
+
+    @Test
+    void leavesMissingOptionalDependenciesUnset() {
+        Optional optional = Injector.create().construct(Optional.class);
+
+        assertNull(optional.missing);
+        assertEquals("default", optional.fallback);
+    }
+
+    public interface Missing {
+    }
+
+    public static class Broken {
+
+        public Broken() {
+            throw new IllegalStateException("broken");
+        }
+
+    }
+
+    public static class Outer {
+
+        @Inject
+        private Broken broken;
+
+    }
+
+    public static class Optional {
+
+        @Inject(optional = true)
+        private Missing missing;
+
+        @Inject(optional = true)
+        private CharSequence fallback = "default";
+
+    }
+
+}
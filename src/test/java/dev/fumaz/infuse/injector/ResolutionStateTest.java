@@ -0,0 +1,100 @@
+package dev.fumaz.infuse.injector;
+
+import dev.fumaz.infuse.annotation.Inject;
+import dev.fumaz.infuse.module.InfuseModule;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResolutionStateTest {
+
+    private final InfuseInjector injector = (InfuseInjector) Injector.create(new InfuseModule() {
+        @Override
+        public void configure() {
+            bind(Shared.class).toProvider(context -> new Shared(((InfuseInjector) context.getInjector()).isResolving()));
+        }
+    });
+
+    @Test
+    void isResolvingWhileConstructingDependencies() {
+        Parent parent = injector.provide(Parent.class, this);
+
+        assertTrue(parent.shared.resolving);
+        assertFalse(injector.isResolving());
+    }
+
+    @Test
+    void leavesNoStateAfterEachCall() {
+        injector.provide(Shared.class, this);
+        assertFalse(injector.isResolving());
+
+        injector.construct(Parent.class);
+        assertFalse(injector.isResolving());
+
+        injector.inject(new Parent());
+        assertFalse(injector.isResolving());
+    }
+
+    @Test
+    void leavesNoStateAfterAFailure() {
+        assertThrows(RuntimeException.class, () -> injector.provide(Broken.class, this));
+
+        assertFalse(injector.isResolving());
+    }
+
+    @Test
+    void leavesNoStateAfterResolvingACycle() {
+        First first = injector.provide(First.class, this);
+
+        assertSame(first, first.second.first);
+        assertFalse(injector.isResolving());
+        assertNotSame(first.second, injector.provide(Second.class, this));
+    }
+
+    public static class Shared {
+
+        private final boolean resolving;
+
+        public Shared(boolean resolving) {
+            this.resolving = resolving;
+        }
+
+    }
+
+    public static class Parent {
+
+        @Inject
+        private Shared shared;
+
+    }
+
+    public static class First {
+
+        @Inject
+        private Second second;
+
+    }
+
+    public static class Second {
+
+        @Inject
+        private First first;
+
+    }
+
+    public static class Broken {
+
+        @Inject
+        private Shared shared;
+
+        public Broken() {
+            throw new IllegalStateException("broken");
+        }
+
+    }
+
+}
@@ -0,0 +1,129 @@
+package dev.fumaz.infuse.injector;
+
+import dev.fumaz.infuse.module.InfuseModule;
+import dev.fumaz.infuse.snapshot.StartupSnapshot;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StartupSnapshotInjectorTest {
+
+    private static final AtomicInteger LAZY_CREATED = new AtomicInteger();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recordsTheConstructedTypes() {
+        Path file = directory.resolve("startup.snapshot");
+
+        Injector.builder().modules(new SnapshotModule()).snapshot(file).build();
+
+        StartupSnapshot snapshot = StartupSnapshot.read(file);
+        assertNotNull(snapshot);
+        assertTrue(snapshot.getEntries().stream().anyMatch(entry -> entry.getType().equals(Eager.class.getName())));
+    }
+
+    @Test
+    void prebuildsRecordedSingletonsOnReplay() {
+        Path file = directory.resolve("startup.snapshot");
+        SnapshotModule module = new SnapshotModule();
+        module.configure();
+
+        new StartupSnapshot(StartupSnapshot.fingerprint(Collections.singletonList(module)), Collections.singletonList(
+                new StartupSnapshot.Entry(Lazy.class.getName(), new String[0])
+        )).write(file);
+
+        LAZY_CREATED.set(0);
+        Injector.builder().modules(new SnapshotModule()).snapshot(file).build();
+
+        assertEquals(1, LAZY_CREATED.get());
+    }
+
+    @Test
+    void logsSnapshotsWhichCannotBeSaved() throws IOException, InterruptedException {
+        assertLogsUnsavedSnapshot(Duration.ofMillis(10));
+    }
+
+    @Test
+    void logsSnapshotsWhichCannotBeSavedRightAway() throws IOException, InterruptedException {
+        assertLogsUnsavedSnapshot(Duration.ZERO);
+    }
+
+    private void assertLogsUnsavedSnapshot(Duration window) throws IOException, InterruptedException {
+        Path blocker = Files.createFile(directory.resolve("blocker"));
+        Logger logger = Logger.getLogger(InfuseInjector.class.getName());
+        List<LogRecord> records = new CopyOnWriteArrayList<>();
+        CountDownLatch logged = new CountDownLatch(1);
+        Handler handler = new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                records.add(record);
+                logged.countDown();
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        boolean parentHandlers = logger.getUseParentHandlers();
+        logger.setUseParentHandlers(false);
+        logger.addHandler(handler);
+
+        try {
+            Injector.builder().modules(new SnapshotModule()).snapshot(blocker.resolve("startup.snapshot"), window).build();
+
+            assertTrue(logged.await(5, TimeUnit.SECONDS));
+            assertEquals(Level.WARNING, records.get(0).getLevel());
+            assertNotNull(records.get(0).getThrown());
+        } finally {
+            logger.removeHandler(handler);
+            logger.setUseParentHandlers(parentHandlers);
+        }
+    }
+
+    private static class SnapshotModule extends InfuseModule {
+
+        @Override
+        public void configure() {
+            bind(Eager.class).toEagerSingleton();
+            bind(Lazy.class).toSingleton();
+        }
+
+    }
+
+    public static class Eager {
+    }
+
+    public static class Lazy {
+
+        public Lazy() {
+            LAZY_CREATED.incrementAndGet();
+        }
+
+    }
+
+}
@@ -0,0 +1,151 @@
+package dev.fumaz.infuse.injector;
+
+import dev.fumaz.infuse.annotation.Inject;
+import dev.fumaz.infuse.annotation.PreDestroy;
+import dev.fumaz.infuse.annotation.Singleton;
+import dev.fumaz.infuse.module.InfuseModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WarmupTest {
+
+    private static final Logger LOGGER = Logger.getLogger(InfuseInjector.class.getName());
+
+    private final List<LogRecord> records = new ArrayList<>();
+    private final Handler handler = new Handler() {
+        @Override
+        public void publish(LogRecord record) {
+            records.add(record);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        Plain.constructed = 0;
+        Plain.destroyed = 0;
+        Shared.constructed = 0;
+        Shared.destroyed = 0;
+        LOGGER.addHandler(handler);
+    }
+
+    @AfterEach
+    void tearDown() {
+        LOGGER.removeHandler(handler);
+    }
+
+    @Test
+    void constructsUnboundTypes() {
+        Injector injector = Injector.create(new RootModule());
+
+        injector.warmup(new WarmupOptions().constructions(3));
+
+        assertEquals(3, Plain.constructed);
+        assertEquals(3, Plain.destroyed);
+    }
+
+    @Test
+    void skipsSingletonTypes() {
+        Injector injector = Injector.create(new RootModule());
+
+        injector.warmup(new WarmupOptions().constructions(3));
+
+        assertEquals(0, Shared.constructed);
+        assertEquals(0, Shared.destroyed);
+
+        Shared shared = injector.provide(Shared.class, this);
+
+        assertSame(shared, injector.provide(Shared.class, this));
+        assertEquals(1, Shared.constructed);
+        assertEquals(0, Shared.destroyed);
+    }
+
+    @Test
+    void logsTypesFailingToConstruct() {
+        Injector injector = Injector.create(new RootModule());
+
+        injector.warmup(new WarmupOptions().constructions(1));
+
+        assertEquals(1, Plain.constructed);
+        assertTrue(records.stream().anyMatch(record -> record.getLevel() == Level.WARNING
+                && record.getMessage().contains(Broken.class.getName())));
+    }
+
+    private static class RootModule extends InfuseModule {
+
+        @Override
+        public void configure() {
+            bind(Root.class).toSingleton();
+        }
+
+    }
+
+    public static class Root {
+
+        @Inject
+        public Root(Plain plain, Shared shared, Broken broken) {
+        }
+
+    }
+
+    public static class Plain {
+
+        private static int constructed;
+        private static int destroyed;
+
+        public Plain() {
+            constructed++;
+        }
+
+        @PreDestroy
+        public void destroy() {
+            destroyed++;
+        }
+
+    }
+
+    @Singleton
+    public static class Shared {
+
+        private static int constructed;
+        private static int destroyed;
+
+        public Shared() {
+            constructed++;
+        }
+
+        @PreDestroy
+        public void destroy() {
+            destroyed++;
+        }
+
+    }
+
+    public static class Broken {
+
+        public Broken() {
+            throw new IllegalStateException("broken");
+        }
+
+    }
+
+}
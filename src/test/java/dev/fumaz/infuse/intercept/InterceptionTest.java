@@ -0,0 +1,131 @@
+package dev.fumaz.infuse.intercept;
+
+import dev.fumaz.infuse.injector.InfuseInjector;
+import dev.fumaz.infuse.intercept.hidden.Base;
+import dev.fumaz.infuse.injector.Injector;
+import dev.fumaz.infuse.module.InfuseModule;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InterceptionTest {
+
+    @Test
+    void interceptsMatchedMethodsOfEveryClass() {
+        Injector injector = Injector.create(new InfuseModule() {
+            @Override
+            public void configure() {
+                bindMethodInterceptor(Matchers.named("greet"), invocation -> invocation.proceed() + "!");
+            }
+        });
+
+        Greeter greeter = injector.construct(Greeter.class);
+
+        assertTrue(greeter instanceof Intercepted);
+        assertEquals("hello a!", greeter.greet("a"));
+        assertEquals("bye a", greeter.leave("a"));
+    }
+
+    @Test
+    void interceptsMatchedMethodsOfMatchedClassesInOrder() {
+        Injector injector = Injector.create(new InfuseModule() {
+            @Override
+            public void configure() {
+                bindInterceptor(Matchers.subclassesOf(Greeter.class), Matchers.any(), invocation -> "[" + invocation.proceed() + "]");
+                bindInterceptor(Matchers.subclassesOf(Greeter.class), Matchers.named("greet"), invocation -> invocation.proceed() + "?");
+            }
+        });
+
+        Greeter greeter = injector.construct(Greeter.class);
+
+        assertEquals("[hello a?]", greeter.greet("a"));
+        assertEquals("[bye a]", greeter.leave("a"));
+        assertEquals(Other.class, injector.construct(Other.class).getClass());
+    }
+
+    @Test
+    void reusesTheInterceptedConstructor() throws NoSuchMethodException {
+        InfuseInjector injector = (InfuseInjector) Injector.create(new InfuseModule() {
+            @Override
+            public void configure() {
+                bindMethodInterceptor(Matchers.named("greet"), invocation -> invocation.proceed() + "!");
+            }
+        });
+
+        Greeter first = injector.construct(Greeter.class.getConstructor(String.class), new Object[]{"hi"});
+        Greeter second = injector.construct(Greeter.class.getConstructor(String.class), new Object[]{"hey"});
+
+        assertSame(first.getClass(), second.getClass());
+        assertEquals("hi a!", first.greet("a"));
+        assertEquals("hey a!", second.greet("a"));
+    }
+
+    @Test
+    void interceptsAgainAfterInstallingInterceptors() {
+        Injector injector = Injector.create();
+
+        assertEquals("hello a", injector.construct(Greeter.class).greet("a"));
+
+        injector.install(new InfuseModule() {
+            @Override
+            public void configure() {
+                bindMethodInterceptor(Matchers.named("greet"), invocation -> invocation.proceed() + "!");
+            }
+        });
+
+        assertEquals("hello a!", injector.construct(Greeter.class).greet("a"));
+    }
+
+    @Test
+    void skipsMethodsWithInaccessibleParameterTypes() {
+        Injector injector = Injector.create(new InfuseModule() {
+            @Override
+            public void configure() {
+                bindMethodInterceptor(Matchers.any(), invocation -> invocation.proceed() + "!");
+            }
+        });
+
+        Derived derived = injector.construct(Derived.class);
+
+        assertTrue(derived instanceof Intercepted);
+        assertEquals("hello a!", derived.greet("a"));
+        assertEquals("null", derived.describe(null));
+    }
+
+    public static class Greeter {
+
+        private final String greeting;
+
+        public Greeter() {
+            this("hello");
+        }
+
+        public Greeter(String greeting) {
+            this.greeting = greeting;
+        }
+
+        public String greet(String name) {
+            return greeting + " " + name;
+        }
+
+        public String leave(String name) {
+            return "bye " + name;
+        }
+
+    }
+
+    public static class Derived extends Base {
+
+    }
+
+    public static class Other {
+
+        public String greet(String name) {
+            return name;
+        }
+
+    }
+
+}
@@ -0,0 +1,13 @@
+package dev.fumaz.infuse.intercept.hidden;
+
+public class Base {
+
+    public String greet(String name) {
+        return "hello " + name;
+    }
+
+    public String describe(Detail detail) {
+        return String.valueOf(detail);
+    }
+
+}
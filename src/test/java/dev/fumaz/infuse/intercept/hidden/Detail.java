@@ -0,0 +1,5 @@
+package dev.fumaz.infuse.intercept.hidden;
+
+class Detail {
+
+}
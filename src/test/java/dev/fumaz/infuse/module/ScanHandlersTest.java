@@ -0,0 +1,92 @@
+package dev.fumaz.infuse.module;
+
+import dev.fumaz.infuse.annotation.Inject;
+import dev.fumaz.infuse.bind.Types;
+import dev.fumaz.infuse.injector.Injector;
+import dev.fumaz.infuse.module.scanned.EnglishGreeting;
+import dev.fumaz.infuse.module.scanned.FirstPlugin;
+import dev.fumaz.infuse.module.scanned.Greeting;
+import dev.fumaz.infuse.module.scanned.Plugin;
+import dev.fumaz.infuse.module.scanned.SecondPlugin;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScanHandlersTest {
+
+    private static final String PACKAGE = "dev.fumaz.infuse.module.scanned";
+
+    @Test
+    void bindsImplementationsToTheSingletonProvider() {
+        Injector injector = Injector.create(new ScanModule());
+
+        Greeting greeting = injector.provide(Greeting.class, this);
+
+        assertTrue(greeting instanceof EnglishGreeting);
+        assertSame(injector.provide(EnglishGreeting.class, this), greeting);
+        assertEquals("Hello a", greeting.greet("a"));
+    }
+
+    @Test
+    void bindsASetOfContributions() throws NoSuchFieldException {
+        Injector injector = Injector.create(new ScanModule());
+
+        Set<Plugin> plugins = injector.construct(Consumer.class).plugins;
+
+        assertEquals(2, plugins.size());
+        assertTrue(plugins.stream().anyMatch(plugin -> plugin instanceof FirstPlugin));
+        assertTrue(plugins.contains(injector.provide(SecondPlugin.class, this)));
+        assertEquals(Consumer.class.getDeclaredField("plugins").getGenericType(), Types.setOf(Plugin.class).getType());
+    }
+
+    @Test
+    void givesEveryClassToCustomHandlersInOneScan() {
+        List<Class<?>> handled = new ArrayList<>();
+        AtomicInteger completed = new AtomicInteger();
+
+        ScanModule module = new ScanModule();
+        module.addScanHandler(new ScanHandler() {
+            @Override
+            public void handle(InfuseModule module, Class<?> type) {
+                handled.add(type);
+            }
+
+            @Override
+            public void complete(InfuseModule module) {
+                completed.incrementAndGet();
+            }
+        });
+        module.configure();
+
+        assertEquals(new HashSet<>(Arrays.asList(Greeting.class, EnglishGreeting.class, Plugin.class, FirstPlugin.class, SecondPlugin.class)),
+                new HashSet<>(handled));
+        assertEquals(handled.size(), new HashSet<>(handled).size());
+        assertEquals(1, completed.get());
+    }
+
+    public static class Consumer {
+
+        @Inject
+        private Set<Plugin> plugins;
+
+    }
+
+    private static class ScanModule extends InfuseModule {
+
+        @Override
+        public void configure() {
+            bindPackage(getClass().getClassLoader(), PACKAGE);
+        }
+
+    }
+
+}
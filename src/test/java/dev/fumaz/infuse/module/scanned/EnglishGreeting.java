@@ -0,0 +1,15 @@
+package dev.fumaz.infuse.module.scanned;
+
+import dev.fumaz.infuse.annotation.Implements;
+import dev.fumaz.infuse.annotation.Singleton;
+
+@Singleton
+@Implements(Greeting.class)
+public class EnglishGreeting implements Greeting {
+
+    @Override
+    public String greet(String name) {
+        return "Hello " + name;
+    }
+
+}
@@ -0,0 +1,7 @@
+package dev.fumaz.infuse.module.scanned;
+
+import dev.fumaz.infuse.annotation.Contributes;
+
+@Contributes(Plugin.class)
+public class FirstPlugin implements Plugin {
+}
@@ -0,0 +1,7 @@
+package dev.fumaz.infuse.module.scanned;
+
+public interface Greeting {
+
+    String greet(String name);
+
+}
@@ -0,0 +1,4 @@
+package dev.fumaz.infuse.module.scanned;
+
+public interface Plugin {
+}
@@ -0,0 +1,9 @@
+package dev.fumaz.infuse.module.scanned;
+
+import dev.fumaz.infuse.annotation.Contributes;
+import dev.fumaz.infuse.annotation.Singleton;
+
+@Singleton
+@Contributes(Plugin.class)
+public class SecondPlugin implements Plugin {
+}
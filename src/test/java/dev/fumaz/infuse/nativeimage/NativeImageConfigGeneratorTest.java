@@ -0,0 +1,153 @@
+package dev.fumaz.infuse.nativeimage;
+
+import dev.fumaz.infuse.annotation.Inject;
+import dev.fumaz.infuse.injector.InjectorStatisticsMXBean;
+import dev.fumaz.infuse.module.InfuseModule;
+import dev.fumaz.infuse.module.Module;
+import dev.fumaz.infuse.nativeimage.scanned.ScannedService;
+import dev.fumaz.infuse.nativeimage.scanned.nested.NestedService;
+import dev.fumaz.infuse.reflection.ClassIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NativeImageConfigGeneratorTest {
+
+    private static final String SCANNED = "dev.fumaz.infuse.nativeimage.scanned";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void reflectConfigListsBoundReachableAndInternalTypes() {
+        String config = NativeImageConfigGenerator.of(Collections.singletonList(new ServiceModule())).generateReflectConfig();
+
+        assertTrue(config.contains("\"" + ServiceImpl.class.getName() + "\""));
+        assertTrue(config.contains("\"" + Dependency.class.getName() + "\""));
+        assertTrue(config.contains("\"" + Inject.class.getName() + "\""));
+        assertTrue(config.contains("\"" + InjectorStatisticsMXBean.class.getName() + "\""));
+        assertFalse(config.contains("\"java.lang.String\""));
+    }
+
+    @Test
+    void reflectConfigListsScannedClasses() {
+        String config = NativeImageConfigGenerator.of(Collections.singletonList(new ScanningModule())).generateReflectConfig();
+
+        assertTrue(config.contains("\"" + ScannedService.class.getName() + "\""));
+        assertTrue(config.contains("\"" + NestedService.class.getName() + "\""));
+    }
+
+    @Test
+    void resourceConfigIncludesScannedPackagesAndTheirIndex() {
+        String config = NativeImageConfigGenerator.of(Collections.singletonList(new ScanningModule())).generateResourceConfig();
+
+        assertTrue(config.contains("\\\\Qdev/fumaz/infuse/nativeimage/scanned\\\\E.*"));
+        assertTrue(config.contains("\\\\Q" + ClassIndex.LOCATION + "\\\\E.*"));
+        assertEquals("{\n  \"resources\": {\n    \"includes\": []\n  }\n}\n",
+                NativeImageConfigGenerator.of(Collections.singletonList(new ServiceModule())).generateResourceConfig());
+    }
+
+    @Test
+    void resourceBundleConfigFollowsInjectedLoggers() {
+        assertEquals("[]\n", NativeImageConfigGenerator.of(Collections.singletonList(new ServiceModule())).generateResourceBundleConfig());
+        assertTrue(NativeImageConfigGenerator.of(Collections.singletonList(new LoggingModule())).generateResourceBundleConfig()
+                .contains("sun.util.logging.resources.logging"));
+    }
+
+    @Test
+    void writesConfigurationAndClassIndex() throws IOException {
+        Path output = NativeImageConfigGenerator.of(Collections.singletonList(new ScanningModule())).write(directory);
+
+        assertEquals(directory.resolve("META-INF/native-image"), output);
+        assertTrue(Files.isRegularFile(output.resolve("reflect-config.json")));
+        assertTrue(Files.isRegularFile(output.resolve("resource-config.json")));
+        assertTrue(Files.isRegularFile(output.resolve("resource-bundle-config.json")));
+        assertEquals(Arrays.asList(ScannedService.class.getName(), NestedService.class.getName()),
+                Files.readAllLines(directory.resolve(ClassIndex.getResourceName(SCANNED)), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void mainLoadsModulesFromTheGivenClasspath() throws Exception {
+        Path sources = Files.createDirectories(directory.resolve("src/app"));
+        Path classes = Files.createDirectories(directory.resolve("classes"));
+        Files.write(sources.resolve("AppModule.java"), Arrays.asList(
+                "package app;",
+                "public class AppModule extends dev.fumaz.infuse.module.InfuseModule {",
+                "    public static class AppService {}",
+                "    @Override public void configure() { bind(AppService.class).toSingleton(); }",
+                "}"
+        ), StandardCharsets.UTF_8);
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        Path infuse = Paths.get(InfuseModule.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        int status = compiler.run(null, null, null, "-classpath", infuse.toString(),
+                "-d", classes.toString(), sources.resolve("AppModule.java").toString());
+        assertEquals(0, status);
+
+        Path output = directory.resolve("output");
+        NativeImageConfigGenerator.main(new String[]{output.toString(), classes + File.pathSeparator, "app.AppModule"});
+
+        List<String> config = Files.readAllLines(output.resolve("META-INF/native-image/reflect-config.json"), StandardCharsets.UTF_8);
+        assertTrue(config.contains("    \"name\": \"app.AppModule$AppService\","));
+    }
+
+    static class Dependency {
+    }
+
+    static class ServiceImpl {
+
+        @Inject
+        private Dependency dependency;
+
+    }
+
+    static class ServiceModule extends InfuseModule {
+
+        @Override
+        public void configure() {
+            bind(ServiceImpl.class).toSingleton();
+        }
+
+    }
+
+    static class ScanningModule extends InfuseModule {
+
+        @Override
+        public void configure() {
+            bindPackage(getClass().getClassLoader(), SCANNED);
+        }
+
+    }
+
+    static class LoggingModule extends InfuseModule {
+
+        @Override
+        public void configure() {
+            bind(LoggingService.class).toSingleton();
+        }
+
+    }
+
+    static class LoggingService {
+
+        @Inject
+        private java.util.logging.Logger logger;
+
+    }
+
+}
@@ -0,0 +1,7 @@
+package dev.fumaz.infuse.nativeimage.scanned;
+
+import dev.fumaz.infuse.annotation.Singleton;
+
+@Singleton
+public class ScannedService {
+}
@@ -0,0 +1,4 @@
+package dev.fumaz.infuse.nativeimage.scanned.nested;
+
+public class NestedService {
+}
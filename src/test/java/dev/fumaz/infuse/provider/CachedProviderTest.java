@@ -0,0 +1,138 @@
+package dev.fumaz.infuse.provider;
+
+import dev.fumaz.infuse.annotation.PreDestroy;
+import dev.fumaz.infuse.context.Context;
+import dev.fumaz.infuse.injector.Injector;
+import org.junit.jupiter.api.Test;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.ElementType;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CachedProviderTest {
+
+    private final Injector injector = Injector.create();
+
+    @Test
+    void cachesOneInstancePerKey() {
+        CachedProvider<Resource> provider = Provider.cached(Resource.class).keyedBy(Context::getObject).build();
+
+        Resource a = provider.provide(context("a"));
+
+        assertSame(a, provider.provide(context("a")));
+        assertNotSame(a, provider.provide(context("b")));
+        assertEquals(2, provider.size());
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedInstance() {
+        CachedProvider<Resource> provider = Provider.cached(Resource.class).keyedBy(Context::getObject).maximumSize(2).build();
+        Resource a = provider.provide(context("a"));
+        Resource b = provider.provide(context("b"));
+
+        provider.provide(context("a"));
+        provider.provide(context("c"));
+
+        assertEquals(2, provider.size());
+        assertTrue(b.destroyed);
+        assertFalse(a.destroyed);
+        assertSame(a, provider.provide(context("a")));
+        assertNotSame(b, provider.provide(context("b")));
+    }
+
+    @Test
+    void replacesAndDestroysExpiredInstances() throws InterruptedException {
+        CachedProvider<Resource> provider = Provider.cached(Resource.class).expireAfterWrite(Duration.ofMillis(1)).build();
+        Resource first = provider.provide(context("a"));
+
+        Thread.sleep(5);
+        Resource second = provider.provide(context("a"));
+
+        assertNotSame(first, second);
+        assertTrue(first.destroyed);
+        assertFalse(second.destroyed);
+        assertEquals(1, provider.size());
+    }
+
+    @Test
+    void destroysInvalidatedInstances() {
+        CachedProvider<Resource> provider = Provider.cached(Resource.class).keyedBy(Context::getObject).build();
+        Resource a = provider.provide(context("a"));
+        Resource b = provider.provide(context("b"));
+
+        provider.invalidate("a");
+
+        assertTrue(a.destroyed);
+        assertFalse(b.destroyed);
+
+        provider.invalidateAll();
+
+        assertTrue(b.destroyed);
+        assertEquals(0, provider.size());
+    }
+
+    @Test
+    void concurrentProvisionsShareOneInstanceAndDestroyTheLosers() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            for (int round = 0; round < 50; round++) {
+                CachedProvider<Resource> provider = Provider.cached(Resource.class).maximumSize(1).build();
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<Resource>> futures = new ArrayList<>();
+
+                for (int i = 0; i < threads; i++) {
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        return provider.provide(context("a"));
+                    }));
+                }
+
+                start.countDown();
+                Set<Resource> returned = ConcurrentHashMap.newKeySet();
+
+                for (Future<Resource> future : futures) {
+                    returned.add(future.get(10, TimeUnit.SECONDS));
+                }
+
+                assertEquals(1, returned.size());
+                assertFalse(returned.iterator().next().destroyed);
+                assertEquals(1, provider.size());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Context<Object> context(Object key) {
+        return new Context<>(Object.class, key, injector, ElementType.FIELD, "resource", new Annotation[0]);
+    }
+
+    static class Resource {
+
+        volatile boolean destroyed;
+
+        @PreDestroy
+        void destroy() {
+            destroyed = true;
+        }
+
+    }
+
+}
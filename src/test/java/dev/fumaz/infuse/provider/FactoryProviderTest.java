@@ -0,0 +1,191 @@
+package dev.fumaz.infuse.provider;
+
+import dev.fumaz.infuse.annotation.Assisted;
+import dev.fumaz.infuse.annotation.Inject;
+import dev.fumaz.infuse.injector.Injector;
+import dev.fumaz.infuse.module.InfuseModule;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FactoryProviderTest {
+
+    @Test
+    void passesAssistedArgumentsAndInjectsTheRest() {
+        Injector injector = Injector.create(new FactoryModule());
+        HandlerFactory factory = injector.provide(HandlerFactory.class, this);
+
+        Handler handler = factory.create("orders", 3);
+
+        assertEquals("orders", handler.name);
+        assertEquals(3, handler.priority);
+        assertSame(injector.provide(Dependency.class, this), handler.dependency);
+    }
+
+    @Test
+    void matchesAssistedArgumentsByName() {
+        HandlerFactory factory = Injector.create(new FactoryModule()).provide(HandlerFactory.class, this);
+
+        Route route = factory.route("to", "from");
+
+        assertEquals("from", route.from);
+        assertEquals("to", route.to);
+        assertEquals(0L, route.weight);
+    }
+
+    @Test
+    void boxesPrimitiveArguments() {
+        HandlerFactory factory = Injector.create(new FactoryModule()).provide(HandlerFactory.class, this);
+
+        assertEquals(Long.MAX_VALUE, factory.route("b", "a", Long.MAX_VALUE).weight);
+    }
+
+    @Test
+    void dispatchesDefaultMethodsToTheirImplementation() {
+        HandlerFactory factory = Injector.create(new FactoryModule()).provide(HandlerFactory.class, this);
+
+        Handler handler = factory.createDefault();
+
+        assertEquals("default", handler.name);
+        assertEquals(1, handler.priority);
+    }
+
+    @Test
+    void implementsTheInterfaceWithoutAProxy() {
+        HandlerFactory factory = Injector.create(new FactoryModule()).provide(HandlerFactory.class, this);
+
+        assertFalse(Proxy.isProxyClass(factory.getClass()));
+        assertEquals(factory, factory);
+        assertEquals(System.identityHashCode(factory), factory.hashCode());
+        assertTrue(factory.toString().startsWith(HandlerFactory.class.getName()));
+    }
+
+    @Test
+    void sharesOneFactoryPerInjector() {
+        Injector first = Injector.create(new FactoryModule());
+        Injector second = Injector.create(new FactoryModule());
+
+        assertSame(first.provide(HandlerFactory.class, this), first.provide(HandlerFactory.class, this));
+        assertNotSame(first.provide(HandlerFactory.class, this), second.provide(HandlerFactory.class, this));
+        assertNotEquals(first.provide(Dependency.class, this), second.provide(HandlerFactory.class, this).create("a", 1).dependency);
+    }
+
+    @Test
+    void implementsCovariantOverrides() {
+        Injector injector = Injector.create(new InfuseModule() {
+            @Override
+            public void configure() {
+                bind(SpecificFactory.class).toFactory();
+            }
+        });
+        SpecificFactory factory = injector.provide(SpecificFactory.class, this);
+        GenericFactory generic = factory;
+
+        assertEquals("a", factory.create("a").name);
+        assertEquals("b", ((Named) generic.create("b")).name);
+    }
+
+    @Test
+    void rejectsInvalidFactoryTypes() {
+        assertThrows(IllegalArgumentException.class, () -> Provider.factory(Handler.class));
+        assertThrows(IllegalArgumentException.class, () -> Provider.factory(HiddenFactory.class));
+    }
+
+    static class FactoryModule extends InfuseModule {
+
+        @Override
+        public void configure() {
+            bind(Dependency.class).toSingleton();
+            bind(HandlerFactory.class).toFactory();
+        }
+
+    }
+
+    public interface HandlerFactory {
+
+        Handler create(String name, int priority);
+
+        Route route(@Assisted("to") String to, @Assisted("from") String from);
+
+        Route route(@Assisted("to") String to, @Assisted("from") String from, long weight);
+
+        default Handler createDefault() {
+            return create("default", 1);
+        }
+
+    }
+
+    public interface GenericFactory {
+
+        Object create(String name);
+
+    }
+
+    public interface SpecificFactory extends GenericFactory {
+
+        @Override
+        Named create(String name);
+
+    }
+
+    interface HiddenFactory {
+
+        Handler create(String name);
+
+    }
+
+    public static class Dependency {
+    }
+
+    public static class Handler {
+
+        private final String name;
+        private final int priority;
+        private final Dependency dependency;
+
+        @Inject
+        public Handler(@Assisted String name, @Assisted int priority, Dependency dependency) {
+            this.name = name;
+            this.priority = priority;
+            this.dependency = dependency;
+        }
+
+    }
+
+    public static class Named {
+
+        private final String name;
+
+        public Named(@Assisted String name) {
+            this.name = name;
+        }
+
+    }
+
+    public static class Route {
+
+        private final String from;
+        private final String to;
+        private final long weight;
+
+        public Route(@Assisted("from") String from, @Assisted("to") String to) {
+            this(from, to, 0);
+        }
+
+        public Route(@Assisted("from") String from, @Assisted("to") String to, @Assisted long weight) {
+            this.from = from;
+            this.to = to;
+            this.weight = weight;
+        }
+
+    }
+
+}
@@ -0,0 +1,138 @@
+package dev.fumaz.infuse.provider;
+
+import dev.fumaz.infuse.annotation.Reset;
+import dev.fumaz.infuse.injector.Injector;
+import dev.fumaz.infuse.module.InfuseModule;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PooledProviderTest {
+
+    @Test
+    void reusesReleasedInstances() {
+        Injector injector = Injector.create();
+        PooledProvider<Buffer> provider = Provider.pooled(Buffer.class, 2);
+
+        Buffer first = provider.borrow(injector);
+        provider.release(first);
+
+        assertSame(first, provider.borrow(injector));
+        assertNotSame(first, provider.borrow(injector));
+        assertEquals(1, provider.getHits());
+        assertEquals(2, provider.getMisses());
+    }
+
+    @Test
+    void resetsReleasedInstances() {
+        PooledProvider<Buffer> provider = Provider.pooled(Buffer.class, 1);
+        Buffer buffer = provider.borrow(Injector.create());
+        buffer.length = 10;
+
+        provider.release(buffer);
+
+        assertEquals(0, buffer.length);
+    }
+
+    @Test
+    void discardsInstancesBeyondTheMaximumSize() {
+        Injector injector = Injector.create();
+        PooledProvider<Buffer> provider = Provider.pooled(Buffer.class, 1);
+        Buffer first = provider.borrow(injector);
+        Buffer second = provider.borrow(injector);
+
+        provider.release(first);
+        provider.release(second);
+
+        assertEquals(1, provider.getDiscards());
+        assertSame(first, provider.borrow(injector));
+    }
+
+    @Test
+    void discardsInstancesWhoseResetFails() {
+        PooledProvider<Broken> provider = Provider.pooled(Broken.class, 1);
+        Broken broken = provider.borrow(Injector.create());
+
+        assertThrows(RuntimeException.class, () -> provider.release(broken));
+        assertEquals(1, provider.getDiscards());
+    }
+
+    @Test
+    void releasesLeasesOnceWhenClosed() {
+        Injector injector = Injector.create();
+        PooledProvider<Buffer> provider = Provider.pooled(Buffer.class, 2);
+        PooledProvider.Lease<Buffer> lease = provider.lease(injector);
+        Buffer buffer;
+
+        try (PooledProvider.Lease<Buffer> borrowed = lease) {
+            buffer = borrowed.get();
+        }
+
+        lease.close();
+
+        assertThrows(IllegalStateException.class, lease::get);
+        assertEquals(0, provider.getDiscards());
+        assertSame(buffer, provider.borrow(injector));
+        assertEquals(1, provider.getMisses());
+    }
+
+    @Test
+    void rejectsReleasingAnInstanceTwice() {
+        Injector injector = Injector.create();
+        PooledProvider<Buffer> provider = Provider.pooled(Buffer.class, 2);
+        PooledProvider.Lease<Buffer> lease = provider.lease(injector);
+        Buffer buffer = lease.get();
+
+        provider.release(buffer);
+
+        assertThrows(IllegalStateException.class, lease::close);
+        assertSame(buffer, provider.borrow(injector));
+        assertNotSame(buffer, provider.borrow(injector));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void bindsPooledTypes() {
+        Injector injector = Injector.create(new InfuseModule() {
+            @Override
+            public void configure() {
+                bind(Buffer.class).toPooled(4);
+            }
+        });
+
+        Buffer buffer = injector.provide(Buffer.class, this);
+        PooledProvider<Buffer> provider = (PooledProvider<Buffer>) injector.getBindings(Buffer.class).get(0).getProvider();
+        provider.release(buffer);
+
+        assertSame(buffer, injector.provide(Buffer.class, this));
+    }
+
+    @Test
+    void rejectsNonPositiveSizes() {
+        assertThrows(IllegalArgumentException.class, () -> Provider.pooled(Buffer.class, 0));
+    }
+
+    static class Buffer {
+
+        int length;
+
+        @Reset
+        void clear() {
+            length = 0;
+        }
+
+    }
+
+    static class Broken {
+
+        @Reset
+        void reset() {
+            throw new IllegalStateException();
+        }
+
+    }
+
+}
@@ -0,0 +1,135 @@
+package dev.fumaz.infuse.provider;
+
+import dev.fumaz.infuse.annotation.Inject;
+import dev.fumaz.infuse.injector.Injector;
+import dev.fumaz.infuse.module.InfuseModule;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class SingletonProviderTest {
+
+    private static volatile CountDownLatch started;
+
+    @Test
+    void resolvesCircularSingletonsRequestedConcurrently() throws Exception {
+        Injector injector = Injector.create(new InfuseModule() {
+            @Override
+            public void configure() {
+                bind(Left.class).toSingleton();
+                bind(Right.class).toSingleton();
+            }
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        started = new CountDownLatch(2);
+
+        try {
+            Future<Left> left = executor.submit(() -> injector.provide(Left.class, this));
+            Future<Right> right = executor.submit(() -> injector.provide(Right.class, this));
+
+            Left l = left.get(5, TimeUnit.SECONDS);
+            Right r = right.get(5, TimeUnit.SECONDS);
+
+            assertSame(l, injector.provide(Left.class, this));
+            assertSame(r, injector.provide(Right.class, this));
+            assertSame(r, l.right);
+            assertSame(l, r.left);
+        } finally {
+            started = null;
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void constructsSingletonsOnceWhenRequestedConcurrently() throws Exception {
+        Injector injector = Injector.create(new InfuseModule() {
+            @Override
+            public void configure() {
+                bind(Slow.class).toSingleton();
+            }
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        Slow.CONSTRUCTED.set(0);
+
+        try {
+            List<Future<Slow>> futures = new ArrayList<>();
+
+            for (int i = 0; i < 4; i++) {
+                futures.add(executor.submit(() -> injector.provide(Slow.class, this)));
+            }
+
+            for (Future<Slow> future : futures) {
+                assertSame(futures.get(0).get(5, TimeUnit.SECONDS), future.get(5, TimeUnit.SECONDS));
+            }
+
+            assertEquals(1, Slow.CONSTRUCTED.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Holds both threads until each of them started constructing one side of the cycle.
+     */
+    private static void await() {
+        CountDownLatch started = SingletonProviderTest.started;
+
+        if (started == null) {
+            return;
+        }
+
+        started.countDown();
+
+        try {
+            started.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static class Slow {
+
+        private static final AtomicInteger CONSTRUCTED = new AtomicInteger();
+
+        public Slow() throws InterruptedException {
+            CONSTRUCTED.incrementAndGet();
+            Thread.sleep(50);
+        }
+
+    }
+
+    public static class Left {
+
+        @Inject
+        private Right right;
+
+        public Left() {
+            await();
+        }
+
+    }
+
+    public static class Right {
+
+        @Inject
+        private Left left;
+
+        public Right() {
+            await();
+        }
+
+    }
+
+}
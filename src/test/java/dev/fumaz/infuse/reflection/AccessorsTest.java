@@ -0,0 +1,97 @@
+package dev.fumaz.infuse.reflection;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AccessorsTest {
+
+    @Test
+    void accessesInstanceAndStaticFields() throws Throwable {
+        Field name = Target.class.getDeclaredField("name");
+        name.setAccessible(true);
+        FieldAccessor instance = Accessors.field(name);
+        FieldAccessor shared = Accessors.field(Target.class.getDeclaredField("shared"));
+        Target target = new Target();
+
+        assertNotNull(instance);
+        assertNotNull(shared);
+
+        instance.set(target, "a");
+        shared.set(null, "b");
+
+        assertEquals("a", instance.get(target));
+        assertEquals("b", shared.get(null));
+        assertEquals("b", Target.shared);
+    }
+
+    @Test
+    void leavesPrimitiveAndFinalFieldsToReflection() throws NoSuchFieldException {
+        assertNull(Accessors.field(Target.class.getDeclaredField("count")));
+        assertNull(Accessors.field(Target.class.getDeclaredField("id")));
+    }
+
+    @Test
+    void invokesInstanceStaticAndVarargsMethods() throws Throwable {
+        Method greet = Target.class.getDeclaredMethod("greet", String.class);
+        greet.setAccessible(true);
+
+        assertEquals("hello a", invoke(greet, new Target(), "a"));
+        assertEquals("b", invoke(Target.class.getDeclaredMethod("echo", String.class), null, "b"));
+        assertEquals(2, invoke(Target.class.getDeclaredMethod("count", String[].class), null, (Object) new String[]{"a", "b"}));
+        assertNull(Accessors.method(Target.class.getDeclaredMethod("twice", int.class)));
+    }
+
+    @Test
+    void rethrowsExceptionsOfTheMethod() throws NoSuchMethodException {
+        MethodInvoker invoker = Accessors.method(Target.class.getDeclaredMethod("fail"));
+
+        assertNotNull(invoker);
+        assertThrows(IllegalStateException.class, () -> invoker.invoke(new Target(), new Object[0]));
+    }
+
+    private static Object invoke(Method method, Object instance, Object... arguments) throws Throwable {
+        MethodInvoker invoker = Accessors.method(method);
+
+        assertNotNull(invoker);
+
+        return invoker.invoke(instance, arguments);
+    }
+
+    public static class Target {
+
+        public static String shared;
+
+        private final String id = "id";
+        private String name;
+        public int count;
+
+        public static String echo(String value) {
+            return value;
+        }
+
+        public static int count(String... values) {
+            return values.length;
+        }
+
+        private String greet(String name) {
+            return "hello " + name;
+        }
+
+        public int twice(int value) {
+            return value * 2;
+        }
+
+        public void fail() {
+            throw new IllegalStateException("fail");
+        }
+
+    }
+
+}
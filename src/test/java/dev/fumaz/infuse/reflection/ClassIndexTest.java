@@ -0,0 +1,108 @@
+package dev.fumaz.infuse.reflection;
+
+import dev.fumaz.infuse.module.InfuseModule;
+import dev.fumaz.infuse.nativeimage.scanned.ScannedService;
+import dev.fumaz.infuse.nativeimage.scanned.nested.NestedService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClassIndexTest {
+
+    private static final String SCANNED = "dev.fumaz.infuse.nativeimage.scanned";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void scansPackagesWhichCannotBeListedFromTheirIndex() {
+        ClassIndex.write(directory, SCANNED, Arrays.asList(ScannedService.class.getName(), NestedService.class.getName()));
+        ClassLoader loader = new IndexOnlyClassLoader(directory);
+
+        assertEquals(set(ScannedService.class, NestedService.class), Reflections.getClassesInPackage(loader, SCANNED, true));
+        assertEquals(set(ScannedService.class), Reflections.getClassesInPackage(loader, SCANNED, false));
+    }
+
+    @Test
+    void scansSubpackagesFromTheIndexOfTheirParent() {
+        ClassIndex.write(directory, SCANNED, Arrays.asList(ScannedService.class.getName(), NestedService.class.getName()));
+        ClassLoader loader = new IndexOnlyClassLoader(directory);
+
+        assertEquals(set(NestedService.class), Reflections.getClassesInPackage(loader, SCANNED + ".nested", true));
+    }
+
+    @Test
+    void scansFromTheIndexWithinASession() {
+        ClassIndex.write(directory, SCANNED, Arrays.asList(ScannedService.class.getName(), NestedService.class.getName()));
+        ClassLoader loader = new IndexOnlyClassLoader(directory);
+
+        try (ScanSession session = ScanSession.open()) {
+            assertEquals(session, ScanSession.current());
+            assertEquals(set(ScannedService.class, NestedService.class), Reflections.getClassesInPackage(loader, SCANNED, true));
+        }
+    }
+
+    @Test
+    void bindsPackagesFromTheirIndex() {
+        ClassIndex.write(directory, SCANNED, Arrays.asList(ScannedService.class.getName(), NestedService.class.getName()));
+        InfuseModule module = new InfuseModule() {
+            @Override
+            public void configure() {
+                bindPackage(new IndexOnlyClassLoader(directory), SCANNED);
+            }
+        };
+
+        module.configure();
+
+        assertEquals(1, module.getBindings().size());
+        assertEquals(ScannedService.class, module.getBindings().get(0).getType());
+    }
+
+    @Test
+    void findsNothingWithoutAnIndex() {
+        assertTrue(Reflections.getClassesInPackage(new IndexOnlyClassLoader(directory), SCANNED, true).isEmpty());
+    }
+
+    private static Set<Class<?>> set(Class<?>... classes) {
+        return new HashSet<>(Arrays.asList(classes));
+    }
+
+    /**
+     * Loads classes like the test class loader, but lists packages the way a native image does: not at all,
+     * only serving the class indexes written under a directory.
+     */
+    private static class IndexOnlyClassLoader extends ClassLoader {
+
+        private final Path resources;
+
+        private IndexOnlyClassLoader(Path resources) {
+            super(ClassIndexTest.class.getClassLoader());
+            this.resources = resources;
+        }
+
+        @Override
+        public Enumeration<URL> getResources(String name) throws IOException {
+            Path file = resources.resolve(name);
+
+            if (name.startsWith(ClassIndex.LOCATION) && Files.isRegularFile(file)) {
+                return Collections.enumeration(Collections.singletonList(file.toUri().toURL()));
+            }
+
+            return Collections.emptyEnumeration();
+        }
+
+    }
+
+}
@@ -0,0 +1,154 @@
+package dev.fumaz.infuse.reflection;
+
+import dev.fumaz.infuse.annotation.Contributes;
+import dev.fumaz.infuse.annotation.Singleton;
+import dev.fumaz.infuse.module.scanned.EnglishGreeting;
+import dev.fumaz.infuse.module.scanned.FirstPlugin;
+import dev.fumaz.infuse.module.scanned.Greeting;
+import dev.fumaz.infuse.module.scanned.Plugin;
+import dev.fumaz.infuse.module.scanned.SecondPlugin;
+import dev.fumaz.infuse.nativeimage.scanned.ScannedService;
+import dev.fumaz.infuse.nativeimage.scanned.nested.NestedService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClassScanTest {
+
+    private static final String PACKAGE = "dev.fumaz.infuse.module.scanned";
+    private static final Set<String> CLASSES = names(Greeting.class, EnglishGreeting.class, Plugin.class, FirstPlugin.class, SecondPlugin.class);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void scansDirectoriesRecursivelyOrNot() {
+        ClassLoader loader = getClass().getClassLoader();
+        String pkg = ScannedService.class.getPackage().getName();
+
+        assertEquals(names(ScannedService.class, NestedService.class), scanNames(loader, pkg, true));
+        assertEquals(names(ScannedService.class), scanNames(loader, pkg, false));
+    }
+
+    @Test
+    void scansJarsWithoutLoadingClasses() throws IOException {
+        try (TrackingClassLoader loader = new TrackingClassLoader(writeJar())) {
+            assertEquals(CLASSES, scanNames(loader, PACKAGE, true));
+
+            for (String name : CLASSES) {
+                assertFalse(loader.isLoaded(name), name);
+            }
+        }
+    }
+
+    @Test
+    void readsMetadataFromTheClassFile() throws IOException {
+        try (TrackingClassLoader loader = new TrackingClassLoader(writeJar());
+             Stream<ClassCandidate> candidates = Reflections.scan(loader, PACKAGE, true)) {
+            ClassMetadata greeting = candidates.filter(candidate -> candidate.getName().equals(EnglishGreeting.class.getName()))
+                    .findFirst()
+                    .orElseThrow(IllegalStateException::new)
+                    .getMetadata();
+
+            assertTrue(greeting.isPublic());
+            assertFalse(greeting.isInterface());
+            assertTrue(greeting.hasAnnotation(Singleton.class));
+            assertFalse(greeting.hasAnnotation(Contributes.class));
+            assertEquals(Object.class.getName(), greeting.getSuperName());
+            assertEquals(names(Greeting.class), new HashSet<>(greeting.getInterfaceNames()));
+            assertFalse(loader.isLoaded(EnglishGreeting.class.getName()));
+        }
+    }
+
+    @Test
+    void skipsAbstractTypesOfConcreteScans() {
+        Set<Class<?>> classes = Reflections.getConcreteClassesInPackage(getClass().getClassLoader(), PACKAGE, Object.class, true);
+
+        assertEquals(new HashSet<>(Arrays.asList(EnglishGreeting.class, FirstPlugin.class, SecondPlugin.class)), classes);
+    }
+
+    @Test
+    void scansTheSameClassesInParallel() throws IOException {
+        try (TrackingClassLoader loader = new TrackingClassLoader(writeJar());
+             Stream<ClassCandidate> candidates = Reflections.scan(loader, PACKAGE, true)) {
+            assertEquals(CLASSES, candidates.parallel().map(ClassCandidate::getName).collect(Collectors.toSet()));
+        }
+    }
+
+    private Path writeJar() throws IOException {
+        Path jar = directory.resolve("scanned.jar");
+
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+            String path = PACKAGE.replace('.', '/') + "/";
+            String current = "";
+
+            for (String segment : path.split("/")) {
+                current += segment + "/";
+                out.putNextEntry(new JarEntry(current));
+                out.closeEntry();
+            }
+
+            for (String name : CLASSES) {
+                String entry = name.replace('.', '/') + ".class";
+
+                try (InputStream in = getClass().getClassLoader().getResourceAsStream(entry)) {
+                    out.putNextEntry(new JarEntry(entry));
+
+                    byte[] buffer = new byte[4096];
+                    int read;
+
+                    while ((read = in.read(buffer)) != -1) {
+                        out.write(buffer, 0, read);
+                    }
+
+                    out.closeEntry();
+                }
+            }
+        }
+
+        return jar;
+    }
+
+    private static Set<String> scanNames(ClassLoader loader, String pkg, boolean recursive) {
+        try (Stream<ClassCandidate> candidates = Reflections.scan(loader, pkg, recursive)) {
+            return candidates.map(ClassCandidate::getName).collect(Collectors.toSet());
+        }
+    }
+
+    private static Set<String> names(Class<?>... classes) {
+        return Arrays.stream(classes).map(Class::getName).collect(Collectors.toSet());
+    }
+
+    /**
+     * Loads only from the jar, since the same classes are also on the test classpath.
+     */
+    private static class TrackingClassLoader extends URLClassLoader {
+
+        private TrackingClassLoader(Path jar) throws IOException {
+            super(new URL[]{jar.toUri().toURL()}, null);
+        }
+
+        private boolean isLoaded(String name) {
+            return findLoadedClass(name) != null;
+        }
+
+    }
+
+}
@@ -0,0 +1,155 @@
+package dev.fumaz.infuse.reflection;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.ToolProvider;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ReflectionsTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void constructsThroughTheMatchingConstructor() {
+        assertEquals("name", Reflections.construct(Greeting.class, "name").text);
+        assertEquals("name!", Reflections.construct(Greeting.class, "name", '!').text);
+        assertEquals("name", Reflections.construct(Greeting.class, "name").text);
+        assertEquals("value", Reflections.construct(Greeting.class, Collections.singletonMap(CharSequence.class, "value")).text);
+    }
+
+    @Test
+    void rejectsArgumentsWithoutAMatchingConstructor() {
+        assertThrows(ReflectionException.class, () -> Reflections.construct(Greeting.class, 1));
+    }
+
+    @Test
+    void doesNotKeepClassLoadersAlive() throws Exception {
+        WeakReference<ClassLoader> reference = constructInDiscardedLoader();
+
+        for (int i = 0; i < 50 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+
+        assertNull(reference.get());
+    }
+
+    @Test
+    void readsAndWritesFieldsByName() {
+        Counter counter = new Counter();
+
+        Reflections.setField(counter, "label", "a");
+        Reflections.setField(counter, "count", 3);
+
+        assertEquals("a", Reflections.<String>getFieldValue(counter, "label"));
+        assertEquals(3, Reflections.<Integer>getFieldValue(counter, "count"));
+        assertSame(Reflections.getField(Counter.class, "label"), Reflections.getField(counter, "label"));
+    }
+
+    @Test
+    void readsAndWritesStaticFields() {
+        Field field = Reflections.getField(Counter.class, "shared");
+
+        Reflections.setField(null, field, "shared");
+
+        assertEquals("shared", Reflections.<String>getFieldValue(null, field));
+    }
+
+    @Test
+    void failsLikeCoreReflectionOnInvalidAccesses() {
+        Field label = Reflections.getField(Counter.class, "label");
+
+        assertThrows(ReflectionException.class, () -> Reflections.getField(Counter.class, "missing"));
+        assertThrows(NullPointerException.class, () -> Reflections.getFieldValue(null, label));
+        assertThrows(IllegalArgumentException.class, () -> Reflections.getFieldValue("not a counter", label));
+        assertThrows(IllegalArgumentException.class, () -> Reflections.setField(new Counter(), label, 1));
+    }
+
+    @Test
+    void invokesMethodsByName() {
+        Counter counter = new Counter();
+
+        Reflections.invokeMethod(counter, "add", "b");
+        Reflections.invokeMethod(counter, "increment", 2);
+
+        assertEquals("b", counter.label);
+        assertEquals(2, counter.count);
+    }
+
+    @Test
+    void wrapsExceptionsThrownByInvokedMethods() {
+        ReflectionException exception = assertThrows(ReflectionException.class, () -> Reflections.invokeMethod(new Counter(), "fail"));
+
+        assertInstanceOf(InvocationTargetException.class, exception.getCause());
+        assertInstanceOf(IllegalStateException.class, exception.getCause().getCause());
+        assertThrows(IllegalArgumentException.class, () -> Reflections.invokeMethod(new Counter(), "add", 1));
+        assertThrows(IllegalArgumentException.class, () -> Reflections.invokeMethod(new Counter(), "add"));
+    }
+
+    private WeakReference<ClassLoader> constructInDiscardedLoader() throws Exception {
+        Path source = directory.resolve("Discarded.java");
+        Files.write(source, Collections.singletonList("public class Discarded { public Discarded(String name) {} }"), StandardCharsets.UTF_8);
+        assertEquals(0, ToolProvider.getSystemJavaCompiler().run(null, null, null, "-d", directory.toString(), source.toString()));
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{directory.toUri().toURL()}, null)) {
+            Reflections.construct(loader.loadClass("Discarded"), "name");
+
+            return new WeakReference<>(loader);
+        }
+    }
+
+    public static class Counter {
+
+        public static String shared;
+        public String label;
+        int count;
+
+        public void add(String label) {
+            this.label = label;
+        }
+
+        void increment(int amount) {
+            count += amount;
+        }
+
+        public void fail() {
+            throw new IllegalStateException();
+        }
+
+    }
+
+    static class Greeting {
+
+        private final String text;
+
+        Greeting(String text) {
+            this.text = text;
+        }
+
+        Greeting(String text, Character suffix) {
+            this.text = text + suffix;
+        }
+
+        Greeting(CharSequence text) {
+            this.text = text.toString();
+        }
+
+    }
+
+}
@@ -0,0 +1,125 @@
+package dev.fumaz.infuse.reflection;
+
+import dev.fumaz.infuse.injector.Injector;
+import dev.fumaz.infuse.module.InfuseModule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ScanSessionTest {
+
+    private static final String PACKAGE = "dev.fumaz.infuse.session";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void restoresTheOuterSessionWhenClosed() {
+        try (ScanSession outer = ScanSession.open()) {
+            try (ScanSession inner = ScanSession.open()) {
+                assertSame(inner, ScanSession.current());
+            }
+
+            assertSame(outer, ScanSession.current());
+        }
+
+        assertNull(ScanSession.current());
+    }
+
+    @Test
+    void servesScansFromTheIndexUntilClosed() throws IOException {
+        addClass("A");
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{directory.toUri().toURL()}, null)) {
+            ScanSession session = ScanSession.open();
+
+            try {
+                assertEquals(names("A"), scanNames(loader));
+
+                addClass("B");
+
+                assertEquals(names("A"), scanNames(loader));
+            } finally {
+                session.close();
+            }
+
+            assertEquals(names("A", "B"), scanNames(loader));
+        }
+    }
+
+    @Test
+    void sharesTheSessionWithWrappedTasks() throws InterruptedException {
+        AtomicReference<ScanSession> seen = new AtomicReference<>();
+
+        try (ScanSession session = ScanSession.open()) {
+            Thread thread = new Thread(session.wrap(() -> seen.set(ScanSession.current())));
+            thread.start();
+            thread.join();
+
+            assertSame(session, seen.get());
+        }
+    }
+
+    @Test
+    void configuresModulesWithinASession() {
+        List<ScanSession> sessions = new ArrayList<>();
+        Injector injector = Injector.create(new SessionModule(sessions));
+
+        injector.install(new SessionModule(sessions));
+
+        assertEquals(2, sessions.size());
+        assertFalse(sessions.contains(null));
+        assertNull(ScanSession.current());
+    }
+
+    private void addClass(String name) throws IOException {
+        Path file = directory.resolve(PACKAGE.replace('.', '/')).resolve(name + ".class");
+
+        Files.createDirectories(file.getParent());
+        Files.write(file, new byte[0]);
+    }
+
+    private static Set<String> scanNames(ClassLoader loader) {
+        try (Stream<ClassCandidate> candidates = Reflections.scan(loader, PACKAGE, true)) {
+            return candidates.map(ClassCandidate::getName).collect(Collectors.toSet());
+        }
+    }
+
+    private static Set<String> names(String... simpleNames) {
+        return Arrays.stream(simpleNames).map(name -> PACKAGE + "." + name).collect(Collectors.toCollection(HashSet::new));
+    }
+
+    private static class SessionModule extends InfuseModule {
+
+        private final List<ScanSession> sessions;
+
+        private SessionModule(List<ScanSession> sessions) {
+            this.sessions = sessions;
+        }
+
+        @Override
+        public void configure() {
+            sessions.add(ScanSession.current());
+        }
+
+    }
+
+}
@@ -0,0 +1,100 @@
+package dev.fumaz.infuse.snapshot;
+
+import dev.fumaz.infuse.module.InfuseModule;
+import dev.fumaz.infuse.module.Module;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class StartupSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void roundTripsThroughAFile() throws NoSuchMethodException {
+        Path file = directory.resolve("nested/startup.snapshot");
+        StartupSnapshot snapshot = new StartupSnapshot("abc", Arrays.asList(
+                StartupSnapshot.Entry.of(Service.class.getDeclaredConstructor()),
+                StartupSnapshot.Entry.of(Service.class.getDeclaredConstructor(String.class, int.class))
+        ));
+
+        snapshot.write(file);
+        StartupSnapshot read = StartupSnapshot.read(file);
+
+        assertNotNull(read);
+        assertEquals("abc", read.getFingerprint());
+        assertEquals(2, read.getEntries().size());
+        assertEquals(Service.class.getName(), read.getEntries().get(0).getType());
+        assertArrayEquals(new String[]{"java.lang.String", "int"}, read.getEntries().get(1).getParameters());
+        assertEquals(Service.class.getDeclaredConstructor(String.class, int.class), read.getEntries().get(1).resolve(getClass().getClassLoader()));
+    }
+
+    @Test
+    void ignoresMissingOrInvalidFiles() throws IOException {
+        Path file = directory.resolve("startup.snapshot");
+
+        assertNull(StartupSnapshot.read(file));
+
+        Files.write(file, Collections.singletonList("not a snapshot"), StandardCharsets.UTF_8);
+
+        assertNull(StartupSnapshot.read(file));
+    }
+
+    @Test
+    void resolvesRemovedConstructorsToNull() {
+        StartupSnapshot.Entry entry = new StartupSnapshot.Entry(Service.class.getName(), new String[]{"long"});
+
+        assertNull(entry.resolve(getClass().getClassLoader()));
+        assertNull(new StartupSnapshot.Entry("com.example.Missing", new String[0]).resolve(getClass().getClassLoader()));
+    }
+
+    @Test
+    void fingerprintsTheBindingsOfTheModules() {
+        List<Module> singleton = Collections.singletonList(configured(new InfuseModule() {
+            @Override
+            public void configure() {
+                bind(Service.class).toSingleton();
+            }
+        }));
+        List<Module> eager = Collections.singletonList(configured(new InfuseModule() {
+            @Override
+            public void configure() {
+                bind(Service.class).toEagerSingleton();
+            }
+        }));
+
+        assertEquals(StartupSnapshot.fingerprint(singleton), StartupSnapshot.fingerprint(singleton));
+        assertNotEquals(StartupSnapshot.fingerprint(singleton), StartupSnapshot.fingerprint(eager));
+    }
+
+    private static Module configured(Module module) {
+        module.configure();
+
+        return module;
+    }
+
+    public static class Service {
+
+        public Service() {
+        }
+
+        public Service(String name, int size) {
+        }
+
+    }
+
+}